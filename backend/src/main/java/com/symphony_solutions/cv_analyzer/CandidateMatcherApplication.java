@@ -4,6 +4,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.core.env.Environment;
@@ -14,7 +15,10 @@ import org.springframework.core.env.Environment;
 public class CandidateMatcherApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(CandidateMatcherApplication.class, args);
+		SpringApplication application = new SpringApplication(CandidateMatcherApplication.class);
+		// Records startup steps (bean creation, context refresh phases) for /actuator/startup
+		application.setApplicationStartup(new BufferingApplicationStartup(4096));
+		application.run(args);
 	}
 
 	@Bean
@@ -19,7 +19,11 @@ public class CostTrackingAspect {
   private final CostCalculationService costCalculationService;
 
   @Around("execution(* com.symphony_solutions.cv_analyzer.service.AgentSummaryService.generateSummary(..)) || " +
-      "execution(* com.symphony_solutions.cv_analyzer.service.AgentSummaryService.generateRating(..))")
+      "execution(* com.symphony_solutions.cv_analyzer.service.AgentSummaryService.streamSummary(..)) || " +
+      "execution(* com.symphony_solutions.cv_analyzer.service.AgentSummaryService.generateRating(..)) || " +
+      "execution(* com.symphony_solutions.cv_analyzer.service.AgentSummaryService.generateBatchRating(..)) || " +
+      "execution(* com.symphony_solutions.cv_analyzer.service.AgentSummaryService.repairRating(..)) || " +
+      "execution(* com.symphony_solutions.cv_analyzer.service.AgentSummaryService.generateVacancyRequirements(..))")
   public Object trackCostAndTokens(ProceedingJoinPoint joinPoint) throws Throwable {
     Object result = joinPoint.proceed();
     getInternalResponse(result)
@@ -36,11 +40,14 @@ public class CostTrackingAspect {
 
   private void recordActualCost(String methodName, InternalChatResponse response) {
     costCalculationService.calculateAndRecordCost(
+        response.getEndpoint(),
+        response.getModel(),
         response.getInputTokens(),
         response.getOutputTokens()
     );
 
-    log.info("[Cost Tracker]: Cost tracked for {} - {} input, {} output tokens",
-        methodName, response.getInputTokens(), response.getOutputTokens());
+    log.info("[Cost Tracker]: Cost tracked for {} via {} - {} input, {} output tokens",
+        methodName, Optional.ofNullable(response.getEndpoint()).orElse("default endpoint"),
+        response.getInputTokens(), response.getOutputTokens());
   }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.symphony_solutions.cv_analyzer.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "candidate.bulk")
+public class BulkScoringConfig {
+
+    /**
+     * Directory of the NDJSON result files, one per job id; a file is also the checkpoint its job resumes from.
+     */
+    private Path outputDir = Path.of("data/bulk-scoring");
+
+    /**
+     * LLM calls of a job in flight at once.
+     */
+    private int concurrency = 4;
+
+    /**
+     * LLM calls a job starts per second, across all its workers.
+     */
+    private double requestsPerSecond = 2.0;
+
+    /**
+     * Candidates retrieved per vacancy; 0 scores every CV in the corpus that passes the filter.
+     */
+    private int maxCandidatesPerVacancy = 0;
+
+    /**
+     * Time budget of each LLM call.
+     */
+    private Duration callTimeout = Duration.ofSeconds(60);
+
+    /**
+     * Also summarize every scored candidate (one extra call each); summaries land in the summary cache too.
+     */
+    private boolean summaries = false;
+}
@@ -1,9 +1,24 @@
 package com.symphony_solutions.cv_analyzer.config;
 
+import com.symphony_solutions.cv_analyzer.service.routing.EndpointResponseErrorHandler;
+import com.symphony_solutions.cv_analyzer.service.routing.RoutedEndpoint;
+import com.symphony_solutions.cv_analyzer.service.routing.RoutingChatModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
+import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.retry.support.RetryTemplate;
 
 @Configuration
 public class ChatClientConfig {
@@ -11,23 +26,71 @@ public class ChatClientConfig {
   @Bean
   public ChatClient chatClient(ChatClient.Builder chatClientBuilder) {
     return chatClientBuilder
-        .defaultAdvisors(SimpleLoggerAdvisor.builder()
-            .requestToString(request -> {
-              String header = "\n************************** Request to LLM **************************\n";
-              String footer = "\n************************** End of Request **************************";
-              String userMessage = request.prompt().getUserMessage().getText();
-              if (userMessage.length() > 500) {
-                userMessage = userMessage.substring(0, 500) + "...[truncated]...";
-              }
-              return "%s[user message]:%s%s".formatted(header, userMessage, footer);
-            })
-            .responseToString(response -> {
-              String header = "\n************************** Response from LLM **************************\n";
-              String footer = "\n**************************  End of Response  **************************";
-              String content = response.toString();
-              return header + content + footer;
-            })
-            .build())
+        .defaultAdvisors(loggerAdvisor())
+        .build();
+  }
+
+  /**
+   * One OpenAI-compatible chat model per configured endpoint. Each endpoint makes a single attempt:
+   * retries happen by failing over to another endpoint rather than by backing off on the same one.
+   * Marked primary so the auto-configured {@link ChatClient.Builder} is built on top of it.
+   */
+  @Bean
+  @Primary
+  @ConditionalOnProperty(name = "llm.routing.enabled", havingValue = "true")
+  public RoutingChatModel routingChatModel(LlmRoutingConfig routingConfig,
+                                           MeterRegistry meterRegistry,
+                                           ObjectProvider<ObservationRegistry> observationRegistry) {
+    RetryTemplate singleAttempt = RetryTemplate.builder().maxAttempts(1).build();
+    EndpointResponseErrorHandler endpointErrorHandler = new EndpointResponseErrorHandler();
+    List<RoutedEndpoint> endpoints = routingConfig.getEndpoints().stream()
+        .map(endpoint -> new RoutedEndpoint(
+            endpoint.getName(),
+            OpenAiChatModel.builder()
+                .openAiApi(OpenAiApi.builder()
+                    .baseUrl(endpoint.getBaseUrl())
+                    .apiKey(endpoint.getApiKey())
+                    .responseErrorHandler(endpointErrorHandler)
+                    .build())
+                .defaultOptions(OpenAiChatOptions.builder()
+                    .model(endpoint.getModel())
+                    .temperature(endpoint.getTemperature())
+                    .build())
+                .retryTemplate(singleAttempt)
+                .observationRegistry(observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP))
+                .build(),
+            endpoint.getWeight(),
+            routingConfig.getErrorCooldown(),
+            servedModels(endpoint)))
+        .toList();
+    return new RoutingChatModel(endpoints, meterRegistry);
+  }
+
+  private static Set<String> servedModels(LlmRoutingConfig.Endpoint endpoint) {
+    Set<String> models = new HashSet<>(endpoint.getModels());
+    if (endpoint.getModel() != null) {
+      models.add(endpoint.getModel());
+    }
+    return models;
+  }
+
+  private SimpleLoggerAdvisor loggerAdvisor() {
+    return SimpleLoggerAdvisor.builder()
+        .requestToString(request -> {
+          String header = "\n************************** Request to LLM **************************\n";
+          String footer = "\n************************** End of Request **************************";
+          String userMessage = request.prompt().getUserMessage().getText();
+          if (userMessage.length() > 500) {
+            userMessage = userMessage.substring(0, 500) + "...[truncated]...";
+          }
+          return "%s[user message]:%s%s".formatted(header, userMessage, footer);
+        })
+        .responseToString(response -> {
+          String header = "\n************************** Response from LLM **************************\n";
+          String footer = "\n**************************  End of Response  **************************";
+          String content = response.toString();
+          return header + content + footer;
+        })
         .build();
   }
 
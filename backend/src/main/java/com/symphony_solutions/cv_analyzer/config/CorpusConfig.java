@@ -0,0 +1,16 @@
+package com.symphony_solutions.cv_analyzer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "candidate.corpus")
+public class CorpusConfig {
+
+    /**
+     * Keep CV text as compressed UTF-8 once the corpus is indexed; it is decompressed only for LLM prompts.
+     */
+    private boolean compressContent = true;
+}
@@ -0,0 +1,36 @@
+package com.symphony_solutions.cv_analyzer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "candidate.dedup")
+public class DedupConfig {
+
+    /**
+     * Collapse near-duplicate CVs into clusters when the corpus is loaded; retrieval returns one CV per cluster.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Words per shingle.
+     */
+    private int shingleSize = 3;
+
+    /**
+     * MinHash signature length, a multiple of {@code bands}.
+     */
+    private int numHashes = 128;
+
+    /**
+     * LSH bands; 16 bands of 8 rows put pairs above ~0.7 similarity in a shared bucket.
+     */
+    private int bands = 16;
+
+    /**
+     * Estimated Jaccard similarity of shingles at which two CVs count as the same application.
+     */
+    private double similarityThreshold = 0.8;
+}
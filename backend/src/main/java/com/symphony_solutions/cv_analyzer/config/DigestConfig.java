@@ -0,0 +1,40 @@
+package com.symphony_solutions.cv_analyzer.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "candidate.digest")
+public class DigestConfig {
+
+    /**
+     * Send the compact CV digest to the LLM instead of the raw extracted text.
+     */
+    private boolean useInPrompts = false;
+
+    /**
+     * Maximum length of the normalized CV text kept in a digest.
+     */
+    private int maxChars = 8000;
+
+    /**
+     * Skill vocabulary looked up in CVs, matched case-insensitively on word boundaries.
+     */
+    private List<String> skills = new ArrayList<>(List.of(
+        "Java", "Spring", "Spring Boot", "Kotlin", "Scala", "Python", "Django", "Flask", "JavaScript", "TypeScript",
+        "React", "Angular", "Vue", "Node.js", "C#", ".NET", "C++", "Golang", "Rust", "PHP", "Ruby",
+        "SQL", "PostgreSQL", "MySQL", "Oracle", "MongoDB", "Redis", "Kafka", "RabbitMQ", "Elasticsearch",
+        "Docker", "Kubernetes", "AWS", "Azure", "GCP", "Terraform", "Jenkins", "CI/CD", "Git", "Linux",
+        "GraphQL", "Microservices", "Hibernate", "Maven", "Gradle", "JUnit", "Selenium",
+        "Agile", "Scrum", "Kanban", "Jira", "Confluence", "MS Project", "Trello", "UML", "BPMN",
+        "Figma", "Power BI", "Tableau", "Machine Learning"));
+
+    /**
+     * Skills that are also common English words ("rest", "excel at"), matched case-sensitively on word boundaries.
+     */
+    private List<String> caseSensitiveSkills = new ArrayList<>(List.of("REST", "Swift", "Excel"));
+}
@@ -0,0 +1,42 @@
+package com.symphony_solutions.cv_analyzer.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Circuit breaker settings for calls to the LLM provider.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "llm.circuit-breaker")
+public class LlmCircuitBreakerConfig {
+
+    private boolean enabled = true;
+
+    /**
+     * Failure rate (percent) at or above which the breaker opens.
+     */
+    private float failureRateThreshold = 50;
+
+    /**
+     * Number of most recent calls used to compute the failure rate.
+     */
+    private int slidingWindowSize = 20;
+
+    /**
+     * Minimum number of recorded calls before the failure rate is evaluated.
+     */
+    private int minimumNumberOfCalls = 5;
+
+    /**
+     * How long the breaker stays open before letting trial calls through.
+     */
+    private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+
+    /**
+     * Number of trial calls allowed while half-open; all must succeed to close the breaker.
+     */
+    private int permittedNumberOfCallsInHalfOpenState = 2;
+}
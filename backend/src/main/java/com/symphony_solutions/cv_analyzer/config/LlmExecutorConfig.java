@@ -0,0 +1,38 @@
+package com.symphony_solutions.cv_analyzer.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class LlmExecutorConfig {
+
+  /**
+   * Bounded pool for concurrent LLM calls of the match cascade; the queue is unbounded so callers never get
+   * rejected, the pool size caps how many calls hit the provider at once.
+   */
+  @Bean
+  public ThreadPoolTaskExecutor llmExecutor(MatchConfig matchConfig) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(matchConfig.getCascade().getConcurrency());
+    executor.setMaxPoolSize(matchConfig.getCascade().getConcurrency());
+    executor.setThreadNamePrefix("llm-");
+    executor.setWaitForTasksToCompleteOnShutdown(false);
+    return executor;
+  }
+
+  /**
+   * Bounded pool for streamed summaries, which hold a thread for the whole stream; kept apart from the cascade
+   * pool so streams cannot starve match requests, and rejecting when full instead of queueing without limit.
+   */
+  @Bean
+  public ThreadPoolTaskExecutor summaryStreamExecutor(MatchConfig matchConfig) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(matchConfig.getSummaryStreams().getConcurrency());
+    executor.setMaxPoolSize(matchConfig.getSummaryStreams().getConcurrency());
+    executor.setQueueCapacity(matchConfig.getSummaryStreams().getQueueCapacity());
+    executor.setThreadNamePrefix("summary-stream-");
+    executor.setWaitForTasksToCompleteOnShutdown(false);
+    return executor;
+  }
+}
@@ -0,0 +1,70 @@
+package com.symphony_solutions.cv_analyzer.config;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Multiple OpenAI-compatible endpoints behind a single routing ChatClient.
+ * When disabled, the single auto-configured {@code spring.ai.openai.*} endpoint is used.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "llm.routing")
+public class LlmRoutingConfig {
+
+    private boolean enabled = false;
+
+    /**
+     * How long an endpoint is deprioritised after a 5xx, 429 or connection failure.
+     */
+    private Duration errorCooldown = Duration.ofSeconds(30);
+
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    @Data
+    public static class Endpoint {
+
+        /**
+         * Name used in logs and as the {@code endpoint} metric tag.
+         */
+        private String name;
+
+        private String baseUrl;
+
+        private String apiKey;
+
+        private String model;
+
+        /**
+         * Further models this endpoint serves for per-prompt-type overrides ({@code prompts.*.model}); an override
+         * it does not list (and that is not its {@code model}) is left out of its calls, which then use {@code model}.
+         */
+        private List<String> models = new ArrayList<>();
+
+        private Double temperature;
+
+        /**
+         * Relative share of traffic when all endpoints are equally fast and healthy.
+         */
+        private double weight = 1.0;
+
+        /**
+         * Endpoint-specific pricing per 1M tokens; falls back to {@code openai.pricing.*} when absent.
+         */
+        private BigDecimal inputTokensPerMillion;
+
+        private BigDecimal outputTokensPerMillion;
+    }
+
+    public Endpoint findEndpoint(String name) {
+        return endpoints.stream()
+                .filter(endpoint -> endpoint.getName().equals(name))
+                .findFirst()
+                .orElse(null);
+    }
+}
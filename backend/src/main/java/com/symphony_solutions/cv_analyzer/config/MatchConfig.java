@@ -0,0 +1,130 @@
+package com.symphony_solutions.cv_analyzer.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "candidate.match")
+public class MatchConfig {
+
+    /**
+     * Number of candidates sent to the LLM stages.
+     */
+    private int shortlistSize = 5;
+
+    /**
+     * Time budget of a match request when the client does not send one.
+     */
+    private Duration defaultDeadline = Duration.ofSeconds(25);
+
+    /**
+     * Upper bound of a batch match request's default time budget, which otherwise grows with the vacancy count.
+     */
+    private Duration maxBatchDeadline = Duration.ofMinutes(2);
+
+    /**
+     * Expected LLM call latency used until real calls have been observed.
+     */
+    private Duration initialLatencyEstimate = Duration.ofSeconds(3);
+
+    /**
+     * Two-stage cascade: rate a wide shortlist with the cheap rating call, summarize only the best of them.
+     */
+    private Cascade cascade = new Cascade();
+
+    /**
+     * Shortlist size chosen per request from the retrieval scores instead of a fixed number.
+     */
+    private AdaptiveShortlist adaptiveShortlist = new AdaptiveShortlist();
+
+    /**
+     * Return ratings first and generate summaries only when a client asks for them.
+     */
+    private LazySummaries lazySummaries = new LazySummaries();
+
+    /**
+     * Threads of the streamed summary endpoint, apart from the cascade's LLM calls.
+     */
+    private SummaryStreams summaryStreams = new SummaryStreams();
+
+    @Data
+    public static class Cascade {
+
+        private boolean enabled = false;
+
+        /**
+         * Number of candidates retrieved and rated in the first stage.
+         */
+        private int shortlistSize = 30;
+
+        /**
+         * Number of best-rated candidates that get a full summary.
+         */
+        private int summaryTopK = 5;
+
+        /**
+         * Maximum number of cascade LLM calls in flight at once, across all match requests.
+         */
+        private int concurrency = 8;
+    }
+
+    @Data
+    public static class LazySummaries {
+
+        private boolean enabled = false;
+
+        /**
+         * Best-rated candidates summarized with the match anyway, as most clients open the top card.
+         */
+        private int prefetchTopK = 1;
+
+        /**
+         * Summaries kept by vacancy and CV, with LRU eviction.
+         */
+        private int cacheSize = 500;
+    }
+
+    @Data
+    public static class SummaryStreams {
+
+        /**
+         * Summaries streamed at once; each holds a thread for the whole stream.
+         */
+        private int concurrency = 16;
+
+        /**
+         * Streams waiting for a thread; beyond that new streams are rejected with 503.
+         */
+        private int queueCapacity = 0;
+    }
+
+    @Data
+    public static class AdaptiveShortlist {
+
+        private boolean enabled = false;
+
+        /**
+         * Candidates kept regardless of their scores, if retrieval found that many.
+         */
+        private int minSize = 1;
+
+        /**
+         * Candidates retrieved and kept at most; in cascade mode this replaces {@code cascade.shortlist-size}.
+         */
+        private int maxSize = 12;
+
+        /**
+         * Candidates scoring below this fraction of the best score are cut; 0 disables the cutoff.
+         */
+        private double relativeThreshold = 0.5;
+
+        /**
+         * The shortlist ends before the first drop between neighbouring scores of at least this fraction of the
+         * best score; 0 disables the cutoff.
+         */
+        private double scoreGap = 0.25;
+    }
+}
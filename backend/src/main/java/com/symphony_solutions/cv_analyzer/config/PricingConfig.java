@@ -0,0 +1,51 @@
+package com.symphony_solutions.cv_analyzer.config;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Token pricing per 1M tokens. {@code models} holds per-model prices keyed by model name prefix,
+ * e.g. {@code openai.pricing.models[gpt-4o-mini].input-tokens-per-million=0.15}.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "openai.pricing")
+public class PricingConfig {
+
+    private BigDecimal inputTokensPerMillion = new BigDecimal("2.50");
+
+    private BigDecimal outputTokensPerMillion = new BigDecimal("10.00");
+
+    private String currency = "USD";
+
+    private Map<String, ModelPricing> models = new LinkedHashMap<>();
+
+    @Data
+    public static class ModelPricing {
+
+        private BigDecimal inputTokensPerMillion;
+
+        private BigDecimal outputTokensPerMillion;
+    }
+
+    /**
+     * Pricing of the longest configured model name that prefixes the given model, so that versioned
+     * names reported by the provider (e.g. {@code gpt-4o-mini-2024-07-18}) match {@code gpt-4o-mini}.
+     */
+    public ModelPricing findModelPricing(String model) {
+        if (model == null) {
+            return null;
+        }
+        String bestMatch = null;
+        for (String name : models.keySet()) {
+            if (model.startsWith(name) && (bestMatch == null || name.length() > bestMatch.length())) {
+                bestMatch = name;
+            }
+        }
+        return bestMatch == null ? null : models.get(bestMatch);
+    }
+}
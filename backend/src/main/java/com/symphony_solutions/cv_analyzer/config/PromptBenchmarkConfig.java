@@ -0,0 +1,79 @@
+package com.symphony_solutions.cv_analyzer.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Prompt benchmark ({@code POST /api/admin/prompts/benchmark}): prompt variants are compared on the same
+ * vacancy-CV pairs, each sent {@code samples} times.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "prompts.benchmark")
+public class PromptBenchmarkConfig {
+
+    /**
+     * Vacancy descriptions of the fixed pair set, each paired with its top retrieved CVs.
+     */
+    private String vacancies = "classpath:examples/JD_*.txt";
+
+    /**
+     * Top retrieved CVs paired with each vacancy, unless the request says otherwise.
+     */
+    private int candidatesPerVacancy = 5;
+
+    /**
+     * Times each variant is sent for each pair, unless the request says otherwise.
+     */
+    private int samples = 3;
+
+    /**
+     * Benchmark calls in flight at once.
+     */
+    private int concurrency = 4;
+
+    /**
+     * Upper bound on variants x pairs x samples, so a benchmark against a paid model cannot run away.
+     */
+    private int maxCalls = 500;
+
+    /**
+     * Answer with the local stub model instead of the configured LLM, unless the request says otherwise.
+     */
+    private boolean stub = false;
+
+    private Stub stubModel = new Stub();
+
+    /**
+     * Behaviour of the stub model. Its latency grows with prompt and reply size, so shorter prompts benchmark
+     * faster offline too; ratings follow from the prompt text, with {@code ratingNoise} of them off by one.
+     */
+    @Data
+    public static class Stub {
+
+        private String model = "stub";
+
+        private Duration baseLatency = Duration.ofMillis(40);
+
+        private Duration latencyPerThousandInputTokens = Duration.ofMillis(20);
+
+        private Duration latencyPerOutputToken = Duration.ofMillis(1);
+
+        /**
+         * Uniformly random extra latency, up to this much.
+         */
+        private Duration latencyJitter = Duration.ofMillis(20);
+
+        /**
+         * Share of ratings moved one step up or down from the prompt's rating.
+         */
+        private double ratingNoise = 0.2;
+
+        /**
+         * Length of a stub summary.
+         */
+        private int summaryTokens = 120;
+    }
+}
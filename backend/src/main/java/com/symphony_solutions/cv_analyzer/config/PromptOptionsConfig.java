@@ -0,0 +1,83 @@
+package com.symphony_solutions.cv_analyzer.config;
+
+import com.symphony_solutions.cv_analyzer.dto.type.PromptType;
+import lombok.Data;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * Per-prompt-type model options, e.g. {@code prompts.rating.model}, {@code prompts.rating.max-tokens}.
+ * Unset values fall back to the {@code spring.ai.openai.chat.options.*} defaults.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "prompts")
+public class PromptOptionsConfig {
+
+    private Options summary = new Options();
+
+    /**
+     * A rating is a single integer, so its output is capped even when nothing is configured.
+     */
+    private Options rating = Options.withMaxTokens(5);
+
+    private Options ratingBatch = new Options();
+
+    private Options vacancy = new Options();
+
+    public Options forType(PromptType type) {
+        return switch (type) {
+            case SUMMARY -> summary;
+            case RATING -> rating;
+            case RATING_BATCH -> ratingBatch;
+            case VACANCY -> vacancy;
+        };
+    }
+
+    @Data
+    public static class Options {
+
+        private String model;
+
+        private Integer maxTokens;
+
+        private Double temperature;
+
+        static Options withMaxTokens(int maxTokens) {
+            Options options = new Options();
+            options.setMaxTokens(maxTokens);
+            return options;
+        }
+
+        /**
+         * Chat options to send with the call, or null when nothing overrides the defaults.
+         */
+        public ChatOptions toChatOptions() {
+            String requestedModel = StringUtils.hasText(model) ? model : null;
+            if (requestedModel == null && maxTokens == null && temperature == null) {
+                return null;
+            }
+            return ChatOptions.builder()
+                    .model(requestedModel)
+                    .maxTokens(maxTokens)
+                    .temperature(temperature)
+                    .build();
+        }
+
+        /**
+         * Options for a streamed call: the same overrides, plus a request for token usage in the final chunk,
+         * which OpenAI-compatible APIs leave out of streams by default.
+         */
+        public ChatOptions toStreamingChatOptions() {
+            return OpenAiChatOptions.builder()
+                    .model(StringUtils.hasText(model) ? model : null)
+                    .maxTokens(maxTokens)
+                    .temperature(temperature)
+                    .streamUsage(true)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.symphony_solutions.cv_analyzer.config;
+
+import java.nio.file.Path;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Where edited prompts are saved. A prompt with a file under {@code dir} ({@code <type>/<role>.txt}, e.g.
+ * {@code rating-batch/user.txt}) uses it instead of its {@code prompts.<type>.<role>} location, so the defaults
+ * can stay on the classpath or a read-only mount.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "prompts.store")
+public class PromptStoreConfig {
+
+    /**
+     * Writable directory for edited prompts.
+     */
+    private Path dir = Path.of("data/prompts");
+
+    /**
+     * Reload prompts when files under {@code dir} change, without a call to the refresh endpoint.
+     */
+    private boolean watch = true;
+
+    /**
+     * Versions kept in memory per prompt for the versions and restore endpoints.
+     */
+    private int historySize = 20;
+}
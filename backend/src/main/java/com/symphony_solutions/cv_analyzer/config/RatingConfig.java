@@ -12,7 +12,28 @@ public class RatingConfig {
     private int min = 1;
     private int max = 100;
     
+    private Batch batch = new Batch();
+
     public String getRangeDescription() {
         return min + " to " + max;
     }
+
+    /**
+     * Listwise rating: several CVs rated against one vacancy in a single call.
+     */
+    @Data
+    public static class Batch {
+
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of CVs per call.
+         */
+        private int maxSize = 10;
+
+        /**
+         * Input token budget of one call, estimated at four characters per token.
+         */
+        private int maxInputTokens = 12000;
+    }
 }
@@ -0,0 +1,99 @@
+package com.symphony_solutions.cv_analyzer.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "candidate.retrieval")
+public class RetrievalConfig {
+
+    /**
+     * Retrieval backend: keyword (in-memory corpus) or lucene (on-disk index).
+     */
+    private String backend = "keyword";
+
+    private Lucene lucene = new Lucene();
+
+    /**
+     * Hybrid mode of the keyword backend: CV embeddings in an HNSW index, fused with keyword scores.
+     */
+    private Hybrid hybrid = new Hybrid();
+
+    @Data
+    public static class Lucene {
+
+        /**
+         * Directory of the index, memory-mapped by the searcher.
+         */
+        private String indexPath = "data/lucene-index";
+
+        /**
+         * Bring the index in line with the classpath CVs on startup; with false an existing index is served as is.
+         */
+        private boolean syncOnStartup = true;
+
+        /**
+         * Longest time an indexed CV may stay invisible to searches.
+         */
+        private Duration maxRefreshInterval = Duration.ofSeconds(1);
+
+        /**
+         * Shortest time between searcher refreshes when a caller waits for a change.
+         */
+        private Duration minRefreshInterval = Duration.ofMillis(100);
+
+        /**
+         * Distinct vacancy terms used in a query; the rest of a very long vacancy is ignored.
+         */
+        private int maxQueryTerms = 300;
+
+        /**
+         * CVs whose digest, screening verdict and analyzed terms are kept between searches (LRU), so hits are not
+         * re-derived from their stored text every time.
+         */
+        private int resumeCacheSize = 2000;
+    }
+
+    @Data
+    public static class Hybrid {
+
+        private boolean enabled = false;
+
+        /**
+         * local (offline feature-hashing model) or spring (the EmbeddingModel bean, e.g. OpenAI embeddings).
+         */
+        private String embeddingModel = "local";
+
+        /**
+         * Vector size of the local model.
+         */
+        private int dimensions = 384;
+
+        /**
+         * Weight of the vector similarity in the fused score; the keyword score gets the rest.
+         */
+        private double vectorWeight = 0.5;
+
+        /**
+         * Candidates taken from each of the keyword and vector rankings before fusion.
+         */
+        private int candidates = 100;
+
+        /**
+         * Characters of a CV (its digest text when available) sent to the embedding model.
+         */
+        private int maxEmbeddingChars = 8000;
+
+        /**
+         * HNSW links per node (M).
+         */
+        private int maxConnections = 16;
+
+        private int efConstruction = 100;
+
+        private int efSearch = 100;
+    }
+}
@@ -0,0 +1,55 @@
+package com.symphony_solutions.cv_analyzer.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "candidate.screening")
+public class ScreeningConfig {
+
+    /**
+     * Screen CVs for prompt injection when the corpus is loaded.
+     */
+    private boolean enabled = true;
+
+    /**
+     * What the match flow does with a suspicious CV. SANDBOX by default, so a false positive only loses the
+     * paragraphs around the phrase rather than the whole rating.
+     */
+    private Action action = Action.SANDBOX;
+
+    /**
+     * Phrases that mark a CV as suspicious, matched as whole words, case-insensitively with whitespace collapsed.
+     * Phrases an ordinary CV may contain ("act as a mentor", "rate this candidate") are only listed together with
+     * an instruction context.
+     */
+    private List<String> patterns = new ArrayList<>(List.of(
+        "ignore all previous instructions", "ignore previous instructions", "ignore the above",
+        "ignore your instructions", "disregard all previous", "disregard the above", "disregard your instructions",
+        "forget all previous", "forget your instructions", "new instructions:", "your system prompt",
+        "ignore the system prompt", "act as an ai", "act as an assistant", "act as a recruiter",
+        "act as the recruiter", "act as a hiring manager", "act as the hiring manager", "you are now an ai",
+        "you are now a recruiter", "you are now in developer mode", "from now on you are", "as an ai language model",
+        "give this candidate the highest", "give this candidate a rating of", "rate this candidate as the best",
+        "give me the highest rating", "the highest possible rating", "rating of 100",
+        "<|im_start|>", "<|system|>", "[inst]", "### instruction", "### system"));
+
+    public enum Action {
+        /**
+         * Send to the LLM with the offending paragraphs removed, and flag the result.
+         */
+        SANDBOX,
+        /**
+         * Return without LLM calls, with the minimum rating and a flagged notice naming the matched phrases.
+         */
+        SKIP,
+        /**
+         * Exclude from retrieval entirely.
+         */
+        QUARANTINE
+    }
+}
@@ -0,0 +1,62 @@
+package com.symphony_solutions.cv_analyzer.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "candidate.sharding")
+public class ShardingConfig {
+
+    /**
+     * Partition the corpus into shards and answer retrieval by scatter-gather across them.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of shards; a CV belongs to shard hash(filename) mod shard-count on every node.
+     */
+    private int shardCount = 1;
+
+    /**
+     * Shards served by this node; empty means every shard without a remote URL, each as its own in-process corpus.
+     */
+    private List<Integer> localShards = List.of();
+
+    /**
+     * Base URL of the node serving a shard, by shard id, e.g. {@code candidate.sharding.remote-shards.2=http://cv-2:8080}.
+     */
+    private Map<Integer, String> remoteShards = new LinkedHashMap<>();
+
+    /**
+     * Longest wait for a shard; the request deadline applies when it is shorter. Slower shards are left out.
+     */
+    private Duration timeout = Duration.ofSeconds(2);
+
+    /**
+     * Retrieval queries fanned out at once; the coordinator runs up to this many searches per shard in parallel
+     * and rejects shard searches beyond twice that, which are then reported as missing.
+     */
+    private int maxConcurrentQueries = 16;
+
+    /**
+     * Shard ids served in this process.
+     */
+    public List<Integer> servedShards() {
+        if (!enabled) {
+            return List.of(0);
+        }
+        if (!localShards.isEmpty()) {
+            return localShards;
+        }
+        return IntStream.range(0, shardCount).boxed()
+            .filter(shard -> !remoteShards.containsKey(shard))
+            .toList();
+    }
+}
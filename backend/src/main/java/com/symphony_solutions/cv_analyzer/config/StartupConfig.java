@@ -0,0 +1,17 @@
+package com.symphony_solutions.cv_analyzer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "startup")
+public class StartupConfig {
+
+    /**
+     * Send a one-token request to every LLM endpoint after startup, so DNS, TLS and pooled connections are set up
+     * before the first match. Costs a few tokens per endpoint and start.
+     */
+    private boolean llmWarmup = true;
+}
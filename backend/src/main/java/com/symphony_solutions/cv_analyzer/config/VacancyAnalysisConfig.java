@@ -0,0 +1,26 @@
+package com.symphony_solutions.cv_analyzer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "candidate.vacancy-analysis")
+public class VacancyAnalysisConfig {
+
+    /**
+     * Condense the vacancy into a requirements list once per match and send that to the candidate prompts.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of condensed vacancies kept, least recently used evicted first.
+     */
+    private int cacheSize = 200;
+
+    /**
+     * Vacancies shorter than this are sent as they are; condensing them would not save tokens.
+     */
+    private int minLength = 1500;
+}
@@ -1,17 +1,30 @@
 package com.symphony_solutions.cv_analyzer.controller;
 
-import com.symphony_solutions.cv_analyzer.model.Resume;
-import com.symphony_solutions.cv_analyzer.service.ResumeService;
-import com.symphony_solutions.cv_analyzer.service.AgentSummaryService;
+import com.symphony_solutions.cv_analyzer.config.MatchConfig;
+import com.symphony_solutions.cv_analyzer.dto.response.BatchMatchResponseDto;
+import com.symphony_solutions.cv_analyzer.dto.response.MatchResponseDto;
+import com.symphony_solutions.cv_analyzer.dto.response.SummaryResponseDto;
+import com.symphony_solutions.cv_analyzer.service.CandidateMatchService;
+import com.symphony_solutions.cv_analyzer.service.CandidateSummaryService;
+import com.symphony_solutions.cv_analyzer.dto.request.BatchMatchRequestDto;
 import com.symphony_solutions.cv_analyzer.dto.request.MatchRequestDto;
-import com.symphony_solutions.cv_analyzer.dto.response.CandidateSummaryResponseDto;
-import org.springframework.ai.retry.NonTransientAiException;
+import com.symphony_solutions.cv_analyzer.dto.request.SummaryRequestDto;
+import com.symphony_solutions.cv_analyzer.model.Resume;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import java.util.List;
-import java.util.ArrayList;
 import jakarta.validation.Valid;
 
 /**
@@ -24,57 +37,124 @@ import jakarta.validation.Valid;
 @Validated
 public class AgentController {
 
-  private final ResumeService resumeService;
+  private static final Duration EMITTER_GRACE = Duration.ofSeconds(5);
+
+  private final CandidateMatchService candidateMatchService;
+
+  private final CandidateSummaryService candidateSummaryService;
+
+  private final ThreadPoolTaskExecutor summaryStreamExecutor;
 
-  private final AgentSummaryService agentSummaryService;
+  private final MatchConfig matchConfig;
 
   /**
    * Returns the most relevant candidates for a given vacancy description, with LLM-generated summary and rating.
+   * While the LLM circuit breaker is open, candidates are returned immediately with keyword-based ratings
+   * and flagged as degraded. Candidates that cannot be processed before the deadline are listed as skipped.
    *
-   * @param request the vacancy description
-   * @return list of candidate summaries with individual ratings
+   * @param request the vacancy description and optional deadline
+   * @return candidate summaries with individual ratings
    */
   @PostMapping("/match")
-  public List<CandidateSummaryResponseDto> matchCvs(@Valid @RequestBody MatchRequestDto request) {
+  public MatchResponseDto matchCvs(@Valid @RequestBody MatchRequestDto request) {
     log.info("Processing candidate match request for vacancy: {}",
         request.getVacancyDescription().substring(0, Math.min(100, request.getVacancyDescription().length())));
 
     try {
-      List<Resume> topResumes = resumeService.findTopCandidates(request.getVacancyDescription(), 5);
-      List<CandidateSummaryResponseDto> summaries = new ArrayList<>();
+      MatchResponseDto response = candidateMatchService.match(request);
+      log.info("Successfully processed {} candidates", response.getCandidates().size());
+      return response;
+    } catch (Exception e) {
+      log.error("Error in candidate matching process", e);
+      throw e; // Let GlobalExceptionHandler handle it
+    }
+  }
+
+  /**
+   * Matches candidates to several vacancies in one request, e.g. similar roles opened together. The corpus is
+   * scored against all vacancies in one pass, and LLM calls with identical prompts across the vacancies are
+   * made once.
+   *
+   * @param request the vacancies with their ids and optional filters, and an optional deadline for the batch
+   * @return one match result per vacancy, in request order
+   */
+  @PostMapping("/match/batch")
+  public BatchMatchResponseDto matchBatch(@Valid @RequestBody BatchMatchRequestDto request) {
+    log.info("Processing batch match request for {} vacancies", request.getVacancies().size());
+    BatchMatchResponseDto response = candidateMatchService.matchBatch(request);
+    log.info("Successfully processed batch of {} vacancies, {} LLM calls shared",
+        response.getResults().size(), response.getSharedLlmCalls());
+    return response;
+  }
 
-      for (Resume resume : topResumes) {
-        try {
-          log.debug("Processing CV: {}", resume.getFilename());
-          String summary = agentSummaryService.generateSummary(request.getVacancyDescription(), resume.getContent())
-              .getContent();
-          var ratingResponse = agentSummaryService
-              .generateRating(request.getVacancyDescription(), resume.getContent());
-          int rating = agentSummaryService.extractRatingFromContent(ratingResponse.getContent());
+  /**
+   * Returns the summary of one matched candidate. With lazy summaries enabled, /match leaves most summaries out
+   * (marked {@code summaryDeferred}) and clients fetch them here when a candidate is opened; repeated requests
+   * for the same vacancy and CV are served from a cache.
+   *
+   * @param request the vacancy description used for the match and the CV filename
+   * @return the summary, or 404 if no searchable CV has this filename
+   */
+  @PostMapping("/summary")
+  public ResponseEntity<SummaryResponseDto> getSummary(@Valid @RequestBody SummaryRequestDto request) {
+    log.info("Processing summary request for CV: {}", request.getFilename());
+    return candidateSummaryService.summarize(request.getVacancyDescription(), request.getFilename())
+        .map(ResponseEntity::ok)
+        .orElse(ResponseEntity.notFound().build());
+  }
 
-          CandidateSummaryResponseDto candidate = CandidateSummaryResponseDto.builder()
-              .name(resume.getName())
-              .filename(resume.getFilename())
-              .summary(summary)
-              .rating(rating)
-              .build();
-          summaries.add(candidate);
-        } catch (NonTransientAiException e) {
-          log.error("AI service error processing CV: {}", resume.getFilename(), e);
-          // Re-throw AI exceptions so they can be handled by GlobalExceptionHandler
-          throw e;
-        } catch (Exception e) {
-          log.error("Failed to process CV: {}", resume.getFilename(), e);
-          // Continue with other CVs for non-AI errors
-          // Could add a fallback candidate with error message
-        }
-      }
+  /**
+   * Streams the summary of one matched candidate as Server-Sent Events while the model writes it, so the first
+   * words show up after the model's time to first token instead of after the whole summary. Events:
+   * {@code token} with {@code {"text": ...}} per chunk, then {@code done} with the filename and whether the
+   * summary came from the cache, or {@code error} with a message if generation failed.
+   *
+   * @param request the vacancy description used for the match and the CV filename
+   * @return the event stream, 404 if no searchable CV has this filename, or 503 if too many summaries are streaming
+   */
+  @PostMapping(value = "/summary/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<SseEmitter> streamSummary(@Valid @RequestBody SummaryRequestDto request) {
+    log.info("Processing streamed summary request for CV: {}", request.getFilename());
+    Optional<Resume> resume = candidateSummaryService.findSummarizable(request.getFilename());
+    if (resume.isEmpty()) {
+      return ResponseEntity.notFound().build();
+    }
+    // Outlives the summary deadline, so a stream cut off by it can still send its error event
+    SseEmitter emitter = new SseEmitter(matchConfig.getDefaultDeadline().plus(EMITTER_GRACE).toMillis());
+    // Once the client is gone the summary is still completed, so it lands in the cache
+    AtomicBoolean disconnected = new AtomicBoolean();
+    try {
+      summaryStreamExecutor.execute(() -> stream(request, resume.get(), emitter, disconnected));
+    } catch (TaskRejectedException e) {
+      log.warn("Rejected streamed summary request for CV {}: all stream threads are busy", request.getFilename());
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+    return ResponseEntity.ok(emitter);
+  }
 
-      log.info("Successfully processed {} candidates", summaries.size());
-      return summaries;
+  private void stream(SummaryRequestDto request, Resume resume, SseEmitter emitter, AtomicBoolean disconnected) {
+    try {
+      SummaryResponseDto summary = candidateSummaryService.stream(request.getVacancyDescription(), resume,
+          token -> send(emitter, "token", Map.of("text", token), disconnected));
+      send(emitter, "done", Map.of("filename", summary.getFilename(), "cached", summary.isCached()), disconnected);
+      emitter.complete();
     } catch (Exception e) {
-      log.error("Error in candidate matching process", e);
-      throw e; // Let GlobalExceptionHandler handle it
+      log.error("Error streaming summary for CV {}", request.getFilename(), e);
+      send(emitter, "error", Map.of("message", "Failed to generate summary: " + e.getMessage()), disconnected);
+      emitter.complete();
+    }
+  }
+
+  private static void send(SseEmitter emitter, String event, Map<String, Object> data, AtomicBoolean disconnected) {
+    if (disconnected.get()) {
+      return;
+    }
+    try {
+      // JSON payloads keep the leading spaces of tokens, which plain SSE data lines would drop
+      emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+    } catch (IOException | IllegalStateException e) {
+      log.debug("Summary stream client disconnected: {}", e.getMessage());
+      disconnected.set(true);
     }
   }
 }
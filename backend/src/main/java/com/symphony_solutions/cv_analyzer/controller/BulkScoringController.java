@@ -0,0 +1,56 @@
+package com.symphony_solutions.cv_analyzer.controller;
+
+import com.symphony_solutions.cv_analyzer.dto.request.BulkScoringRequestDto;
+import com.symphony_solutions.cv_analyzer.dto.response.BulkScoringStatusResponseDto;
+import com.symphony_solutions.cv_analyzer.service.BulkScoringService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for scoring the whole corpus against several vacancies in the background.
+ * All endpoints require admin authentication.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/bulk-scoring")
+@RequiredArgsConstructor
+@Validated
+public class BulkScoringController {
+
+    private final BulkScoringService bulkScoringService;
+
+    /**
+     * Start a bulk scoring job. Results are appended to {@code <job id>.ndjson} in the output directory as they
+     * are produced; submitting the same job id again after a crash or failure resumes it.
+     *
+     * @param request the job id, vacancies and optional limit and filters
+     * @return 202 with the job status (of the running job if one was already running)
+     */
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkScoringStatusResponseDto> start(@Valid @RequestBody BulkScoringRequestDto request) {
+        log.info("Bulk scoring job {} requested for {} vacancies", request.getJobId(), request.getVacancies().size());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(bulkScoringService.start(request));
+    }
+
+    /**
+     * Get the progress of the last bulk scoring job.
+     *
+     * @return Job status
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkScoringStatusResponseDto> getStatus() {
+        return ResponseEntity.ok(bulkScoringService.getStatus());
+    }
+}
@@ -0,0 +1,82 @@
+package com.symphony_solutions.cv_analyzer.controller;
+
+import com.symphony_solutions.cv_analyzer.dto.response.CorpusStatsResponseDto;
+import com.symphony_solutions.cv_analyzer.dto.response.ReindexStatusResponseDto;
+import com.symphony_solutions.cv_analyzer.service.ResumeFileService;
+import com.symphony_solutions.cv_analyzer.service.ResumeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for inspecting and rebuilding the in-memory CV corpus.
+ * All endpoints require admin authentication.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/corpus")
+@RequiredArgsConstructor
+public class CorpusController {
+
+    private final ResumeService resumeService;
+
+    /**
+     * Present with the keyword backend only; the Lucene backend syncs its index on startup.
+     */
+    private final ObjectProvider<ResumeFileService> resumeFileService;
+
+    /**
+     * Get the corpus size (documents, text, compressed bytes, index) with current heap usage and GC totals.
+     *
+     * @return Corpus and JVM memory statistics
+     */
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CorpusStatsResponseDto> getStats() {
+        try {
+            return ResponseEntity.ok(resumeService.getCorpusStats());
+        } catch (Exception e) {
+            log.error("Failed to compute corpus stats", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Rebuild the corpus from the classpath in the background. Matches keep running on the current corpus and
+     * switch to the new one once it is complete.
+     *
+     * @return 202 with the rebuild status (also when a rebuild was already running), 409 with the Lucene backend
+     */
+    @PostMapping("/reindex")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReindexStatusResponseDto> reindex() {
+        ResumeFileService corpus = resumeFileService.getIfAvailable();
+        if (corpus == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        log.info("Corpus reindex requested");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(corpus.reindex());
+    }
+
+    /**
+     * Get the progress of the last rebuild and the live corpus generation.
+     *
+     * @return Rebuild status, 409 with the Lucene backend
+     */
+    @GetMapping("/reindex")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReindexStatusResponseDto> getReindexStatus() {
+        ResumeFileService corpus = resumeFileService.getIfAvailable();
+        if (corpus == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok(corpus.getReindexStatus());
+    }
+}
@@ -0,0 +1,57 @@
+package com.symphony_solutions.cv_analyzer.controller;
+
+import com.symphony_solutions.cv_analyzer.dto.request.PromptBenchmarkRequestDto;
+import com.symphony_solutions.cv_analyzer.dto.response.PromptBenchmarkStatusResponseDto;
+import com.symphony_solutions.cv_analyzer.service.benchmark.PromptBenchmarkService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for comparing prompt variants before one is saved.
+ * All endpoints require admin authentication.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/prompts/benchmark")
+@RequiredArgsConstructor
+@Validated
+public class PromptBenchmarkController {
+
+    private final PromptBenchmarkService promptBenchmarkService;
+
+    /**
+     * Start a prompt benchmark. Each variant is sent for every vacancy-CV pair of the benchmark set, the given
+     * number of times, against the configured LLM or the local stub model.
+     *
+     * @param request the prompt type, variants and optional samples and stub flag
+     * @return 202 with the benchmark status (of the running benchmark if one was already running)
+     */
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PromptBenchmarkStatusResponseDto> start(
+            @Valid @RequestBody PromptBenchmarkRequestDto request) {
+        log.info("Prompt benchmark requested for {} {} variants", request.getVariants().size(), request.getType());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(promptBenchmarkService.start(request));
+    }
+
+    /**
+     * Get the progress and per-variant results of the last prompt benchmark.
+     *
+     * @return Benchmark status
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PromptBenchmarkStatusResponseDto> getStatus() {
+        return ResponseEntity.ok(promptBenchmarkService.getStatus());
+    }
+}
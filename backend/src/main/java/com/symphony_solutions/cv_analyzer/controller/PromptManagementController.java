@@ -1,6 +1,7 @@
 package com.symphony_solutions.cv_analyzer.controller;
 
 import com.symphony_solutions.cv_analyzer.dto.response.PromptResponseDto;
+import com.symphony_solutions.cv_analyzer.dto.response.PromptVersionResponseDto;
 import com.symphony_solutions.cv_analyzer.dto.request.PromptUpdateRequestDto;
 import com.symphony_solutions.cv_analyzer.exception.PromptManagementException;
 import com.symphony_solutions.cv_analyzer.service.PromptService;
@@ -114,6 +115,56 @@ public class PromptManagementController {
         }
     }
     
+    /**
+     * Get the versions of a prompt kept since startup.
+     * 
+     * @param type The prompt type (summary or rating)
+     * @param role The prompt role (system or user)
+     * @return The versions, newest first
+     */
+    @GetMapping("/{type}/{role}/versions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<PromptVersionResponseDto>> getVersions(
+            @PathVariable String type,
+            @PathVariable String role) {
+        try {
+            return ResponseEntity.ok(promptService.getVersions(type, role));
+        } catch (PromptManagementException e) {
+            log.warn("Invalid prompt versions request: {}/{}", type, role, e);
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Failed to retrieve prompt versions: {}/{}", type, role, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Make a kept version of a prompt current again.
+     * 
+     * @param type The prompt type (summary or rating)
+     * @param role The prompt role (system or user)
+     * @param version The version to restore
+     * @return The restored prompt
+     */
+    @PostMapping("/{type}/{role}/versions/{version}/restore")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PromptResponseDto> restoreVersion(
+            @PathVariable String type,
+            @PathVariable String role,
+            @PathVariable int version) {
+        try {
+            PromptResponseDto restoredPrompt = promptService.restoreVersion(type, role, version);
+            log.info("Prompt restored successfully: {}/{} version {}", type, role, version);
+            return ResponseEntity.ok(restoredPrompt);
+        } catch (PromptManagementException e) {
+            log.warn("Invalid prompt restore request: {}/{} version {}", type, role, version, e);
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Failed to restore prompt: {}/{}", type, role, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     /**
      * Refresh all prompts from their files (reload cache).
      * 
@@ -0,0 +1,100 @@
+package com.symphony_solutions.cv_analyzer.controller;
+
+import com.symphony_solutions.cv_analyzer.dto.request.ShardSearchRequestDto;
+import com.symphony_solutions.cv_analyzer.dto.response.ShardCandidateDto;
+import com.symphony_solutions.cv_analyzer.model.CandidateFilter;
+import com.symphony_solutions.cv_analyzer.model.CandidateQuery;
+import com.symphony_solutions.cv_analyzer.model.Deadline;
+import com.symphony_solutions.cv_analyzer.model.Resume;
+import com.symphony_solutions.cv_analyzer.service.ResumeFileService;
+import jakarta.validation.Valid;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller serving the shards of this node to shard coordinators on other nodes.
+ * All endpoints require admin authentication.
+ */
+@RestController
+@RequestMapping("/api/admin/shards")
+@RequiredArgsConstructor
+@ConditionalOnExpression("${candidate.sharding.enabled:false} and '${candidate.retrieval.backend:keyword}' == 'keyword'")
+public class ShardController {
+
+    private final ResumeFileService resumeFileService;
+
+    /**
+     * Get the ids of the shards served by this node.
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public Set<Integer> getServedShards() {
+        return resumeFileService.servedShards();
+    }
+
+    /**
+     * Search one shard of this node.
+     *
+     * @param shard   Shard id
+     * @param request Vacancy, limit, filter and the coordinator's timeout
+     * @return The shard's top candidates with their text, best first (in hybrid mode its whole fusion pool, so the
+     *         coordinator can fuse all shards on one scale); 400 if this node does not serve the shard
+     */
+    @PostMapping("/{shard}/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<ShardCandidateDto> search(@PathVariable int shard, @Valid @RequestBody ShardSearchRequestDto request) {
+        CandidateQuery query = CandidateQuery.builder()
+                .vacancyDescription(request.getVacancyDescription())
+                .limit(request.getLimit())
+                .filter(request.getFilter() != null ? request.getFilter() : CandidateFilter.none())
+                .deadline(request.getTimeoutMs() != null
+                        ? Deadline.after(Duration.ofMillis(request.getTimeoutMs()))
+                        : Deadline.none())
+                .build();
+        return resumeFileService.findTopScoredCandidates(shard, query).stream()
+                .map(scored -> toDto(scored.getResume())
+                        .score(scored.getScore())
+                        .relevance(scored.getRelevance())
+                        .keywordScore(scored.getKeywordScore())
+                        .similarity(scored.getSimilarity())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Get a CV of this node by filename.
+     *
+     * @param shard    Shard id the coordinator routed the filename to
+     * @param filename CV filename
+     * @return The CV with its text, 404 if this node does not hold it
+     */
+    @GetMapping("/{shard}/cv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ShardCandidateDto> getCv(@PathVariable int shard, @RequestParam String filename) {
+        return resumeFileService.findByFilename(filename)
+                .map(cv -> ResponseEntity.ok(toDto(cv).build()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static ShardCandidateDto.ShardCandidateDtoBuilder toDto(Resume cv) {
+        return ShardCandidateDto.builder()
+                .name(cv.getName())
+                .filename(cv.getFilename())
+                .content(cv.getContent())
+                .fields(cv.getFields())
+                .clusterId(cv.getClusterId())
+                .duplicates(cv.getDuplicates());
+    }
+}
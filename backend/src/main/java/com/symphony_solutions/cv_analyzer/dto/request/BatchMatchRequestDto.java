@@ -0,0 +1,56 @@
+package com.symphony_solutions.cv_analyzer.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request body for matching candidates to several vacancies at once.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchMatchRequestDto {
+
+    @NotEmpty(message = "At least one vacancy is required")
+    @Size(max = 20, message = "At most 20 vacancies can be matched in one batch")
+    @Valid
+    private List<Vacancy> vacancies;
+
+    /**
+     * Optional time budget for the whole batch in milliseconds; by default each vacancy adds the server's default
+     * match deadline, up to {@code candidate.match.max-batch-deadline}
+     */
+    @Positive(message = "Deadline must be a positive number of milliseconds")
+    @Max(value = 1800000, message = "Deadline must be at most 30 minutes")
+    private Long deadlineMs;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Vacancy {
+
+        /**
+         * Identifies the vacancy in the response
+         */
+        @NotBlank(message = "Vacancy id cannot be blank")
+        private String id;
+
+        @NotBlank(message = "Vacancy description cannot be blank")
+        @Size(min = 10, max = 10000, message = "Vacancy description must be between 10 and 10000 characters")
+        private String vacancyDescription;
+
+        /**
+         * Optional hard constraints on structured CV fields, applied before retrieval scoring
+         */
+        @Valid
+        private CandidateFilterDto filters;
+    }
+}
@@ -0,0 +1,60 @@
+package com.symphony_solutions.cv_analyzer.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request body for scoring the corpus against several vacancies offline.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkScoringRequestDto {
+
+    /**
+     * Names the result file; submitting the same job id again resumes it, skipping the pairs already scored
+     */
+    @NotBlank(message = "Job id cannot be blank")
+    @Pattern(regexp = "[A-Za-z0-9_-]{1,64}", message = "Job id may only contain letters, digits, '-' and '_'")
+    private String jobId;
+
+    @NotEmpty(message = "At least one vacancy is required")
+    @Valid
+    private List<Vacancy> vacancies;
+
+    /**
+     * Optional candidates per vacancy, overriding {@code candidate.bulk.max-candidates-per-vacancy}
+     */
+    @Positive(message = "Limit must be positive")
+    private Integer limit;
+
+    /**
+     * Optional hard constraints on structured CV fields, applied to every vacancy
+     */
+    @Valid
+    private CandidateFilterDto filters;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Vacancy {
+
+        /**
+         * Identifies the vacancy in the result lines
+         */
+        @NotBlank(message = "Vacancy id cannot be blank")
+        private String id;
+
+        @NotBlank(message = "Vacancy description cannot be blank")
+        @Size(min = 10, max = 10000, message = "Vacancy description must be between 10 and 10000 characters")
+        private String description;
+    }
+}
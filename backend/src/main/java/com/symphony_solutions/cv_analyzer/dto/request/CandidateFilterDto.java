@@ -0,0 +1,39 @@
+package com.symphony_solutions.cv_analyzer.dto.request;
+
+import com.symphony_solutions.cv_analyzer.dto.type.Seniority;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Optional hard constraints of a match request; CVs that fail them are never scored or sent to the LLM.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateFilterDto {
+
+    @PositiveOrZero(message = "Minimum years of experience cannot be negative")
+    private Integer minYearsOfExperience;
+
+    @PositiveOrZero(message = "Maximum years of experience cannot be negative")
+    private Integer maxYearsOfExperience;
+
+    private Seniority minSeniority;
+
+    private Seniority maxSeniority;
+
+    /**
+     * Accepted locations, matched as case-insensitive substrings of the location stated in the CV
+     */
+    @Size(max = 20, message = "At most 20 locations can be given")
+    private List<String> locations;
+
+    /**
+     * Whether CVs that do not state a constrained field are kept; defaults to true
+     */
+    private Boolean includeUnknown;
+}
@@ -1,6 +1,9 @@
 package com.symphony_solutions.cv_analyzer.dto.request;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -17,6 +20,17 @@ public class MatchRequestDto {
     @NotBlank(message = "Vacancy description cannot be blank")
     @Size(min = 10, max = 10000, message = "Vacancy description must be between 10 and 10000 characters")
     private String vacancyDescription;
-    
-    // Optionally, add more fields if needed
-}
\ No newline at end of file
+
+    /**
+     * Optional time budget for the whole match in milliseconds; the server default applies when absent
+     */
+    @Positive(message = "Deadline must be a positive number of milliseconds")
+    @Max(value = 300000, message = "Deadline must be at most 5 minutes")
+    private Long deadlineMs;
+
+    /**
+     * Optional hard constraints on structured CV fields, applied before retrieval scoring
+     */
+    @Valid
+    private CandidateFilterDto filters;
+}
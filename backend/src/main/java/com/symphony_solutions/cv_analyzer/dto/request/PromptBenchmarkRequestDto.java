@@ -0,0 +1,70 @@
+package com.symphony_solutions.cv_analyzer.dto.request;
+
+import com.symphony_solutions.cv_analyzer.dto.type.PromptType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request body for comparing prompt variants on the benchmark's vacancy-CV pairs.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PromptBenchmarkRequestDto {
+
+    /**
+     * RATING (the default) or SUMMARY; rating stability is reported for RATING only
+     */
+    private PromptType type = PromptType.RATING;
+
+    @NotEmpty(message = "At least one variant is required")
+    @Size(max = 10, message = "At most 10 variants can be compared at once")
+    @Valid
+    private List<Variant> variants;
+
+    /**
+     * Optional calls per variant and pair, overriding {@code prompts.benchmark.samples}
+     */
+    @Positive(message = "Samples must be positive")
+    @Max(value = 20, message = "At most 20 samples per pair")
+    private Integer samples;
+
+    /**
+     * Optional top retrieved CVs per vacancy, overriding {@code prompts.benchmark.candidates-per-vacancy}
+     */
+    @Positive(message = "Candidates per vacancy must be positive")
+    @Max(value = 50, message = "At most 50 candidates per vacancy")
+    private Integer candidatesPerVacancy;
+
+    /**
+     * Optional, overriding {@code prompts.benchmark.stub}: answer with the local stub model, for offline runs
+     */
+    private Boolean stub;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Variant {
+
+        @NotBlank(message = "Variant name cannot be blank")
+        private String name;
+
+        /**
+         * System prompt template; the current one when omitted
+         */
+        private String system;
+
+        /**
+         * User prompt template; the current one when omitted
+         */
+        private String user;
+    }
+}
@@ -0,0 +1,36 @@
+package com.symphony_solutions.cv_analyzer.dto.request;
+
+import com.symphony_solutions.cv_analyzer.model.CandidateFilter;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Retrieval query sent by a shard coordinator to the node serving a shard.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardSearchRequestDto {
+
+    @NotBlank(message = "Vacancy description cannot be blank")
+    private String vacancyDescription;
+
+    @Positive(message = "Limit must be positive")
+    private int limit;
+
+    /**
+     * Constraints a CV has to meet to be scored; none when absent
+     */
+    private CandidateFilter filter;
+
+    /**
+     * Time the coordinator waits for this shard; the shard stops scoring and returns partial results after it
+     */
+    @Positive(message = "Timeout must be a positive number of milliseconds")
+    private Long timeoutMs;
+}
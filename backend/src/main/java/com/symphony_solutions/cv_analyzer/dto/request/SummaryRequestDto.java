@@ -0,0 +1,26 @@
+package com.symphony_solutions.cv_analyzer.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request body for the summary of one matched candidate, fetched after the match when its card is expanded.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SummaryRequestDto {
+
+    /**
+     * The vacancy description the candidate was matched against
+     */
+    @NotBlank(message = "Vacancy description cannot be blank")
+    @Size(min = 10, max = 10000, message = "Vacancy description must be between 10 and 10000 characters")
+    private String vacancyDescription;
+
+    @NotBlank(message = "Filename cannot be blank")
+    private String filename;
+}
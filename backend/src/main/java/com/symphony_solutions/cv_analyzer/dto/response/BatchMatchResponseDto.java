@@ -0,0 +1,35 @@
+package com.symphony_solutions.cv_analyzer.dto.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response body of a batch match request: one match result per vacancy, in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchMatchResponseDto {
+
+  private List<Result> results;
+
+  /**
+   * LLM calls answered from another vacancy's identical call instead of being made again
+   */
+  private int sharedLlmCalls;
+
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Result {
+
+    private String id;
+
+    private MatchResponseDto match;
+  }
+}
@@ -0,0 +1,48 @@
+package com.symphony_solutions.cv_analyzer.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of a bulk scoring result file: a candidate scored against a vacancy.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkScoringResultDto {
+
+  private String vacancyId;
+
+  /**
+   * SHA-256 of the vacancy description, so a resubmitted job can tell that the text under an id has changed
+   */
+  private String vacancyHash;
+
+  private String filename;
+
+  private String name;
+
+  private int rating;
+
+  /**
+   * Retrieval score for the vacancy and its 0..1 relevance
+   */
+  private double score;
+
+  private double relevance;
+
+  /**
+   * Flagged CVs are not sent to the LLM when screening skips them, and get the minimum rating
+   */
+  private boolean flagged;
+
+  /**
+   * Present when bulk summaries are enabled
+   */
+  private String summary;
+}
@@ -0,0 +1,60 @@
+package com.symphony_solutions.cv_analyzer.dto.response;
+
+import com.symphony_solutions.cv_analyzer.dto.type.BulkScoringState;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of the last bulk scoring job.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkScoringStatusResponseDto {
+
+  private String jobId;
+
+  private BulkScoringState state;
+
+  /**
+   * NDJSON result file, appended to as candidates are scored
+   */
+  private String output;
+
+  /**
+   * Vacancies retrieved so far, out of {@code vacancies}
+   */
+  private int vacanciesStarted;
+
+  private int vacancies;
+
+  /**
+   * Vacancy-candidate pairs found by retrieval so far
+   */
+  private int candidates;
+
+  /**
+   * Pairs scored and written by this run
+   */
+  private int scored;
+
+  /**
+   * Pairs already in the result file from an earlier run, not scored again
+   */
+  private int resumed;
+
+  /**
+   * Pairs that could not be scored; they are retried when the job is resubmitted
+   */
+  private int failed;
+
+  private Instant startedAt;
+
+  private Instant finishedAt;
+
+  private String error;
+}
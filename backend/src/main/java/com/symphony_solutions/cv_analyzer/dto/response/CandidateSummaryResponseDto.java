@@ -15,7 +15,25 @@ public class CandidateSummaryResponseDto {
 
   private String filename;
 
+  /**
+   * Null when {@code summaryDeferred}
+   */
   private String summary;
 
+  /**
+   * True when the summary was not generated with the match and has to be fetched from the summary endpoint
+   */
+  private boolean summaryDeferred;
+
   private int rating;
+
+  /**
+   * True when the rating comes from keyword retrieval only because the LLM was unavailable
+   */
+  private boolean degraded;
+
+  /**
+   * True when the CV was flagged as a possible prompt injection when the corpus was loaded
+   */
+  private boolean flagged;
 }
@@ -0,0 +1,70 @@
+package com.symphony_solutions.cv_analyzer.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Size of the in-memory CV corpus and the JVM heap and GC figures it affects.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CorpusStatsResponseDto {
+
+  /**
+   * Retrieval backend serving the corpus: keyword or lucene
+   */
+  private String backend;
+
+  /**
+   * Searchable CVs (one per near-duplicate cluster)
+   */
+  private int documents;
+
+  private boolean compressed;
+
+  /**
+   * Total CV text length in chars
+   */
+  private long contentChars;
+
+  /**
+   * Total CV text size as UTF-8
+   */
+  private long contentBytes;
+
+  /**
+   * Bytes held by compressed CV text, 0 when compression is disabled
+   */
+  private long compressedBytes;
+
+  /**
+   * Total length of the digest texts, which stay uncompressed
+   */
+  private long digestChars;
+
+  private int indexTerms;
+
+  private long indexPostings;
+
+  /**
+   * Size of the on-disk index, 0 for the in-memory backend
+   */
+  private long indexDiskBytes;
+
+  private long heapUsedBytes;
+
+  private long heapCommittedBytes;
+
+  private long heapMaxBytes;
+
+  /**
+   * Collections and accumulated collection time of all garbage collectors since JVM start
+   */
+  private long gcCount;
+
+  private long gcTimeMs;
+}
@@ -0,0 +1,45 @@
+package com.symphony_solutions.cv_analyzer.dto.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response body of a candidate match request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchResponseDto {
+
+  private List<CandidateSummaryResponseDto> candidates;
+
+  /**
+   * True when at least one candidate was scored by keyword retrieval only because the LLM was unavailable
+   */
+  private boolean degraded;
+
+  /**
+   * True when some candidates were skipped because the request deadline did not leave enough time for them,
+   * or when some shards of a sharded corpus did not answer
+   */
+  private boolean partial;
+
+  /**
+   * Shards whose candidates are missing because they failed, timed out or were too busy; empty without sharding
+   */
+  private List<Integer> missingShards;
+
+  /**
+   * Filenames of shortlisted candidates that were skipped because of the deadline
+   */
+  private List<String> skipped;
+
+  /**
+   * Shortlist size chosen for this request and the retrieval scores behind it
+   */
+  private ShortlistResponseDto shortlist;
+}
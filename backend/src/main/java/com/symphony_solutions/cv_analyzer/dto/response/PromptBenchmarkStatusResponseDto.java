@@ -0,0 +1,112 @@
+package com.symphony_solutions.cv_analyzer.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.symphony_solutions.cv_analyzer.dto.type.PromptBenchmarkState;
+import com.symphony_solutions.cv_analyzer.dto.type.PromptType;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress and results of the last prompt benchmark. Variant results cover the calls completed so far.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PromptBenchmarkStatusResponseDto {
+
+  private PromptBenchmarkState state;
+
+  private PromptType type;
+
+  /**
+   * Whether the calls are answered by the local stub model
+   */
+  private Boolean stub;
+
+  /**
+   * Vacancy-CV pairs every variant is sent for
+   */
+  private Integer pairs;
+
+  private Integer samples;
+
+  /**
+   * Calls completed so far, out of {@code calls}
+   */
+  private Integer completed;
+
+  private Integer calls;
+
+  private List<Variant> variants;
+
+  private Instant startedAt;
+
+  private Instant finishedAt;
+
+  private String error;
+
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public static class Variant {
+
+    private String name;
+
+    private int calls;
+
+    /**
+     * Calls that threw; they count in no other figure
+     */
+    private int failures;
+
+    private long inputTokens;
+
+    private long outputTokens;
+
+    private double inputTokensPerCall;
+
+    private double outputTokensPerCall;
+
+    private long latencyP50Ms;
+
+    private long latencyP90Ms;
+
+    private long latencyP99Ms;
+
+    private long latencyMaxMs;
+
+    /**
+     * Cost of the completed calls at the configured pricing, as if they had been made against the priced model
+     */
+    private BigDecimal cost;
+
+    private BigDecimal costPerCall;
+
+    private Double meanRating;
+
+    /**
+     * Mean over the pairs of the standard deviation of a pair's ratings across samples; 0 means every pair got
+     * the same rating every time
+     */
+    private Double ratingStdDev;
+
+    /**
+     * Largest difference between two ratings of the same pair
+     */
+    private Integer maxRatingSpread;
+
+    /**
+     * Replies with no rating in them
+     */
+    private Integer unparsedRatings;
+  }
+}
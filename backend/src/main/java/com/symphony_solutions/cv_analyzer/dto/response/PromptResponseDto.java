@@ -38,4 +38,9 @@ public class PromptResponseDto {
      * Whether the prompt is currently cached in memory
      */
     private boolean cached;
+
+    /**
+     * The current version of the prompt, see {@link PromptVersionResponseDto}
+     */
+    private int version;
 }
@@ -0,0 +1,31 @@
+package com.symphony_solutions.cv_analyzer.dto.response;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One version of a prompt. Versions are kept in memory since startup, numbered from 1 for the content read then.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PromptVersionResponseDto {
+
+    private int version;
+
+    private String content;
+
+    /**
+     * What produced the version: startup, update, reset, restore, refresh or file (an edit on disk)
+     */
+    private String source;
+
+    private Instant savedAt;
+
+    /**
+     * Whether this is the version in use
+     */
+    private boolean current;
+}
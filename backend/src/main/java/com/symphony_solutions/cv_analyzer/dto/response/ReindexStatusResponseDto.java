@@ -0,0 +1,53 @@
+package com.symphony_solutions.cv_analyzer.dto.response;
+
+import com.symphony_solutions.cv_analyzer.dto.type.ReindexState;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of the last corpus rebuild and the generation currently serving queries.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReindexStatusResponseDto {
+
+  private ReindexState state;
+
+  /**
+   * Generation serving queries, 0 before the corpus is first loaded
+   */
+  private long liveGeneration;
+
+  /**
+   * Current step of a running rebuild: parsing, digesting, screening, deduplicating or indexing
+   */
+  private String stage;
+
+  /**
+   * Items of the current stage done so far, out of {@code total}
+   */
+  private int processed;
+
+  private int total;
+
+  /**
+   * Searchable CVs in the rebuilt generation, once it succeeded
+   */
+  private int documents;
+
+  /**
+   * Queries still running on the replaced generation; it is released when they finish
+   */
+  private int drainingQueries;
+
+  private Instant startedAt;
+
+  private Instant finishedAt;
+
+  private String error;
+}
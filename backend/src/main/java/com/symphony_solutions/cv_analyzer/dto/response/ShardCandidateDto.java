@@ -0,0 +1,42 @@
+package com.symphony_solutions.cv_analyzer.dto.response;
+
+import com.symphony_solutions.cv_analyzer.model.ResumeFields;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A CV retrieved by a shard with its score. Carries the CV text, so the coordinator can rate it without
+ * holding the shard's corpus.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardCandidateDto {
+
+  private String name;
+
+  private String filename;
+
+  private String content;
+
+  private ResumeFields fields;
+
+  private String clusterId;
+
+  private List<String> duplicates;
+
+  private double score;
+
+  private double relevance;
+
+  /**
+   * Hybrid retrieval only, see {@link com.symphony_solutions.cv_analyzer.model.ScoredResume#getKeywordScore()}
+   */
+  private Double keywordScore;
+
+  private Double similarity;
+}
@@ -0,0 +1,32 @@
+package com.symphony_solutions.cv_analyzer.dto.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * How many retrieved candidates were sent to the LLM stages, and why.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortlistResponseDto {
+
+  /**
+   * Number of candidates sent to the LLM stages
+   */
+  private int size;
+
+  /**
+   * What ended the shortlist: fixed, exhausted, max, relative or gap
+   */
+  private String cutoff;
+
+  /**
+   * Retrieval scores of all retrieved candidates, best first
+   */
+  private List<Double> scores;
+}
@@ -0,0 +1,22 @@
+package com.symphony_solutions.cv_analyzer.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SummaryResponseDto {
+
+  private String filename;
+
+  private String summary;
+
+  /**
+   * True when the summary was generated earlier for the same vacancy and CV
+   */
+  private boolean cached;
+}
@@ -0,0 +1,8 @@
+package com.symphony_solutions.cv_analyzer.dto.type;
+
+public enum BulkScoringState {
+    IDLE,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
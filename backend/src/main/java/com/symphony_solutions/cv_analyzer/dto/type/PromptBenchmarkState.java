@@ -0,0 +1,8 @@
+package com.symphony_solutions.cv_analyzer.dto.type;
+
+public enum PromptBenchmarkState {
+    IDLE,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
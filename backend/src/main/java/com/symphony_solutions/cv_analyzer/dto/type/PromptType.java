@@ -2,6 +2,8 @@ package com.symphony_solutions.cv_analyzer.dto.type;
 
 public enum PromptType {
     SUMMARY,
-    RATING
+    RATING,
+    RATING_BATCH,
+    VACANCY
 }
 
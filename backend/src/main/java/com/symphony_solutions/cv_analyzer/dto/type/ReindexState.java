@@ -0,0 +1,8 @@
+package com.symphony_solutions.cv_analyzer.dto.type;
+
+public enum ReindexState {
+    IDLE,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
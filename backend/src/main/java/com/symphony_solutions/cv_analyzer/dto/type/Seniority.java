@@ -0,0 +1,12 @@
+package com.symphony_solutions.cv_analyzer.dto.type;
+
+/**
+ * Seniority levels in ascending order.
+ */
+public enum Seniority {
+    INTERN,
+    JUNIOR,
+    MIDDLE,
+    SENIOR,
+    LEAD
+}
@@ -0,0 +1,11 @@
+package com.symphony_solutions.cv_analyzer.exception;
+
+/**
+ * Exception thrown when work is not started because it cannot finish before the request deadline.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
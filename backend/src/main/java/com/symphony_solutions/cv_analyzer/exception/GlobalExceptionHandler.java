@@ -47,6 +47,36 @@ public class GlobalExceptionHandler {
         }
     }
 
+    /**
+     * Handle AI calls rejected by the open circuit breaker
+     */
+    @ExceptionHandler(LlmCircuitOpenException.class)
+    public ResponseEntity<ErrorResponseDto> handleLlmCircuitOpen(LlmCircuitOpenException ex) {
+        log.warn("AI service circuit open: {}", ex.getMessage());
+        return ResponseEntity.status(503)
+                .body(ErrorResponseDto.of(503, "Service Unavailable", "AI service is temporarily unavailable. Please try again later."));
+    }
+
+    /**
+     * Handle LLM calls not started or cut off because they could not finish before the request deadline
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ErrorResponseDto> handleDeadlineExceeded(DeadlineExceededException ex) {
+        log.warn("Request deadline exceeded: {}", ex.getMessage());
+        return ResponseEntity.status(504)
+                .body(ErrorResponseDto.of(504, "Gateway Timeout", "AI service could not answer within the request deadline. Please try again later."));
+    }
+
+    /**
+     * Handle retrieval queries that no shard answered
+     */
+    @ExceptionHandler(ShardsUnavailableException.class)
+    public ResponseEntity<ErrorResponseDto> handleShardsUnavailable(ShardsUnavailableException ex) {
+        log.warn("Retrieval unavailable: {}", ex.getMessage());
+        return ResponseEntity.status(503)
+                .body(ErrorResponseDto.of(503, "Service Unavailable", "CV search is temporarily unavailable. Please try again later."));
+    }
+
     /**
      * Handle CV parsing exceptions
      */
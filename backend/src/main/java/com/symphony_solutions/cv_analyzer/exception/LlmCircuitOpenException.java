@@ -0,0 +1,11 @@
+package com.symphony_solutions.cv_analyzer.exception;
+
+/**
+ * Exception thrown when an LLM call is rejected because the circuit breaker is open.
+ */
+public class LlmCircuitOpenException extends RuntimeException {
+
+    public LlmCircuitOpenException(String message) {
+        super(message);
+    }
+}
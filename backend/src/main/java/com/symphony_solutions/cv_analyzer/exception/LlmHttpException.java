@@ -0,0 +1,21 @@
+package com.symphony_solutions.cv_analyzer.exception;
+
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * Exception thrown when an LLM endpoint answers with a 4xx status, which it carries for routing decisions.
+ */
+public class LlmHttpException extends NonTransientAiException {
+
+    private final HttpStatusCode statusCode;
+
+    public LlmHttpException(HttpStatusCode statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public HttpStatusCode getStatusCode() {
+        return statusCode;
+    }
+}
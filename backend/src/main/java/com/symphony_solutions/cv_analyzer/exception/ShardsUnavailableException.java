@@ -0,0 +1,11 @@
+package com.symphony_solutions.cv_analyzer.exception;
+
+/**
+ * Exception thrown when no shard of a sharded corpus answered a retrieval query.
+ */
+public class ShardsUnavailableException extends RuntimeException {
+
+    public ShardsUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,36 @@
+package com.symphony_solutions.cv_analyzer.health;
+
+import com.symphony_solutions.cv_analyzer.service.LlmCircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the LLM circuit breaker state under {@code /actuator/health}.
+ * An open or half-open breaker is reported as DEGRADED rather than DOWN:
+ * the application still serves keyword-only results, so it should not be restarted.
+ */
+@Component
+@RequiredArgsConstructor
+public class LlmCircuitBreakerHealthIndicator implements HealthIndicator {
+
+    public static final Status DEGRADED = new Status("DEGRADED", "LLM provider unavailable, serving degraded results");
+
+    private final LlmCircuitBreaker llmCircuitBreaker;
+
+    @Override
+    public Health health() {
+        LlmCircuitBreaker.State state = llmCircuitBreaker.getState();
+        Health.Builder builder = state == LlmCircuitBreaker.State.CLOSED
+                ? Health.up()
+                : Health.status(DEGRADED);
+        return builder
+                .withDetail("state", state)
+                .withDetail("failureRate", llmCircuitBreaker.getFailureRate())
+                .withDetail("recordedCalls", llmCircuitBreaker.getRecordedCalls())
+                .withDetail("remainingOpenMillis", llmCircuitBreaker.getRemainingOpenDuration().toMillis())
+                .build();
+    }
+}
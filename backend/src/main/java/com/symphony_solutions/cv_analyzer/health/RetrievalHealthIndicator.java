@@ -0,0 +1,33 @@
+package com.symphony_solutions.cv_analyzer.health;
+
+import com.symphony_solutions.cv_analyzer.service.ResumeService;
+import com.symphony_solutions.cv_analyzer.service.StartupWarmup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports whether retrieval can answer queries, as {@code retrieval} under {@code /actuator/health}. It is part
+ * of the readiness group only: while the corpus loads in the background the pod gets no traffic, but it is not
+ * restarted.
+ */
+@Component
+@RequiredArgsConstructor
+public class RetrievalHealthIndicator implements HealthIndicator {
+
+    private final ResumeService resumeService;
+
+    private final StartupWarmup startupWarmup;
+
+    @Override
+    public Health health() {
+        if (resumeService.isReady()) {
+            return Health.up().build();
+        }
+        if (startupWarmup.getError() != null) {
+            return Health.down().withDetail("error", startupWarmup.getError()).build();
+        }
+        return Health.outOfService().withDetail("corpus", "loading").build();
+    }
+}
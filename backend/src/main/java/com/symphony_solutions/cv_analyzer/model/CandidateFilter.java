@@ -0,0 +1,52 @@
+package com.symphony_solutions.cv_analyzer.model;
+
+import com.symphony_solutions.cv_analyzer.dto.type.Seniority;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Hard constraints on {@link ResumeFields}, evaluated before retrieval scoring. Unset criteria match every CV.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateFilter {
+
+    private static final CandidateFilter NONE = new CandidateFilter();
+
+    private Integer minYearsOfExperience;
+
+    private Integer maxYearsOfExperience;
+
+    private Seniority minSeniority;
+
+    private Seniority maxSeniority;
+
+    /**
+     * A CV matches when its location contains any of these, ignoring case
+     */
+    private List<String> locations;
+
+    /**
+     * Whether a CV that does not state a constrained field passes that criterion
+     */
+    @Builder.Default
+    private boolean includeUnknown = true;
+
+    /**
+     * A filter that matches every CV.
+     */
+    public static CandidateFilter none() {
+        return NONE;
+    }
+
+    public boolean isEmpty() {
+        return minYearsOfExperience == null && maxYearsOfExperience == null
+            && minSeniority == null && maxSeniority == null
+            && (locations == null || locations.isEmpty());
+    }
+}
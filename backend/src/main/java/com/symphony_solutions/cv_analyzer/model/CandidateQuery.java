@@ -0,0 +1,48 @@
+package com.symphony_solutions.cv_analyzer.model;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Retrieval query passed to a {@link com.symphony_solutions.cv_analyzer.service.ResumeService}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateQuery {
+
+    private String vacancyDescription;
+
+    /**
+     * Maximum number of candidates to return
+     */
+    private int limit;
+
+    /**
+     * Deadline of the request; retrieval returns the best candidates scored so far once it expires
+     */
+    @Builder.Default
+    private Deadline deadline = Deadline.none();
+
+    /**
+     * Constraints a CV has to meet to be scored at all
+     */
+    @Builder.Default
+    private CandidateFilter filter = CandidateFilter.none();
+
+    /**
+     * Filled in by sharded retrieval with the shards that failed, timed out or were rejected for this query;
+     * their candidates are missing from the results
+     */
+    @Builder.Default
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Set<Integer> missingShards = ConcurrentHashMap.newKeySet();
+}
@@ -0,0 +1,61 @@
+package com.symphony_solutions.cv_analyzer.model;
+
+import java.time.Duration;
+
+/**
+ * Point in time by which a request has to be answered.
+ * Propagated through retrieval and every LLM call so that work which cannot finish in time is never started.
+ */
+public final class Deadline {
+
+    private static final Deadline NONE = new Deadline(Long.MAX_VALUE);
+
+    /**
+     * Longest budget taken as is; the nanosecond clock has room for about 292 years, from an arbitrary origin.
+     */
+    private static final Duration MAX_BUDGET = Duration.ofDays(365);
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * The deadline {@code budget} from now; longer budgets than a year saturate instead of overflowing the clock.
+     */
+    public static Deadline after(Duration budget) {
+        Duration saturated = budget.compareTo(MAX_BUDGET) > 0 ? MAX_BUDGET : budget;
+        return new Deadline(System.nanoTime() + saturated.toNanos());
+    }
+
+    /**
+     * A deadline that never expires.
+     */
+    public static Deadline none() {
+        return NONE;
+    }
+
+    public Duration remaining() {
+        if (this == NONE) {
+            return Duration.ofNanos(Long.MAX_VALUE);
+        }
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return this != NONE && System.nanoTime() >= deadlineNanos;
+    }
+
+    /**
+     * Whether work expected to take {@code expected} can still finish before the deadline.
+     */
+    public boolean hasTimeFor(Duration expected) {
+        return this == NONE || remaining().compareTo(expected) >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return this == NONE ? "Deadline[none]" : "Deadline[remaining=" + remaining().toMillis() + "ms]";
+    }
+}
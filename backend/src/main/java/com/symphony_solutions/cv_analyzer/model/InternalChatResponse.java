@@ -30,4 +30,14 @@ public class InternalChatResponse {
      * Number of output/completion tokens used
      */
     private int outputTokens;
+
+    /**
+     * Name of the routed endpoint that served the call, or null when routing is disabled
+     */
+    private String endpoint;
+
+    /**
+     * Model reported by the provider
+     */
+    private String model;
 }
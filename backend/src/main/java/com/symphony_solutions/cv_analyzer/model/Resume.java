@@ -1,5 +1,7 @@
 package com.symphony_solutions.cv_analyzer.model;
 
+import com.symphony_solutions.cv_analyzer.util.CompressedText;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,7 +15,69 @@ public class Resume {
 
     private String name;
 
+    /**
+     * Extracted text; null once the CV is compressed, see {@link #getContent()}
+     */
     private String content;
 
+    private CompressedText compressedContent;
+
     private String filename;
-} 
\ No newline at end of file
+
+    /**
+     * Computed once when the CV is loaded, null if digesting failed
+     */
+    private ResumeDigest digest;
+
+    /**
+     * Structured fields extracted at load, never null once the CV is in the corpus
+     */
+    private ResumeFields fields;
+
+    /**
+     * Prompt-injection screen verdict, null if screening is disabled
+     */
+    private ScreeningVerdict screening;
+
+    /**
+     * Filename of the canonical CV of this CV's near-duplicate cluster, null if deduplication is disabled
+     */
+    private String clusterId;
+
+    /**
+     * Filenames collapsed into this CV, set on canonical CVs only
+     */
+    private List<String> duplicates;
+
+    /**
+     * The extracted text, decompressed on every call when the CV is stored compressed.
+     */
+    public String getContent() {
+        return content != null || compressedContent == null ? content : compressedContent.text();
+    }
+
+    public int getContentLength() {
+        if (content != null) {
+            return content.length();
+        }
+        return compressedContent != null ? compressedContent.length() : 0;
+    }
+
+    /**
+     * Replaces the text with its compressed form; the CV reads the same afterwards.
+     */
+    public void compressContent() {
+        if (content != null) {
+            compressedContent = CompressedText.of(content);
+            content = null;
+        }
+    }
+
+    public boolean isFlagged() {
+        return screening != null && screening.isSuspicious();
+    }
+
+    public boolean isCanonical() {
+        return clusterId == null || clusterId.equals(filename);
+    }
+}
@@ -0,0 +1,54 @@
+package com.symphony_solutions.cv_analyzer.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact, vacancy-independent view of a CV computed once at ingest and sent to the LLM
+ * in place of the raw extracted text when {@code candidate.digest.use-in-prompts} is on.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeDigest {
+
+    private List<String> skills;
+
+    private List<String> roles;
+
+    /**
+     * Years of experience stated in or derived from the CV, null when unknown
+     */
+    private Integer yearsOfExperience;
+
+    private List<String> education;
+
+    /**
+     * CV text with layout noise and contact details removed and whitespace collapsed
+     */
+    private String text;
+
+    /**
+     * Digest rendered for a prompt: the extracted facts followed by the normalized text.
+     */
+    public String toPromptText() {
+        StringBuilder prompt = new StringBuilder();
+        if (!skills.isEmpty()) {
+            prompt.append("Skills: ").append(String.join(", ", skills)).append('\n');
+        }
+        if (!roles.isEmpty()) {
+            prompt.append("Roles: ").append(String.join("; ", roles)).append('\n');
+        }
+        if (yearsOfExperience != null) {
+            prompt.append("Experience: ").append(yearsOfExperience).append(" years\n");
+        }
+        if (!education.isEmpty()) {
+            prompt.append("Education: ").append(String.join("; ", education)).append('\n');
+        }
+        return prompt.append('\n').append(text).toString();
+    }
+}
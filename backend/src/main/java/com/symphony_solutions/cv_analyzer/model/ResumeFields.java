@@ -0,0 +1,24 @@
+package com.symphony_solutions.cv_analyzer.model;
+
+import com.symphony_solutions.cv_analyzer.dto.type.Seniority;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Structured fields extracted from a CV at ingest, used to filter candidates before retrieval scoring.
+ * Each field is null when the CV does not state it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeFields {
+
+    private Integer yearsOfExperience;
+
+    private Seniority seniority;
+
+    private String location;
+}
@@ -0,0 +1,36 @@
+package com.symphony_solutions.cv_analyzer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A resume together with its retrieval score for a given vacancy.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoredResume {
+
+    private Resume resume;
+
+    /**
+     * Raw score produced by the retrieval backend (e.g. number of matched keywords)
+     */
+    private double score;
+
+    /**
+     * Score normalized to the range 0..1, comparable across vacancies
+     */
+    private double relevance;
+
+    /**
+     * Hybrid retrieval only: the keyword score before it was scaled to the best candidate, and the cosine
+     * similarity, kept so that rankings of several shards can be fused again on a common scale; null otherwise
+     */
+    private Double keywordScore;
+
+    private Double similarity;
+}
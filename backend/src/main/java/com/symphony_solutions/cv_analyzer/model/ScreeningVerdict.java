@@ -0,0 +1,31 @@
+package com.symphony_solutions.cv_analyzer.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of the ingest-time prompt-injection screen of a CV.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScreeningVerdict {
+
+    public static final ScreeningVerdict CLEAN = new ScreeningVerdict(false, List.of(), null);
+
+    private boolean suspicious;
+
+    /**
+     * Matched phrases and heuristics that made the CV suspicious
+     */
+    private List<String> reasons;
+
+    /**
+     * CV content without the offending paragraphs and invisible characters, only set for suspicious CVs
+     */
+    private String sanitizedContent;
+}
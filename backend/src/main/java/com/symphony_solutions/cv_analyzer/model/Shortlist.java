@@ -0,0 +1,29 @@
+package com.symphony_solutions.cv_analyzer.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Candidates sent to the LLM stages, with the retrieval scores the shortlist size was chosen from.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Shortlist {
+
+    private List<ScoredResume> candidates;
+
+    /**
+     * What ended the shortlist: fixed, exhausted (fewer candidates than the max size), max, relative or gap
+     */
+    private String cutoff;
+
+    /**
+     * Retrieval scores of all retrieved candidates, best first
+     */
+    private List<Double> scores;
+}
@@ -1,13 +1,34 @@
 package com.symphony_solutions.cv_analyzer.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.symphony_solutions.cv_analyzer.config.DigestConfig;
+import com.symphony_solutions.cv_analyzer.config.PromptOptionsConfig;
 import com.symphony_solutions.cv_analyzer.config.RatingConfig;
+import com.symphony_solutions.cv_analyzer.dto.type.PromptType;
+import com.symphony_solutions.cv_analyzer.exception.DeadlineExceededException;
+import com.symphony_solutions.cv_analyzer.exception.LlmCircuitOpenException;
+import com.symphony_solutions.cv_analyzer.model.Deadline;
 import com.symphony_solutions.cv_analyzer.model.InternalChatResponse;
+import com.symphony_solutions.cv_analyzer.model.Resume;
+import com.symphony_solutions.cv_analyzer.service.routing.RoutingChatModel;
+import com.symphony_solutions.cv_analyzer.util.RatingParser;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.metadata.Usage;
 import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.chat.prompt.PromptTemplate;
 import org.springframework.ai.chat.prompt.SystemPromptTemplate;
@@ -19,31 +40,196 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class AgentSummaryService {
 
+  private static final String RATING_REPAIR_PROMPT =
+      "The user message is a reply that should have been a candidate rating. Return only the rating it states, "
+          + "as a single integer from %s, with no other text.";
+
   private final ChatClient chatClient;
   private final PromptService promptService;
   private final RatingConfig ratingConfig;
+  private final LlmCircuitBreaker llmCircuitBreaker;
+  private final LlmLatencyEstimator llmLatencyEstimator;
+  private final PromptOptionsConfig promptOptionsConfig;
+  private final ObjectMapper objectMapper;
+  private final DigestConfig digestConfig;
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Generates a fit summary, unless it is not expected to finish before the deadline.
+   *
+   * @throws DeadlineExceededException if the call was not started because too little time remains
+   */
+  public InternalChatResponse generateSummary(String vacancyDescription, Resume resume, Deadline deadline) {
+    PromptService.Prompts prompts = promptService.getPrompts(PromptType.SUMMARY);
+    return generateInternalResponse(
+        PromptType.SUMMARY,
+        prompts.system(),
+        prompts.user(),
+        vacancyDescription,
+        trackedPromptContent(resume),
+        deadline
+    );
+  }
+
+  /**
+   * Streams a fit summary: {@code onToken} receives each piece of text as the model produces it, and the complete
+   * response, with the token usage reported in the final chunk, is returned when the stream ends.
+   *
+   * @throws DeadlineExceededException if the call was not started because too little time remains
+   */
+  public InternalChatResponse streamSummary(String vacancyDescription, Resume resume, Deadline deadline,
+                                            Consumer<String> onToken) {
+    PromptService.Prompts prompts = promptService.getPrompts(PromptType.SUMMARY);
+    Prompt prompt = buildPrompt(
+        prompts.system(),
+        prompts.user(),
+        vacancyDescription,
+        trackedPromptContent(resume),
+        promptOptionsConfig.forType(PromptType.SUMMARY).toStreamingChatOptions()
+    );
+    checkDeadline(PromptType.SUMMARY, deadline);
+    long start = System.nanoTime();
+    InternalChatResponse response = streamThroughCircuitBreaker(prompt, deadline, onToken);
+    llmLatencyEstimator.record(PromptType.SUMMARY, Duration.ofNanos(System.nanoTime() - start));
+    return response;
+  }
 
-  public InternalChatResponse generateSummary(String vacancyDescription, String cvContent) {
+  /**
+   * Generates a rating, unless it is not expected to finish before the deadline.
+   *
+   * @throws DeadlineExceededException if the call was not started because too little time remains
+   */
+  public InternalChatResponse generateRating(String vacancyDescription, Resume resume, Deadline deadline) {
+    PromptService.Prompts prompts = promptService.getPrompts(PromptType.RATING);
     return generateInternalResponse(
-        promptService.getSummarySystemPrompt(),
-        promptService.getSummaryUserPrompt(),
+        PromptType.RATING,
+        prompts.system(),
+        prompts.user(),
         vacancyDescription,
-        cvContent
+        trackedPromptContent(resume),
+        deadline
     );
   }
 
-  public InternalChatResponse generateRating(String vacancyDescription, String cvContent) {
+  /**
+   * Rates several CVs against the vacancy in one call; the vacancy and instructions are sent once.
+   * The response content is a JSON array of {@code {filename, rating}}, see {@link #extractBatchRatingsFromContent}.
+   *
+   * @throws DeadlineExceededException if the call was not started because too little time remains
+   */
+  public InternalChatResponse generateBatchRating(String vacancyDescription, List<Resume> resumes, Deadline deadline) {
+    PromptService.Prompts prompts = promptService.getPrompts(PromptType.RATING_BATCH);
     return generateInternalResponse(
-        promptService.getRatingSystemPrompt(),
-        promptService.getRatingUserPrompt(),
+        PromptType.RATING_BATCH,
+        prompts.system(),
+        prompts.user(),
         vacancyDescription,
-        cvContent
+        formatBatch(resumes),
+        deadline
     );
   }
 
-  private InternalChatResponse generateInternalResponse(String systemText, String userText,
-                                                        String vacancyDescription, String cvContent) {
+  /**
+   * Condenses a job description into a compact requirements list, reused in place of the full description
+   * in every candidate prompt of a match.
+   *
+   * @throws DeadlineExceededException if the call was not started because too little time remains
+   */
+  public InternalChatResponse generateVacancyRequirements(String vacancyDescription, Deadline deadline) {
+    PromptService.Prompts prompts = promptService.getPrompts(PromptType.VACANCY);
+    return generateInternalResponse(
+        PromptType.VACANCY,
+        prompts.system(),
+        prompts.user(),
+        vacancyDescription,
+        "",
+        deadline
+    );
+  }
+
+  /**
+   * Sends a summary or rating prompt built from the given templates instead of the managed ones, through the given
+   * client, which may be a stub model. For the prompt benchmark: the call bypasses the circuit breaker and the
+   * latency estimate, and its cost is not tracked.
+   */
+  public InternalChatResponse generateWithTemplates(ChatClient client, PromptType type, String systemText,
+                                                    String userText, String vacancyDescription, Resume resume) {
+    Prompt prompt = buildPrompt(systemText, userText, vacancyDescription, promptContent(resume),
+        promptOptionsConfig.forType(type).toChatOptions());
+    return toInternalResponse(client.prompt(prompt).call().chatResponse());
+  }
+
+  /**
+   * Input characters a CV adds to a batch rating prompt, used to pack batches within the token budget.
+   */
+  public int batchEntryLength(Resume resume) {
+    return batchEntry(resume.getFilename(), promptContent(resume)).length();
+  }
+
+  private String formatBatch(List<Resume> resumes) {
+    StringBuilder cvs = new StringBuilder();
+    resumes.forEach(resume -> cvs.append(batchEntry(resume.getFilename(), trackedPromptContent(resume))));
+    return cvs.toString();
+  }
 
+  private static String batchEntry(String filename, String content) {
+    return "=== CV filename: %s ===%n%s%n%n".formatted(filename, content);
+  }
+
+  /**
+   * The CV text sent to the LLM: its digest when enabled, available and shorter, otherwise the full extracted
+   * content (a clean plain-text CV can be shorter than its digest). CVs flagged by the injection screen are
+   * sent without the offending lines.
+   */
+  private String promptContent(Resume resume) {
+    if (resume.isFlagged()) {
+      return resume.getScreening().getSanitizedContent();
+    }
+    if (!digestConfig.isUseInPrompts() || resume.getDigest() == null) {
+      return resume.getContent();
+    }
+    String digest = resume.getDigest().toPromptText();
+    return digest.length() < resume.getContentLength() ? digest : resume.getContent();
+  }
+
+  /**
+   * {@link #promptContent} of a CV that is about to be sent; characters saved by the digest are counted.
+   */
+  private String trackedPromptContent(Resume resume) {
+    String content = promptContent(resume);
+    int saved = resume.getContentLength() - content.length();
+    if (!resume.isFlagged() && saved > 0) {
+      meterRegistry.counter("candidate.digest.saved.chars").increment(saved);
+    }
+    return content;
+  }
+
+  /**
+   * Re-asks for a rating whose reply could not be parsed. Only the unparseable reply is sent, not the CV,
+   * so the repair costs a few dozen tokens.
+   *
+   * @throws DeadlineExceededException if the call was not started because too little time remains
+   */
+  public InternalChatResponse repairRating(String reply, Deadline deadline) {
+    String instruction = RATING_REPAIR_PROMPT.formatted(ratingConfig.getRangeDescription());
+    Prompt prompt = Prompt.builder()
+        .messages(new SystemMessage(instruction), new UserMessage(reply == null ? "" : reply))
+        .chatOptions(promptOptionsConfig.forType(PromptType.RATING).toChatOptions())
+        .build();
+    return callWithinDeadline(PromptType.RATING, prompt, deadline);
+  }
+
+  private InternalChatResponse generateInternalResponse(PromptType type, String systemText, String userText,
+                                                        String vacancyDescription, String cvContent,
+                                                        Deadline deadline) {
+    // Per-type options (e.g. a small model with a tiny output cap for ratings); null keeps the model defaults
+    ChatOptions options = promptOptionsConfig.forType(type).toChatOptions();
+    return callWithinDeadline(type, buildPrompt(systemText, userText, vacancyDescription, cvContent, options),
+        deadline);
+  }
+
+  private Prompt buildPrompt(String systemText, String userText, String vacancyDescription, String cvContent,
+                             ChatOptions options) {
     SystemPromptTemplate systemPromptTemplate = new SystemPromptTemplate(systemText);
     PromptTemplate userPromptTemplate = PromptTemplate.builder()
         .template(userText)
@@ -53,39 +239,77 @@ public class AgentSummaryService {
             "vacancy_description", vacancyDescription, "cv_content", cvContent
         )
     );
-    Prompt prompt = Prompt.builder()
+    return Prompt.builder()
         .messages(systemPromptTemplate.createMessage(), userMessage)
+        .chatOptions(options)
         .build();
-    return getInternalChatResponse(prompt);
   }
 
-  public int extractRatingFromContent(String content) {
-    return Optional.ofNullable(content)
-        .map(rating -> rating.replaceAll("\\D", "").trim())
-        .flatMap(this::parseIntSafe)
-        .map(rating -> Math.max(ratingConfig.getMin(), Math.min(rating, ratingConfig.getMax())))
-        .orElse(ratingConfig.getMin());
+  private void checkDeadline(PromptType type, Deadline deadline) {
+    if (!deadline.hasTimeFor(llmLatencyEstimator.estimate(type))) {
+      llmLatencyEstimator.recordRefused(type);
+      throw new DeadlineExceededException("Not enough time left for %s call (%s, expected %d ms)"
+          .formatted(type, deadline, llmLatencyEstimator.estimate(type).toMillis()));
+    }
   }
 
-  private InternalChatResponse getInternalChatResponse(Prompt prompt) {
-    try {
-      ChatResponse response = chatClient.prompt(prompt).call().chatResponse();
+  private InternalChatResponse callWithinDeadline(PromptType type, Prompt prompt, Deadline deadline) {
+    checkDeadline(type, deadline);
+    long start = System.nanoTime();
+    InternalChatResponse response = getInternalChatResponse(prompt);
+    llmLatencyEstimator.record(type, Duration.ofNanos(System.nanoTime() - start));
+    return response;
+  }
 
-      // Extract content and token usage from the ChatResponse
-      String content = response.getResult().getOutput().getText();
-      int inputTokens = 0;
-      int outputTokens = 0;
+  /**
+   * Rating from the first integer of the reply, clamped to the configured range.
+   *
+   * @return the rating, or {@link RatingParser#NO_RATING} if the reply contains no number
+   */
+  public int extractRatingFromContent(String content) {
+    int rating = RatingParser.parseFirstInteger(content);
+    if (rating == RatingParser.NO_RATING) {
+      return RatingParser.NO_RATING;
+    }
+    return Math.max(ratingConfig.getMin(), Math.min(rating, ratingConfig.getMax()));
+  }
 
-      if (response.getMetadata() != null && response.getMetadata().getUsage() != null) {
-        inputTokens = response.getMetadata().getUsage().getPromptTokens();
-        outputTokens = response.getMetadata().getUsage().getCompletionTokens();
+  /**
+   * Parses a batch rating reply into ratings by filename. Tolerates text or code fences around the array;
+   * entries without a filename or a numeric rating are dropped so the caller can rate them one by one.
+   */
+  public Map<String, Integer> extractBatchRatingsFromContent(String content) {
+    Map<String, Integer> ratings = new LinkedHashMap<>();
+    if (content == null) {
+      return ratings;
+    }
+    int start = content.indexOf('[');
+    int end = content.lastIndexOf(']');
+    if (start < 0 || end < start) {
+      log.warn("Batch rating reply contains no JSON array");
+      return ratings;
+    }
+    try {
+      for (JsonNode item : objectMapper.readTree(content.substring(start, end + 1))) {
+        JsonNode filename = item.get("filename");
+        JsonNode rating = item.get("rating");
+        if (filename == null || !filename.isTextual() || rating == null || !rating.canConvertToInt()) {
+          continue;
+        }
+        ratings.put(filename.asText(), Math.max(ratingConfig.getMin(), Math.min(rating.asInt(), ratingConfig.getMax())));
       }
+    } catch (Exception e) {
+      log.warn("Failed to parse batch rating reply: {}", e.getMessage());
+    }
+    return ratings;
+  }
 
-      return InternalChatResponse.builder()
-          .content(content)
-          .inputTokens(inputTokens)
-          .outputTokens(outputTokens)
-          .build();
+  private InternalChatResponse getInternalChatResponse(Prompt prompt) {
+    try {
+      return toInternalResponse(callThroughCircuitBreaker(prompt));
+    } catch (LlmCircuitOpenException e) {
+      log.warn("Skipping AI call: {}", e.getMessage());
+      throw e;
     } catch (NonTransientAiException e) {
       log.error("AI service error in getInternalChatResponse: {}", e.getMessage(), e);
       // Re-throw the exception so it can be handled by the controller
@@ -97,14 +321,110 @@ public class AgentSummaryService {
     }
   }
 
-  private Optional<Integer> parseIntSafe(String value) {
-    if (value == null || value.isBlank()) {
-      return Optional.empty();
+  private static InternalChatResponse toInternalResponse(ChatResponse response) {
+    // Extract content and token usage from the ChatResponse
+    String content = response.getResult().getOutput().getText();
+    int inputTokens = 0;
+    int outputTokens = 0;
+    String endpoint = null;
+    String model = null;
+
+    if (response.getMetadata() != null) {
+      if (response.getMetadata().getUsage() != null) {
+        inputTokens = response.getMetadata().getUsage().getPromptTokens();
+        outputTokens = response.getMetadata().getUsage().getCompletionTokens();
+      }
+      endpoint = response.getMetadata().get(RoutingChatModel.ENDPOINT_METADATA_KEY);
+      model = response.getMetadata().getModel();
+    }
+
+    return InternalChatResponse.builder()
+        .content(content)
+        .inputTokens(inputTokens)
+        .outputTokens(outputTokens)
+        .endpoint(endpoint)
+        .model(model)
+        .build();
+  }
+
+  /**
+   * Consumes the stream on the calling thread until it ends or the deadline passes. Usage and model come from the
+   * last chunk that carries them, normally the final one. A stream cut off by the deadline is not held against the
+   * provider by the circuit breaker.
+   *
+   * @throws DeadlineExceededException if the stream did not finish before the deadline
+   */
+  private InternalChatResponse streamThroughCircuitBreaker(Prompt prompt, Deadline deadline, Consumer<String> onToken) {
+    if (!llmCircuitBreaker.tryAcquirePermission()) {
+      log.warn("Skipping AI call: circuit breaker open");
+      throw new LlmCircuitOpenException("AI service is temporarily unavailable (circuit breaker open)");
+    }
+    StringBuilder content = new StringBuilder();
+    AtomicReference<Usage> usage = new AtomicReference<>();
+    AtomicReference<String> endpoint = new AtomicReference<>();
+    AtomicReference<String> model = new AtomicReference<>();
+    try {
+      chatClient.prompt(prompt).stream().chatResponse()
+          .doOnNext(chunk -> {
+            if (chunk.getResult() != null && chunk.getResult().getOutput().getText() != null) {
+              String text = chunk.getResult().getOutput().getText();
+              content.append(text);
+              onToken.accept(text);
+            }
+            if (chunk.getMetadata() != null) {
+              Usage chunkUsage = chunk.getMetadata().getUsage();
+              if (chunkUsage != null && chunkUsage.getTotalTokens() != null && chunkUsage.getTotalTokens() > 0) {
+                usage.set(chunkUsage);
+              }
+              if (chunk.getMetadata().getModel() != null && !chunk.getMetadata().getModel().isEmpty()) {
+                model.set(chunk.getMetadata().getModel());
+              }
+              String chunkEndpoint = chunk.getMetadata().get(RoutingChatModel.ENDPOINT_METADATA_KEY);
+              if (chunkEndpoint != null) {
+                endpoint.set(chunkEndpoint);
+              }
+            }
+          })
+          .blockLast(deadline.remaining());
+      llmCircuitBreaker.onSuccess();
+    } catch (RuntimeException e) {
+      // blockLast reports its timeout as an IllegalStateException caused by a TimeoutException
+      if (e.getCause() instanceof TimeoutException) {
+        llmCircuitBreaker.onIgnored();
+        log.warn("Streamed summary did not finish before the deadline, {} chars received", content.length());
+        throw new DeadlineExceededException("Summary stream did not finish before the deadline");
+      }
+      llmCircuitBreaker.onFailure();
+      if (e instanceof NonTransientAiException) {
+        log.error("AI service error while streaming: {}", e.getMessage(), e);
+        throw e;
+      }
+      log.error("Unexpected error while streaming: {}", e.getMessage(), e);
+      throw new NonTransientAiException("AI service error: " + e.getMessage(), e);
+    }
+    if (usage.get() == null) {
+      log.warn("Streamed response reported no token usage, cost is not tracked for it");
+    }
+    return InternalChatResponse.builder()
+        .content(content.toString())
+        .inputTokens(usage.get() != null ? usage.get().getPromptTokens() : 0)
+        .outputTokens(usage.get() != null ? usage.get().getCompletionTokens() : 0)
+        .endpoint(endpoint.get())
+        .model(model.get())
+        .build();
+  }
+
+  private ChatResponse callThroughCircuitBreaker(Prompt prompt) {
+    if (!llmCircuitBreaker.tryAcquirePermission()) {
+      throw new LlmCircuitOpenException("AI service is temporarily unavailable (circuit breaker open)");
     }
     try {
-      return Optional.of(Integer.parseInt(value));
-    } catch (NumberFormatException e) {
-      return Optional.empty();
+      ChatResponse response = chatClient.prompt(prompt).call().chatResponse();
+      llmCircuitBreaker.onSuccess();
+      return response;
+    } catch (RuntimeException e) {
+      llmCircuitBreaker.onFailure();
+      throw e;
     }
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,130 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import com.symphony_solutions.cv_analyzer.dto.type.BulkScoringState;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * State of the bulk scoring job, updated by its producer and worker threads and read by the status endpoint.
+ * At most one job runs at a time.
+ */
+final class BulkScoringJob {
+
+  private final AtomicBoolean running = new AtomicBoolean();
+  private volatile BulkScoringState state = BulkScoringState.IDLE;
+  private volatile String jobId;
+  private volatile Path output;
+  private volatile int vacancies;
+  private final AtomicInteger vacanciesStarted = new AtomicInteger();
+  private final AtomicInteger candidates = new AtomicInteger();
+  private final AtomicInteger scored = new AtomicInteger();
+  private final AtomicInteger resumed = new AtomicInteger();
+  private final AtomicInteger failed = new AtomicInteger();
+  private volatile Instant startedAt;
+  private volatile Instant finishedAt;
+  private volatile String error;
+
+  /**
+   * Claims the job; false if a job is already running.
+   */
+  boolean start(String jobId, Path output, int vacancies) {
+    if (!running.compareAndSet(false, true)) {
+      return false;
+    }
+    this.jobId = jobId;
+    this.output = output;
+    this.vacancies = vacancies;
+    vacanciesStarted.set(0);
+    candidates.set(0);
+    scored.set(0);
+    resumed.set(0);
+    failed.set(0);
+    startedAt = Instant.now();
+    finishedAt = null;
+    error = null;
+    state = BulkScoringState.RUNNING;
+    return true;
+  }
+
+  void vacancyStarted(int candidates) {
+    vacanciesStarted.incrementAndGet();
+    this.candidates.addAndGet(candidates);
+  }
+
+  void scored() {
+    scored.incrementAndGet();
+  }
+
+  void resumed() {
+    resumed.incrementAndGet();
+  }
+
+  void failed(int pairs) {
+    failed.addAndGet(pairs);
+  }
+
+  void succeeded() {
+    finish(BulkScoringState.SUCCEEDED);
+  }
+
+  void failed(Exception e) {
+    error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    finish(BulkScoringState.FAILED);
+  }
+
+  private void finish(BulkScoringState result) {
+    finishedAt = Instant.now();
+    state = result;
+    running.set(false);
+  }
+
+  BulkScoringState state() {
+    return state;
+  }
+
+  String jobId() {
+    return jobId;
+  }
+
+  Path output() {
+    return output;
+  }
+
+  int vacancies() {
+    return vacancies;
+  }
+
+  int vacanciesStarted() {
+    return vacanciesStarted.get();
+  }
+
+  int candidates() {
+    return candidates.get();
+  }
+
+  int scoredCount() {
+    return scored.get();
+  }
+
+  int resumedCount() {
+    return resumed.get();
+  }
+
+  int failedCount() {
+    return failed.get();
+  }
+
+  Instant startedAt() {
+    return startedAt;
+  }
+
+  Instant finishedAt() {
+    return finishedAt;
+  }
+
+  String error() {
+    return error;
+  }
+}
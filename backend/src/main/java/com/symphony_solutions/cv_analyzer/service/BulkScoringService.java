@@ -0,0 +1,361 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.symphony_solutions.cv_analyzer.config.BulkScoringConfig;
+import com.symphony_solutions.cv_analyzer.config.RatingConfig;
+import com.symphony_solutions.cv_analyzer.config.ScreeningConfig;
+import com.symphony_solutions.cv_analyzer.dto.request.BulkScoringRequestDto;
+import com.symphony_solutions.cv_analyzer.dto.response.BulkScoringResultDto;
+import com.symphony_solutions.cv_analyzer.dto.response.BulkScoringStatusResponseDto;
+import com.symphony_solutions.cv_analyzer.model.CandidateFilter;
+import com.symphony_solutions.cv_analyzer.model.CandidateQuery;
+import com.symphony_solutions.cv_analyzer.model.Deadline;
+import com.symphony_solutions.cv_analyzer.model.Resume;
+import com.symphony_solutions.cv_analyzer.model.ScoredResume;
+import com.symphony_solutions.cv_analyzer.util.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Scores the corpus against several vacancies outside the request path. A producer thread retrieves the
+ * candidates of one vacancy after another and hands rating groups (see {@link CandidateRatingService#partition})
+ * to a worker pool, so retrieval of the next vacancy overlaps the LLM calls of the previous one; in-flight groups
+ * are bounded by the pool size and call starts by a {@link RateLimiter}. Each scored pair is appended to the job's
+ * NDJSON file as soon as it is ready, and that file is the checkpoint: a resubmitted job skips the pairs it
+ * already holds for an unchanged vacancy text, so a crash costs at most the calls that were in flight.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkScoringService {
+
+  private final ResumeService resumeService;
+  private final CandidateRatingService candidateRatingService;
+  private final CandidateSummaryService candidateSummaryService;
+  private final VacancyAnalysisService vacancyAnalysisService;
+  private final LlmCircuitBreaker llmCircuitBreaker;
+  private final BulkScoringConfig bulkScoringConfig;
+  private final RatingConfig ratingConfig;
+  private final ScreeningConfig screeningConfig;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+
+  private final BulkScoringJob job = new BulkScoringJob();
+
+  /**
+   * Starts the job in the background unless one is already running.
+   *
+   * @return the status of the started job, or of the running one
+   * @throws IllegalArgumentException if two vacancies share an id
+   */
+  public BulkScoringStatusResponseDto start(BulkScoringRequestDto request) {
+    Set<String> ids = new HashSet<>();
+    for (BulkScoringRequestDto.Vacancy vacancy : request.getVacancies()) {
+      if (!ids.add(vacancy.getId())) {
+        throw new IllegalArgumentException("Duplicate vacancy id: " + vacancy.getId());
+      }
+    }
+    Path output = bulkScoringConfig.getOutputDir().resolve(request.getJobId() + ".ndjson");
+    if (job.start(request.getJobId(), output, request.getVacancies().size())) {
+      Thread runner = new Thread(() -> run(request, output), "bulk-scoring");
+      runner.setDaemon(true);
+      runner.start();
+    }
+    return getStatus();
+  }
+
+  public BulkScoringStatusResponseDto getStatus() {
+    return BulkScoringStatusResponseDto.builder()
+        .jobId(job.jobId())
+        .state(job.state())
+        .output(job.output() != null ? job.output().toAbsolutePath().toString() : null)
+        .vacanciesStarted(job.vacanciesStarted())
+        .vacancies(job.vacancies())
+        .candidates(job.candidates())
+        .scored(job.scoredCount())
+        .resumed(job.resumedCount())
+        .failed(job.failedCount())
+        .startedAt(job.startedAt())
+        .finishedAt(job.finishedAt())
+        .error(job.error())
+        .build();
+  }
+
+  private void run(BulkScoringRequestDto request, Path output) {
+    long start = System.nanoTime();
+    try {
+      Files.createDirectories(output.toAbsolutePath().getParent());
+      Set<String> done = readCheckpoint(output, request);
+      log.info("Bulk scoring job {} started for {} vacancies, {} pairs already in {}",
+          request.getJobId(), request.getVacancies().size(), done.size(), output);
+      try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8,
+          StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+        score(request, done, writer);
+      }
+      job.succeeded();
+      log.info("Bulk scoring job {} finished in {} s: {} scored, {} resumed, {} failed", request.getJobId(),
+          Duration.ofNanos(System.nanoTime() - start).toSeconds(), job.scoredCount(), job.resumedCount(),
+          job.failedCount());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      job.failed(e);
+    } catch (Exception e) {
+      log.error("Bulk scoring job {} failed", request.getJobId(), e);
+      job.failed(e);
+    }
+  }
+
+  /**
+   * Pairs already written by an earlier run of the job. A last line cut short by a crash is truncated away, so
+   * new lines are not appended to it. Results of a vacancy whose text has changed since are removed from the
+   * file, and its pairs are scored again.
+   */
+  private Set<String> readCheckpoint(Path output, BulkScoringRequestDto request) throws IOException {
+    Set<String> done = new HashSet<>();
+    if (!Files.exists(output)) {
+      return done;
+    }
+    byte[] bytes = Files.readAllBytes(output);
+    int end = bytes.length;
+    while (end > 0 && bytes[end - 1] != '\n') {
+      end--;
+    }
+    if (end < bytes.length) {
+      log.warn("Dropping the incomplete last line of {}", output);
+      try (FileChannel channel = FileChannel.open(output, StandardOpenOption.WRITE)) {
+        channel.truncate(end);
+      }
+    }
+    Map<String, String> hashes = new HashMap<>();
+    request.getVacancies().forEach(vacancy -> hashes.put(vacancy.getId(), vacancyHash(vacancy)));
+    List<String> kept = new ArrayList<>();
+    int stale = 0;
+    for (String line : new String(bytes, 0, end, StandardCharsets.UTF_8).split("\n")) {
+      if (line.isBlank()) {
+        continue;
+      }
+      BulkScoringResultDto result = objectMapper.readValue(line, BulkScoringResultDto.class);
+      String hash = hashes.get(result.getVacancyId());
+      if (hash != null && !hash.equals(result.getVacancyHash())) {
+        stale++;
+        continue;
+      }
+      kept.add(line);
+      done.add(key(result.getVacancyId(), result.getFilename()));
+    }
+    if (stale > 0) {
+      log.warn("Discarding {} results of {} whose vacancy text has changed", stale, output);
+      rewrite(output, kept);
+    }
+    return done;
+  }
+
+  /**
+   * Replaces the file with the given lines through a sibling temporary file, so a crash leaves either version.
+   */
+  private static void rewrite(Path output, List<String> lines) throws IOException {
+    Path temp = output.resolveSibling(output.getFileName() + "." + UUID.randomUUID() + ".tmp");
+    try {
+      Files.write(temp, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE_NEW);
+      Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  private void score(BulkScoringRequestDto request, Set<String> done, BufferedWriter writer)
+      throws InterruptedException {
+    int concurrency = bulkScoringConfig.getConcurrency();
+    RateLimiter rateLimiter = new RateLimiter(bulkScoringConfig.getRequestsPerSecond());
+    Semaphore inFlight = new Semaphore(concurrency);
+    ThreadPoolTaskExecutor workers = new ThreadPoolTaskExecutor();
+    workers.setCorePoolSize(concurrency);
+    workers.setMaxPoolSize(concurrency);
+    workers.setThreadNamePrefix("bulk-");
+    workers.initialize();
+    CandidateFilter filter = CandidateMatchService.toFilter(request.getFilters());
+    int limit = candidateLimit(request);
+    try {
+      for (BulkScoringRequestDto.Vacancy vacancy : request.getVacancies()) {
+        List<ScoredResume> candidates = resumeService.findTopScoredCandidates(CandidateQuery.builder()
+            .vacancyDescription(vacancy.getDescription())
+            .limit(limit)
+            .filter(filter)
+            .build());
+        job.vacancyStarted(candidates.size());
+        List<ScoredResume> pending = new ArrayList<>();
+        for (ScoredResume scored : candidates) {
+          Resume resume = scored.getResume();
+          if (done.contains(key(vacancy.getId(), resume.getFilename()))) {
+            record("resumed");
+            job.resumed();
+          } else if (resume.isFlagged() && screeningConfig.getAction() == ScreeningConfig.Action.SKIP) {
+            write(writer, result(vacancy, scored, ratingConfig.getMin(), null));
+            record("scored");
+            job.scored();
+          } else {
+            pending.add(scored);
+          }
+        }
+        if (pending.isEmpty()) {
+          continue;
+        }
+        rateLimiter.acquire();
+        String vacancyForPrompts = vacancyAnalysisService.vacancyForPrompts(vacancy.getDescription(), callDeadline());
+        for (List<ScoredResume> group : candidateRatingService.partition(vacancyForPrompts, pending)) {
+          awaitCircuitBreaker();
+          inFlight.acquire();
+          workers.execute(() -> {
+            try {
+              scoreGroup(vacancy, vacancyForPrompts, group, rateLimiter, writer);
+            } finally {
+              inFlight.release();
+            }
+          });
+        }
+      }
+      // All permits back means every group has been written or counted as failed
+      inFlight.acquire(concurrency);
+    } finally {
+      workers.shutdown();
+    }
+  }
+
+  private int candidateLimit(BulkScoringRequestDto request) {
+    if (request.getLimit() != null) {
+      return request.getLimit();
+    }
+    if (bulkScoringConfig.getMaxCandidatesPerVacancy() > 0) {
+      return bulkScoringConfig.getMaxCandidatesPerVacancy();
+    }
+    return Math.max(1, resumeService.getCorpusStats().getDocuments());
+  }
+
+  /**
+   * Holds back new groups while the LLM circuit breaker is open instead of failing them all.
+   */
+  private void awaitCircuitBreaker() throws InterruptedException {
+    while (!llmCircuitBreaker.isCallPermitted()) {
+      Duration wait = llmCircuitBreaker.getRemainingOpenDuration();
+      log.warn("LLM circuit breaker is open, bulk scoring pauses for {} ms", wait.toMillis());
+      TimeUnit.MILLISECONDS.sleep(Math.max(100, wait.toMillis()));
+    }
+  }
+
+  private void scoreGroup(BulkScoringRequestDto.Vacancy vacancy, String vacancyForPrompts, List<ScoredResume> group,
+                          RateLimiter rateLimiter, BufferedWriter writer) {
+    int written = 0;
+    try {
+      Map<String, Integer> ratings = candidateRatingService.rate(vacancyForPrompts, group, callDeadline(),
+          throttle(rateLimiter));
+      for (ScoredResume scored : group) {
+        Integer rating = ratings.get(scored.getResume().getFilename());
+        if (rating == null) {
+          continue;
+        }
+        String summary = null;
+        if (bulkScoringConfig.isSummaries()) {
+          rateLimiter.acquire();
+          summary = candidateSummaryService.prefetch(vacancy.getDescription(), vacancyForPrompts,
+              scored.getResume(), callDeadline());
+        }
+        write(writer, result(vacancy, scored, rating, summary));
+        record("scored");
+        job.scored();
+        written++;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      log.warn("Failed to score {} CVs for vacancy {}, they are retried when the job is resubmitted",
+          group.size() - written, vacancy.getId(), e);
+    }
+    if (written < group.size()) {
+      meterRegistry.counter("candidate.bulk.pairs", "result", "failed").increment(group.size() - written);
+      job.failed(group.size() - written);
+    }
+  }
+
+  /**
+   * Waits for the rate limiter before each call of a rating, which may make fallback and repair calls.
+   */
+  private static Runnable throttle(RateLimiter rateLimiter) {
+    return () -> {
+      try {
+        rateLimiter.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for the rate limiter", e);
+      }
+    };
+  }
+
+  private static BulkScoringResultDto result(BulkScoringRequestDto.Vacancy vacancy, ScoredResume scored, int rating,
+                                             String summary) {
+    return BulkScoringResultDto.builder()
+        .vacancyId(vacancy.getId())
+        .vacancyHash(vacancyHash(vacancy))
+        .filename(scored.getResume().getFilename())
+        .name(scored.getResume().getName())
+        .rating(rating)
+        .score(scored.getScore())
+        .relevance(scored.getRelevance())
+        .flagged(scored.getResume().isFlagged())
+        .summary(summary)
+        .build();
+  }
+
+  /**
+   * Appends one line and flushes it, so a crash loses only the calls in flight.
+   */
+  private void write(BufferedWriter writer, BulkScoringResultDto result) {
+    try {
+      String line = objectMapper.writeValueAsString(result);
+      synchronized (writer) {
+        writer.write(line);
+        writer.write('\n');
+        writer.flush();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private Deadline callDeadline() {
+    return Deadline.after(bulkScoringConfig.getCallTimeout());
+  }
+
+  private void record(String result) {
+    meterRegistry.counter("candidate.bulk.pairs", "result", result).increment();
+  }
+
+  private static String vacancyHash(BulkScoringRequestDto.Vacancy vacancy) {
+    return VacancyAnalysisService.sha256(vacancy.getDescription());
+  }
+
+  private static String key(String vacancyId, String filename) {
+    return vacancyId + '\n' + filename;
+  }
+}
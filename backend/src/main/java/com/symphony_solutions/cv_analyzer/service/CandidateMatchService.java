@@ -0,0 +1,496 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import com.symphony_solutions.cv_analyzer.config.MatchConfig;
+import com.symphony_solutions.cv_analyzer.config.RatingConfig;
+import com.symphony_solutions.cv_analyzer.config.ScreeningConfig;
+import com.symphony_solutions.cv_analyzer.dto.request.BatchMatchRequestDto;
+import com.symphony_solutions.cv_analyzer.dto.request.CandidateFilterDto;
+import com.symphony_solutions.cv_analyzer.dto.request.MatchRequestDto;
+import com.symphony_solutions.cv_analyzer.dto.response.BatchMatchResponseDto;
+import com.symphony_solutions.cv_analyzer.dto.response.CandidateSummaryResponseDto;
+import com.symphony_solutions.cv_analyzer.dto.response.MatchResponseDto;
+import com.symphony_solutions.cv_analyzer.dto.response.ShortlistResponseDto;
+import com.symphony_solutions.cv_analyzer.dto.type.PromptType;
+import com.symphony_solutions.cv_analyzer.exception.DeadlineExceededException;
+import com.symphony_solutions.cv_analyzer.exception.LlmCircuitOpenException;
+import com.symphony_solutions.cv_analyzer.model.CandidateFilter;
+import com.symphony_solutions.cv_analyzer.model.CandidateQuery;
+import com.symphony_solutions.cv_analyzer.model.Deadline;
+import com.symphony_solutions.cv_analyzer.model.Resume;
+import com.symphony_solutions.cv_analyzer.model.ScoredResume;
+import com.symphony_solutions.cv_analyzer.model.Shortlist;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs the match pipeline: keyword retrieval followed by LLM summary and rating of the shortlist.
+ * In cascade mode a wider shortlist is rated concurrently and only the best-rated candidates are summarized.
+ * With lazy summaries only the top candidates are summarized with the match, see {@link #prefetchSummaries}.
+ * A batch of vacancies shares one retrieval pass and identical LLM calls, see {@link #matchBatch}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CandidateMatchService {
+
+  private static final String DEGRADED_SUMMARY =
+      "AI analysis is temporarily unavailable. The rating is based on keyword overlap with the vacancy only.";
+  private static final String FLAGGED_SUMMARY =
+      "This CV was flagged as a possible prompt injection (%s) and was not sent for AI analysis.";
+  private static final String SUMMARY_UNAVAILABLE =
+      "AI summary is temporarily unavailable. The rating was produced by the AI before the outage.";
+
+  private final ResumeService resumeService;
+  private final AgentSummaryService agentSummaryService;
+  private final CandidateSummaryService candidateSummaryService;
+  private final CandidateRatingService candidateRatingService;
+  private final VacancyAnalysisService vacancyAnalysisService;
+  private final ShortlistSelector shortlistSelector;
+  private final LlmCircuitBreaker llmCircuitBreaker;
+  private final LlmLatencyEstimator llmLatencyEstimator;
+  private final RatingConfig ratingConfig;
+  private final MatchConfig matchConfig;
+  private final ScreeningConfig screeningConfig;
+  private final MeterRegistry meterRegistry;
+  private final ThreadPoolTaskExecutor llmExecutor;
+
+  /**
+   * Matches candidates within the request deadline. Candidates whose LLM calls cannot finish in the
+   * remaining time are not started and reported as skipped. While the LLM circuit breaker is open,
+   * candidates are returned immediately with keyword-based ratings and flagged as degraded.
+   * With the cascade enabled, see {@link #evaluateCascade}. The shortlist size is fixed unless the adaptive
+   * shortlist is enabled, see {@link ShortlistSelector}.
+   */
+  public MatchResponseDto match(MatchRequestDto request) {
+    Deadline deadline = Deadline.after(request.getDeadlineMs() != null
+        ? Duration.ofMillis(request.getDeadlineMs())
+        : matchConfig.getDefaultDeadline());
+    CandidateQuery query = query(request.getVacancyDescription(), request.getFilters(), deadline);
+    List<ScoredResume> retrieved = resumeService.findTopScoredCandidates(query);
+    return match(request.getVacancyDescription(), retrieved, query.getMissingShards(), deadline,
+        SharedLlmCalls.none());
+  }
+
+  /**
+   * Matches several vacancies within one deadline (by default the default match deadline per vacancy, at most
+   * {@link MatchConfig#getMaxBatchDeadline()}). All vacancies are retrieved in one pass over the corpus, then
+   * evaluated one after another as in {@link #match}; an LLM call whose prompt another vacancy of the batch already
+   * sent (the same CV with the same vacancy text or condensed requirements) is not repeated.
+   */
+  public BatchMatchResponseDto matchBatch(BatchMatchRequestDto request) {
+    List<BatchMatchRequestDto.Vacancy> vacancies = request.getVacancies();
+    Deadline deadline = Deadline.after(request.getDeadlineMs() != null
+        ? Duration.ofMillis(request.getDeadlineMs())
+        : batchDeadline(vacancies.size()));
+    List<CandidateQuery> queries = vacancies.stream()
+        .map(vacancy -> query(vacancy.getVacancyDescription(), vacancy.getFilters(), deadline))
+        .toList();
+    List<List<ScoredResume>> retrieved = resumeService.findTopScoredCandidates(queries);
+
+    SharedLlmCalls shared = SharedLlmCalls.forBatch();
+    List<BatchMatchResponseDto.Result> results = new ArrayList<>(vacancies.size());
+    for (int i = 0; i < vacancies.size(); i++) {
+      BatchMatchRequestDto.Vacancy vacancy = vacancies.get(i);
+      results.add(BatchMatchResponseDto.Result.builder()
+          .id(vacancy.getId())
+          .match(match(vacancy.getVacancyDescription(), retrieved.get(i), queries.get(i).getMissingShards(),
+              deadline, shared))
+          .build());
+    }
+    if (shared.sharedCount() > 0) {
+      log.info("Batch of {} vacancies shared {} LLM calls", vacancies.size(), shared.sharedCount());
+      meterRegistry.counter("candidate.match.batch.shared").increment(shared.sharedCount());
+    }
+    return BatchMatchResponseDto.builder()
+        .results(results)
+        .sharedLlmCalls(shared.sharedCount())
+        .build();
+  }
+
+  private Duration batchDeadline(int vacancies) {
+    Duration perVacancy = matchConfig.getDefaultDeadline().multipliedBy(vacancies);
+    return perVacancy.compareTo(matchConfig.getMaxBatchDeadline()) > 0 ? matchConfig.getMaxBatchDeadline() : perVacancy;
+  }
+
+  private CandidateQuery query(String vacancyDescription, CandidateFilterDto filters, Deadline deadline) {
+    return CandidateQuery.builder()
+        .vacancyDescription(vacancyDescription)
+        .limit(shortlistSelector.retrievalLimit())
+        .deadline(deadline)
+        .filter(toFilter(filters))
+        .build();
+  }
+
+  private MatchResponseDto match(String vacancyDescription, List<ScoredResume> retrieved,
+                                 Set<Integer> missingShards, Deadline deadline, SharedLlmCalls shared) {
+    MatchConfig.Cascade cascade = matchConfig.getCascade();
+    Shortlist shortlist = shortlistSelector.select(retrieved);
+    recordShortlist(shortlist);
+    List<ScoredResume> topResumes = shortlist.getCandidates();
+    List<CandidateSummaryResponseDto> summaries = new ArrayList<>();
+    List<String> skipped = new ArrayList<>();
+    boolean llmAvailable = llmCircuitBreaker.isCallPermitted();
+    if (!llmAvailable) {
+      log.warn("LLM circuit breaker is open, returning keyword-only results");
+    }
+
+    if (screeningConfig.getAction() == ScreeningConfig.Action.SKIP) {
+      topResumes = withoutFlagged(topResumes, summaries);
+    }
+
+    // Candidate prompts may carry a condensed version of the vacancy, computed once per distinct vacancy
+    String vacancyForPrompts = llmAvailable && !topResumes.isEmpty()
+        ? vacancyAnalysisService.vacancyForPrompts(vacancyDescription, deadline)
+        : vacancyDescription;
+
+    if (!cascade.isEnabled()) {
+      evaluateShortlist(vacancyForPrompts, topResumes, deadline, llmAvailable, summaries, skipped, shared);
+    } else if (llmAvailable) {
+      evaluateCascade(vacancyForPrompts, topResumes, deadline, summaries, skipped, shared);
+    } else {
+      topResumes.stream().limit(cascade.getSummaryTopK()).map(this::toDegradedCandidate).forEach(summaries::add);
+    }
+    if (matchConfig.getLazySummaries().isEnabled()) {
+      prefetchSummaries(vacancyDescription, vacancyForPrompts, topResumes, deadline, summaries);
+    }
+
+    if (!skipped.isEmpty()) {
+      log.warn("Deadline left no time for {} of {} candidates: {}", skipped.size(), topResumes.size(), skipped);
+      meterRegistry.counter("candidate.match.skipped").increment(skipped.size());
+    }
+    return MatchResponseDto.builder()
+        .candidates(summaries)
+        .degraded(summaries.stream().anyMatch(CandidateSummaryResponseDto::isDegraded))
+        .partial(!skipped.isEmpty() || !missingShards.isEmpty())
+        .skipped(skipped)
+        .missingShards(missingShards.stream().sorted().toList())
+        .shortlist(ShortlistResponseDto.builder()
+            .size(shortlist.getCandidates().size())
+            .cutoff(shortlist.getCutoff())
+            .scores(shortlist.getScores())
+            .build())
+        .build();
+  }
+
+  static CandidateFilter toFilter(CandidateFilterDto filters) {
+    if (filters == null) {
+      return CandidateFilter.none();
+    }
+    return CandidateFilter.builder()
+        .minYearsOfExperience(filters.getMinYearsOfExperience())
+        .maxYearsOfExperience(filters.getMaxYearsOfExperience())
+        .minSeniority(filters.getMinSeniority())
+        .maxSeniority(filters.getMaxSeniority())
+        .locations(filters.getLocations())
+        .includeUnknown(filters.getIncludeUnknown() == null || filters.getIncludeUnknown())
+        .build();
+  }
+
+  private void recordShortlist(Shortlist shortlist) {
+    log.debug("Shortlisted {} candidates ({}), retrieval scores {}",
+        shortlist.getCandidates().size(), shortlist.getCutoff(), shortlist.getScores());
+    DistributionSummary.builder("candidate.match.shortlist.size")
+        .description("Number of candidates sent to the LLM stages")
+        .tag("cutoff", shortlist.getCutoff())
+        .register(meterRegistry)
+        .record(shortlist.getCandidates().size());
+  }
+
+  /**
+   * Summarizes and rates each shortlisted candidate in turn.
+   */
+  private void evaluateShortlist(String vacancyDescription, List<ScoredResume> topResumes, Deadline deadline,
+                                 boolean llmAvailable, List<CandidateSummaryResponseDto> summaries,
+                                 List<String> skipped, SharedLlmCalls shared) {
+    for (ScoredResume scored : topResumes) {
+      Resume resume = scored.getResume();
+      if (!llmAvailable) {
+        summaries.add(toDegradedCandidate(scored));
+        continue;
+      }
+      if (!hasTimeForCandidate(deadline)) {
+        skipped.add(resume.getFilename());
+        continue;
+      }
+      try {
+        log.debug("Processing CV: {}", resume.getFilename());
+        summaries.add(evaluate(vacancyDescription, resume, deadline, shared));
+      } catch (DeadlineExceededException e) {
+        log.debug("Skipping CV {}: {}", resume.getFilename(), e.getMessage());
+        skipped.add(resume.getFilename());
+      } catch (LlmCircuitOpenException e) {
+        log.warn("LLM circuit breaker opened while processing CV: {}", resume.getFilename());
+        llmAvailable = false;
+        summaries.add(toDegradedCandidate(scored));
+      } catch (NonTransientAiException e) {
+        log.error("AI service error processing CV: {}", resume.getFilename(), e);
+        // Re-throw AI exceptions so they can be handled by GlobalExceptionHandler
+        throw e;
+      } catch (Exception e) {
+        log.error("Failed to process CV: {}", resume.getFilename(), e);
+        // Continue with other CVs for non-AI errors
+      }
+    }
+  }
+
+  private CandidateSummaryResponseDto evaluate(String vacancyDescription, Resume resume, Deadline deadline,
+                                               SharedLlmCalls shared) {
+    boolean lazy = matchConfig.getLazySummaries().isEnabled();
+    String summary = lazy ? null : shared.summary(vacancyDescription, resume,
+        () -> agentSummaryService.generateSummary(vacancyDescription, resume, deadline).getContent());
+    int rating = shared.rating(vacancyDescription, resume,
+        () -> candidateRatingService.rateOne(vacancyDescription, resume, deadline));
+
+    return CandidateSummaryResponseDto.builder()
+        .name(resume.getName())
+        .filename(resume.getFilename())
+        .summary(summary)
+        .summaryDeferred(lazy)
+        .rating(rating)
+        .flagged(resume.isFlagged())
+        .build();
+  }
+
+  /**
+   * Summarizes the {@code prefetchTopK} best-rated candidates whose summaries were deferred, while the deadline
+   * allows; the others are summarized only if a client asks for them, see {@link CandidateSummaryService}.
+   */
+  private void prefetchSummaries(String vacancyDescription, String vacancyForPrompts, List<ScoredResume> shortlist,
+                                 Deadline deadline, List<CandidateSummaryResponseDto> candidates) {
+    Map<String, Resume> resumes = new LinkedHashMap<>();
+    shortlist.forEach(scored -> resumes.put(scored.getResume().getFilename(), scored.getResume()));
+    List<CandidateSummaryResponseDto> prefetch = candidates.stream()
+        .filter(CandidateSummaryResponseDto::isSummaryDeferred)
+        .sorted(Comparator.comparingInt(CandidateSummaryResponseDto::getRating).reversed())
+        .limit(matchConfig.getLazySummaries().getPrefetchTopK())
+        .toList();
+    for (CandidateSummaryResponseDto candidate : prefetch) {
+      if (!deadline.hasTimeFor(llmLatencyEstimator.estimate(PromptType.SUMMARY))) {
+        llmLatencyEstimator.recordRefused(PromptType.SUMMARY);
+        log.debug("No time left to prefetch the summary of CV {}", candidate.getFilename());
+        return;
+      }
+      try {
+        candidate.setSummary(candidateSummaryService.prefetch(vacancyDescription, vacancyForPrompts,
+            resumes.get(candidate.getFilename()), deadline));
+        candidate.setSummaryDeferred(false);
+      } catch (DeadlineExceededException | LlmCircuitOpenException e) {
+        log.debug("Summary of CV {} stays deferred: {}", candidate.getFilename(), e.getMessage());
+        return;
+      } catch (Exception e) {
+        log.warn("Failed to prefetch summary of CV {}, it stays deferred", candidate.getFilename(), e);
+      }
+    }
+  }
+
+  /**
+   * Stage 1 rates the whole shortlist concurrently with the short-output rating call (several CVs per call in
+   * batch rating mode); stage 2 summarizes only the {@code summaryTopK} best-rated candidates. Candidates left
+   * without a rating because the circuit breaker opened fill the remaining slots with keyword-based ratings.
+   */
+  private void evaluateCascade(String vacancyDescription, List<ScoredResume> shortlist, Deadline deadline,
+                               List<CandidateSummaryResponseDto> candidates, List<String> skipped,
+                               SharedLlmCalls shared) {
+    int topK = matchConfig.getCascade().getSummaryTopK();
+
+    List<List<ScoredResume>> groups = candidateRatingService.partition(vacancyDescription, shortlist);
+    List<CompletableFuture<Map<String, Integer>>> ratingCalls = new ArrayList<>();
+    Timer.Sample ratingStage = Timer.start(meterRegistry);
+    for (List<ScoredResume> group : groups) {
+      List<Resume> resumes = group.stream().map(ScoredResume::getResume).toList();
+      ratingCalls.add(submit(() -> shared.ratings(vacancyDescription, resumes,
+          () -> candidateRatingService.rate(vacancyDescription, group, deadline))));
+    }
+    Map<ScoredResume, Integer> ratings = new LinkedHashMap<>();
+    List<ScoredResume> unrated = new ArrayList<>();
+    for (int i = 0; i < groups.size(); i++) {
+      List<ScoredResume> group = groups.get(i);
+      try {
+        Map<String, Integer> groupRatings = await(ratingCalls.get(i));
+        for (ScoredResume scored : group) {
+          Integer rating = groupRatings.get(scored.getResume().getFilename());
+          if (rating != null) {
+            ratings.put(scored, rating);
+          } else {
+            skipped.add(scored.getResume().getFilename());
+          }
+        }
+      } catch (DeadlineExceededException e) {
+        log.debug("Skipping {} CVs: {}", group.size(), e.getMessage());
+        group.forEach(scored -> skipped.add(scored.getResume().getFilename()));
+      } catch (LlmCircuitOpenException e) {
+        unrated.addAll(group);
+      } catch (NonTransientAiException e) {
+        log.error("AI service error rating {} CVs", group.size(), e);
+        throw e;
+      } catch (Exception e) {
+        log.error("Failed to rate {} CVs", group.size(), e);
+      }
+    }
+    ratingStage.stop(stageTimer("rating"));
+    recordStageSize("rating", shortlist.size());
+
+    List<ScoredResume> finalists = ratings.keySet().stream()
+        .sorted(Comparator.comparing((ScoredResume scored) -> ratings.get(scored))
+            .thenComparingDouble(ScoredResume::getScore)
+            .reversed())
+        .limit(topK)
+        .toList();
+    if (matchConfig.getLazySummaries().isEnabled()) {
+      finalists.forEach(scored -> candidates.add(CandidateSummaryResponseDto.builder()
+          .name(scored.getResume().getName())
+          .filename(scored.getResume().getFilename())
+          .rating(ratings.get(scored))
+          .summaryDeferred(true)
+          .flagged(scored.getResume().isFlagged())
+          .build()));
+      addDegraded(unrated, topK - finalists.size(), candidates);
+      return;
+    }
+    Map<ScoredResume, CompletableFuture<String>> summaryCalls = new LinkedHashMap<>();
+    Timer.Sample summaryStage = Timer.start(meterRegistry);
+    for (ScoredResume scored : finalists) {
+      summaryCalls.put(scored, submit(() -> shared.summary(vacancyDescription, scored.getResume(),
+          () -> agentSummaryService.generateSummary(vacancyDescription, scored.getResume(), deadline).getContent())));
+    }
+    summaryCalls.forEach((scored, call) -> {
+      Resume resume = scored.getResume();
+      CandidateSummaryResponseDto.CandidateSummaryResponseDtoBuilder candidate = CandidateSummaryResponseDto.builder()
+          .name(resume.getName())
+          .filename(resume.getFilename())
+          .rating(ratings.get(scored))
+          .flagged(resume.isFlagged());
+      try {
+        candidates.add(candidate.summary(await(call)).build());
+      } catch (DeadlineExceededException e) {
+        log.debug("Skipping summary of CV {}: {}", resume.getFilename(), e.getMessage());
+        skipped.add(resume.getFilename());
+      } catch (LlmCircuitOpenException e) {
+        candidates.add(candidate.summary(SUMMARY_UNAVAILABLE).degraded(true).build());
+      } catch (NonTransientAiException e) {
+        log.error("AI service error summarizing CV: {}", resume.getFilename(), e);
+        throw e;
+      } catch (Exception e) {
+        log.error("Failed to summarize CV: {}", resume.getFilename(), e);
+      }
+    });
+    summaryStage.stop(stageTimer("summary"));
+    recordStageSize("summary", summaryCalls.size());
+
+    addDegraded(unrated, topK - summaryCalls.size(), candidates);
+  }
+
+  private void addDegraded(List<ScoredResume> unrated, int slots, List<CandidateSummaryResponseDto> candidates) {
+    if (!unrated.isEmpty()) {
+      log.warn("LLM circuit breaker opened while rating, {} candidates get keyword-only ratings", unrated.size());
+      unrated.stream()
+          .limit(Math.max(0, slots))
+          .map(this::toDegradedCandidate)
+          .forEach(candidates::add);
+    }
+  }
+
+  private <T> CompletableFuture<T> submit(Supplier<T> call) {
+    return CompletableFuture.supplyAsync(call, llmExecutor);
+  }
+
+  private static <T> T await(CompletableFuture<T> call) {
+    try {
+      return call.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private Timer stageTimer(String stage) {
+    return Timer.builder("candidate.match.cascade.stage.duration")
+        .description("Duration of a match cascade stage")
+        .tag("stage", stage)
+        .register(meterRegistry);
+  }
+
+  private void recordStageSize(String stage, int size) {
+    DistributionSummary.builder("candidate.match.cascade.stage.size")
+        .description("Number of candidates entering a match cascade stage")
+        .tag("stage", stage)
+        .register(meterRegistry)
+        .record(size);
+  }
+
+  /**
+   * A candidate needs both a summary and a rating; starting the summary without time for the rating wastes tokens.
+   * With lazy summaries only the rating is made during the match.
+   */
+  private boolean hasTimeForCandidate(Deadline deadline) {
+    boolean withSummary = !matchConfig.getLazySummaries().isEnabled();
+    Duration expected = llmLatencyEstimator.estimate(PromptType.RATING);
+    if (withSummary) {
+      expected = expected.plus(llmLatencyEstimator.estimate(PromptType.SUMMARY));
+    }
+    if (deadline.hasTimeFor(expected)) {
+      return true;
+    }
+    llmLatencyEstimator.recordRefused(PromptType.RATING);
+    if (withSummary) {
+      llmLatencyEstimator.recordRefused(PromptType.SUMMARY);
+    }
+    return false;
+  }
+
+  /**
+   * Answers flagged CVs without LLM calls and returns the rest.
+   */
+  private List<ScoredResume> withoutFlagged(List<ScoredResume> shortlist, List<CandidateSummaryResponseDto> summaries) {
+    List<ScoredResume> clean = new ArrayList<>(shortlist.size());
+    for (ScoredResume scored : shortlist) {
+      Resume resume = scored.getResume();
+      if (!resume.isFlagged()) {
+        clean.add(scored);
+        continue;
+      }
+      summaries.add(CandidateSummaryResponseDto.builder()
+          .name(resume.getName())
+          .filename(resume.getFilename())
+          .summary(FLAGGED_SUMMARY.formatted(String.join(", ", resume.getScreening().getReasons())))
+          .rating(ratingConfig.getMin())
+          .flagged(true)
+          .build());
+    }
+    return clean;
+  }
+
+  /**
+   * Maps the keyword relevance (0..1) onto the configured rating range.
+   */
+  private CandidateSummaryResponseDto toDegradedCandidate(ScoredResume scored) {
+    int span = ratingConfig.getMax() - ratingConfig.getMin();
+    int rating = ratingConfig.getMin() + (int) Math.round(scored.getRelevance() * span);
+    return CandidateSummaryResponseDto.builder()
+        .name(scored.getResume().getName())
+        .filename(scored.getResume().getFilename())
+        .summary(DEGRADED_SUMMARY)
+        .rating(rating)
+        .degraded(true)
+        .flagged(scored.getResume().isFlagged())
+        .build();
+  }
+}
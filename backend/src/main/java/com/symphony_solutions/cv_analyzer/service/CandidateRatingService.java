@@ -0,0 +1,147 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import com.symphony_solutions.cv_analyzer.config.RatingConfig;
+import com.symphony_solutions.cv_analyzer.dto.type.PromptType;
+import com.symphony_solutions.cv_analyzer.exception.DeadlineExceededException;
+import com.symphony_solutions.cv_analyzer.model.Deadline;
+import com.symphony_solutions.cv_analyzer.model.Resume;
+import com.symphony_solutions.cv_analyzer.model.ScoredResume;
+import com.symphony_solutions.cv_analyzer.util.RatingParser;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Rates candidates with the LLM, either one CV per call or, in batch mode, several CVs per call
+ * packed within {@code candidate.rating.batch.*} limits.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CandidateRatingService {
+
+  private static final int CHARS_PER_TOKEN = 4;
+  private static final Runnable NO_THROTTLE = () -> { };
+
+  private final AgentSummaryService agentSummaryService;
+  private final PromptService promptService;
+  private final RatingConfig ratingConfig;
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Splits the candidates into groups rated by one call each: singletons unless batch mode is enabled,
+   * otherwise consecutive candidates up to the batch size and input token budget.
+   */
+  public List<List<ScoredResume>> partition(String vacancyDescription, List<ScoredResume> candidates) {
+    RatingConfig.Batch batch = ratingConfig.getBatch();
+    if (!batch.isEnabled()) {
+      return candidates.stream().map(List::of).toList();
+    }
+    PromptService.Prompts prompts = promptService.getPrompts(PromptType.RATING_BATCH);
+    int promptChars = vacancyDescription.length() + prompts.system().length() + prompts.user().length();
+    long budgetChars = (long) batch.getMaxInputTokens() * CHARS_PER_TOKEN - promptChars;
+
+    List<List<ScoredResume>> groups = new ArrayList<>();
+    List<ScoredResume> current = new ArrayList<>();
+    long currentChars = 0;
+    for (ScoredResume candidate : candidates) {
+      int chars = agentSummaryService.batchEntryLength(candidate.getResume());
+      if (!current.isEmpty() && (current.size() >= batch.getMaxSize() || currentChars + chars > budgetChars)) {
+        groups.add(current);
+        current = new ArrayList<>();
+        currentChars = 0;
+      }
+      current.add(candidate);
+      currentChars += chars;
+    }
+    if (!current.isEmpty()) {
+      groups.add(current);
+    }
+    return groups;
+  }
+
+  /**
+   * Rates a group from {@link #partition}. Candidates missing from a batch reply are rated one by one;
+   * those the deadline leaves no time for are missing from the result.
+   *
+   * @return ratings by filename
+   */
+  public Map<String, Integer> rate(String vacancyDescription, List<ScoredResume> group, Deadline deadline) {
+    return rate(vacancyDescription, group, deadline, NO_THROTTLE);
+  }
+
+  /**
+   * See {@link #rate(String, List, Deadline)}; {@code beforeCall} runs before every LLM call, including fallback
+   * and repair calls, e.g. to wait for a rate limiter.
+   */
+  public Map<String, Integer> rate(String vacancyDescription, List<ScoredResume> group, Deadline deadline,
+                                   Runnable beforeCall) {
+    List<Resume> resumes = group.stream().map(ScoredResume::getResume).toList();
+    if (resumes.size() == 1) {
+      return Map.of(resumes.get(0).getFilename(), rateOne(vacancyDescription, resumes.get(0), deadline, beforeCall));
+    }
+
+    Map<String, Integer> ratings = new LinkedHashMap<>();
+    beforeCall.run();
+    Map<String, Integer> reply = agentSummaryService.extractBatchRatingsFromContent(
+        agentSummaryService.generateBatchRating(vacancyDescription, resumes, deadline).getContent());
+    for (Resume resume : resumes) {
+      Integer rating = reply.get(resume.getFilename());
+      if (rating != null) {
+        ratings.put(resume.getFilename(), rating);
+        continue;
+      }
+      meterRegistry.counter("candidate.rating.batch.fallback").increment();
+      log.debug("Batch rating reply has no rating for {}, rating it separately", resume.getFilename());
+      try {
+        ratings.put(resume.getFilename(), rateOne(vacancyDescription, resume, deadline, beforeCall));
+      } catch (DeadlineExceededException e) {
+        log.debug("Skipping fallback rating of {}: {}", resume.getFilename(), e.getMessage());
+      }
+    }
+    return ratings;
+  }
+
+  /**
+   * Rates a single CV. An unparseable reply is re-sent with a minimal repair prompt; only if that fails too,
+   * or the deadline leaves no time for it, the candidate gets the minimum rating.
+   *
+   * @throws DeadlineExceededException if the rating call was not started because too little time remains
+   */
+  public int rateOne(String vacancyDescription, Resume resume, Deadline deadline) {
+    return rateOne(vacancyDescription, resume, deadline, NO_THROTTLE);
+  }
+
+  private int rateOne(String vacancyDescription, Resume resume, Deadline deadline, Runnable beforeCall) {
+    beforeCall.run();
+    String reply = agentSummaryService.generateRating(vacancyDescription, resume, deadline).getContent();
+    int rating = agentSummaryService.extractRatingFromContent(reply);
+    if (rating != RatingParser.NO_RATING) {
+      return rating;
+    }
+    recordParseFailure("initial");
+    log.warn("Unparseable rating reply for {}, asking for a repair", resume.getFilename());
+    try {
+      beforeCall.run();
+      rating = agentSummaryService.extractRatingFromContent(
+          agentSummaryService.repairRating(reply, deadline).getContent());
+    } catch (DeadlineExceededException e) {
+      log.debug("No time left to repair rating of {}: {}", resume.getFilename(), e.getMessage());
+    }
+    if (rating != RatingParser.NO_RATING) {
+      return rating;
+    }
+    recordParseFailure("repair");
+    log.warn("Could not obtain a rating for {}, using the minimum", resume.getFilename());
+    return ratingConfig.getMin();
+  }
+
+  private void recordParseFailure(String attempt) {
+    meterRegistry.counter("candidate.rating.parse.failure", "attempt", attempt).increment();
+  }
+}
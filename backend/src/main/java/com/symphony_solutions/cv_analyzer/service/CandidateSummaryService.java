@@ -0,0 +1,170 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import com.symphony_solutions.cv_analyzer.config.MatchConfig;
+import com.symphony_solutions.cv_analyzer.config.ScreeningConfig;
+import com.symphony_solutions.cv_analyzer.dto.response.SummaryResponseDto;
+import com.symphony_solutions.cv_analyzer.model.Deadline;
+import com.symphony_solutions.cv_analyzer.model.Resume;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Summaries of matched candidates in lazy mode: generated for the best-rated candidates with the match and for
+ * the rest only when a client asks, so summary tokens are spent on the cards that are actually read. Summaries
+ * are cached by SHA-256 of the vacancy description plus the CV filename with LRU eviction.
+ */
+@Slf4j
+@Service
+public class CandidateSummaryService {
+
+  private final AgentSummaryService agentSummaryService;
+  private final VacancyAnalysisService vacancyAnalysisService;
+  private final ResumeService resumeService;
+  private final MatchConfig matchConfig;
+  private final ScreeningConfig screeningConfig;
+  private final MeterRegistry meterRegistry;
+
+  private final Map<String, String> cache;
+
+  public CandidateSummaryService(AgentSummaryService agentSummaryService,
+                                 VacancyAnalysisService vacancyAnalysisService, ResumeService resumeService,
+                                 MatchConfig matchConfig, ScreeningConfig screeningConfig,
+                                 MeterRegistry meterRegistry) {
+    this.agentSummaryService = agentSummaryService;
+    this.vacancyAnalysisService = vacancyAnalysisService;
+    this.resumeService = resumeService;
+    this.matchConfig = matchConfig;
+    this.screeningConfig = screeningConfig;
+    this.meterRegistry = meterRegistry;
+    this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+        return size() > matchConfig.getLazySummaries().getCacheSize();
+      }
+    };
+    Gauge.builder("candidate.summary.cache.size", this, service -> service.cacheSize())
+        .description("Candidate summaries held in the cache")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Summary of a CV for a vacancy it was matched against, within the default match deadline.
+   *
+   * @return empty if no searchable CV has this filename
+   * @throws IllegalArgumentException if the CV was flagged and flagged CVs are not sent to the LLM
+   */
+  public Optional<SummaryResponseDto> summarize(String vacancyDescription, String filename) {
+    Optional<Resume> resume = findSummarizable(filename);
+    if (resume.isEmpty()) {
+      return Optional.empty();
+    }
+    String key = key(vacancyDescription, filename);
+    String cached = get(key);
+    if (cached != null) {
+      recordLookup("hit");
+      return Optional.of(SummaryResponseDto.builder().filename(filename).summary(cached).cached(true).build());
+    }
+    recordLookup("miss");
+    Deadline deadline = Deadline.after(matchConfig.getDefaultDeadline());
+    String vacancyForPrompts = vacancyAnalysisService.vacancyForPrompts(vacancyDescription, deadline);
+    String summary = generate(key, vacancyForPrompts, resume.get(), deadline, "on_demand");
+    return Optional.of(SummaryResponseDto.builder().filename(filename).summary(summary).build());
+  }
+
+  /**
+   * Looks up a CV that may be summarized, so a streamed request can be rejected before the stream is opened.
+   *
+   * @return empty if no searchable CV has this filename
+   * @throws IllegalArgumentException if the CV was flagged and flagged CVs are not sent to the LLM
+   */
+  public Optional<Resume> findSummarizable(String filename) {
+    Optional<Resume> resume = resumeService.findByFilename(filename);
+    if (resume.isPresent() && resume.get().isFlagged()
+        && screeningConfig.getAction() == ScreeningConfig.Action.SKIP) {
+      throw new IllegalArgumentException("CV " + filename + " was flagged as a possible prompt injection");
+    }
+    return resume;
+  }
+
+  /**
+   * Summary of a CV streamed to {@code onToken} as the model writes it; a cached summary is passed on in one
+   * piece. The complete summary is cached once the stream ends.
+   *
+   * @return the complete summary
+   */
+  public SummaryResponseDto stream(String vacancyDescription, Resume resume, Consumer<String> onToken) {
+    String key = key(vacancyDescription, resume.getFilename());
+    String cached = get(key);
+    if (cached != null) {
+      recordLookup("hit");
+      onToken.accept(cached);
+      return SummaryResponseDto.builder().filename(resume.getFilename()).summary(cached).cached(true).build();
+    }
+    recordLookup("miss");
+    Deadline deadline = Deadline.after(matchConfig.getDefaultDeadline());
+    String vacancyForPrompts = vacancyAnalysisService.vacancyForPrompts(vacancyDescription, deadline);
+    String summary = agentSummaryService.streamSummary(vacancyForPrompts, resume, deadline, onToken).getContent();
+    meterRegistry.counter("candidate.summary.generated", "source", "stream").increment();
+    put(key, summary);
+    return SummaryResponseDto.builder().filename(resume.getFilename()).summary(summary).build();
+  }
+
+  /**
+   * Summarizes a candidate as part of a match and caches it for later requests.
+   *
+   * @param vacancyDescription the vacancy as sent by the client, the cache key
+   * @param vacancyForPrompts  the vacancy text used in the prompt
+   */
+  public String prefetch(String vacancyDescription, String vacancyForPrompts, Resume resume, Deadline deadline) {
+    String key = key(vacancyDescription, resume.getFilename());
+    String cached = get(key);
+    if (cached != null) {
+      recordLookup("hit");
+      return cached;
+    }
+    recordLookup("miss");
+    return generate(key, vacancyForPrompts, resume, deadline, "prefetch");
+  }
+
+  private String generate(String key, String vacancyForPrompts, Resume resume, Deadline deadline, String source) {
+    String summary = agentSummaryService.generateSummary(vacancyForPrompts, resume, deadline).getContent();
+    meterRegistry.counter("candidate.summary.generated", "source", source).increment();
+    put(key, summary);
+    return summary;
+  }
+
+  private synchronized String get(String key) {
+    return cache.get(key);
+  }
+
+  private synchronized void put(String key, String value) {
+    cache.put(key, value);
+  }
+
+  private synchronized int cacheSize() {
+    return cache.size();
+  }
+
+  private void recordLookup(String result) {
+    meterRegistry.counter("candidate.summary.cache", "result", result).increment();
+  }
+
+  private static String key(String vacancyDescription, String filename) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(vacancyDescription.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(hash) + '/' + filename;
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One immutable build of the in-memory corpus (all served shards). Queries pin the generation they started on
+ * with a lock-free reader count, so a reindex can swap in the next generation at any time; a retired generation
+ * is released once its last in-flight query finishes: it drops its shards, so the index and CV texts can be
+ * collected even while something still refers to the generation.
+ */
+@Slf4j
+final class CorpusGeneration {
+
+  private final long number;
+  private final Instant builtAt;
+  private volatile Map<Integer, ResumeCorpus> shards;
+  private volatile Runnable onRelease = () -> { };
+  private final AtomicInteger readers = new AtomicInteger();
+  private final AtomicBoolean released = new AtomicBoolean();
+  private volatile boolean retired;
+
+  CorpusGeneration(long number, Map<Integer, ResumeCorpus> shards) {
+    this.number = number;
+    this.builtAt = Instant.now();
+    this.shards = shards;
+  }
+
+  long number() {
+    return number;
+  }
+
+  Instant builtAt() {
+    return builtAt;
+  }
+
+  Map<Integer, ResumeCorpus> shards() {
+    return shards;
+  }
+
+  int readers() {
+    return readers.get();
+  }
+
+  /**
+   * Pins the generation for a query; fails once it is retired, and the caller retries on the live one.
+   */
+  boolean tryAcquire() {
+    readers.incrementAndGet();
+    if (retired) {
+      release();
+      return false;
+    }
+    return true;
+  }
+
+  void release() {
+    if (readers.decrementAndGet() == 0 && retired) {
+      free();
+    }
+  }
+
+  /**
+   * Called once the next generation is live; no query can pin this one afterwards.
+   *
+   * @param onRelease run once the last in-flight query has finished and the shards are dropped
+   */
+  void retire(Runnable onRelease) {
+    this.onRelease = onRelease;
+    retired = true;
+    if (readers.get() == 0) {
+      free();
+    }
+  }
+
+  private void free() {
+    if (released.compareAndSet(false, true)) {
+      shards = Map.of();
+      onRelease.run();
+      log.info("Released corpus generation {} after its in-flight queries finished", number);
+    }
+  }
+}
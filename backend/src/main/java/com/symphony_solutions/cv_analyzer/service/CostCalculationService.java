@@ -1,5 +1,7 @@
 package com.symphony_solutions.cv_analyzer.service;
 
+import com.symphony_solutions.cv_analyzer.config.LlmRoutingConfig;
+import com.symphony_solutions.cv_analyzer.config.PricingConfig;
 import com.symphony_solutions.cv_analyzer.dto.response.PricingInfoResponseDto;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -7,7 +9,7 @@ import jakarta.annotation.PostConstruct;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
-import org.springframework.beans.factory.annotation.Value;
+import java.util.Optional;
 import org.springframework.stereotype.Service;
 
 /**
@@ -15,17 +17,14 @@ import org.springframework.stereotype.Service;
  */
 @Service
 public class CostCalculationService {
+
+    private static final String DEFAULT_ENDPOINT = "default";
     
     private final MeterRegistry meterRegistry;
-    
-    @Value("${openai.pricing.input-tokens-per-million:2.50}")
-    private BigDecimal inputTokensPerMillion;
-    
-    @Value("${openai.pricing.output-tokens-per-million:10.00}")
-    private BigDecimal outputTokensPerMillion;
-    
-    @Value("${openai.pricing.currency:USD}")
-    private String currency;
+
+    private final LlmRoutingConfig llmRoutingConfig;
+
+    private final PricingConfig pricingConfig;
     
     private Counter totalCostCounter;
     private Counter inputTokensCounter;
@@ -34,15 +33,18 @@ public class CostCalculationService {
     // Latest AI call tracking
     private volatile LatestAiCall latestAiCall;
     
-    public CostCalculationService(MeterRegistry meterRegistry) {
+    public CostCalculationService(MeterRegistry meterRegistry, LlmRoutingConfig llmRoutingConfig,
+                                  PricingConfig pricingConfig) {
         this.meterRegistry = meterRegistry;
+        this.llmRoutingConfig = llmRoutingConfig;
+        this.pricingConfig = pricingConfig;
     }
     
     @PostConstruct
     public void init() {
         this.totalCostCounter = Counter.builder("gen_ai.client.cost.total")
                 .description("Total cost of GenAI API calls")
-                .baseUnit(currency)
+                .baseUnit(pricingConfig.getCurrency())
                 .register(meterRegistry);
                 
         this.inputTokensCounter = Counter.builder("gen_ai.client.tokens.input")
@@ -57,21 +59,58 @@ public class CostCalculationService {
     }
     
     /**
-     * Calculate and record the cost for a given number of input and output tokens.
+     * Calculate and record the cost for a given number of input and output tokens using the default pricing.
      * 
      * @param inputTokens Number of input tokens
      * @param outputTokens Number of output tokens
      * @return Total cost for this operation
      */
     public BigDecimal calculateAndRecordCost(int inputTokens, int outputTokens) {
-        BigDecimal inputCost = calculateInputCost(inputTokens);
-        BigDecimal outputCost = calculateOutputCost(outputTokens);
+        return calculateAndRecordCost(null, null, inputTokens, outputTokens);
+    }
+
+    /**
+     * Calculate and record the cost of a call served by the given endpoint and model, applying the most specific
+     * configured pricing (see {@link #resolvePricing(String, String)}).
+     * Per-endpoint cost and token counters are tagged with the endpoint and model.
+     *
+     * @param endpoint Routed endpoint name, or null for the default endpoint
+     * @param model Model reported by the provider, may be null
+     * @param inputTokens Number of input tokens
+     * @param outputTokens Number of output tokens
+     * @return Total cost for this operation
+     */
+    public BigDecimal calculateAndRecordCost(String endpoint, String model, int inputTokens, int outputTokens) {
+        PricingInfoResponseDto pricing = resolvePricing(endpoint, model);
+        BigDecimal inputCost = calculateInputCost(inputTokens, pricing);
+        BigDecimal outputCost = calculateOutputCost(outputTokens, pricing);
         BigDecimal totalCost = inputCost.add(outputCost);
         
         // Record the metrics
         totalCostCounter.increment(totalCost.doubleValue());
         inputTokensCounter.increment(inputTokens);
         outputTokensCounter.increment(outputTokens);
+
+        String endpointTag = Optional.ofNullable(endpoint).orElse(DEFAULT_ENDPOINT);
+        String modelTag = Optional.ofNullable(model).orElse("unknown");
+        Counter.builder("gen_ai.client.endpoint.cost")
+                .description("Cost of GenAI API calls per endpoint")
+                .baseUnit(pricingConfig.getCurrency())
+                .tags("endpoint", endpointTag, "model", modelTag)
+                .register(meterRegistry)
+                .increment(totalCost.doubleValue());
+        Counter.builder("gen_ai.client.endpoint.tokens")
+                .description("Tokens consumed per endpoint")
+                .baseUnit("tokens")
+                .tags("endpoint", endpointTag, "model", modelTag, "token.type", "input")
+                .register(meterRegistry)
+                .increment(inputTokens);
+        Counter.builder("gen_ai.client.endpoint.tokens")
+                .description("Tokens consumed per endpoint")
+                .baseUnit("tokens")
+                .tags("endpoint", endpointTag, "model", modelTag, "token.type", "output")
+                .register(meterRegistry)
+                .increment(outputTokens);
         
         // Track the latest AI call
         this.latestAiCall = new LatestAiCall(
@@ -80,30 +119,70 @@ public class CostCalculationService {
             outputTokens,
             totalCost,
             inputCost,
-            outputCost
+            outputCost,
+            endpointTag,
+            model
         );
         
         return totalCost;
     }
+
+    /**
+     * Calculate the cost of a call like {@link #calculateAndRecordCost(String, String, int, int)} without recording
+     * it, e.g. for benchmark calls that are not application traffic. The cost is not rounded, so the costs of many
+     * small calls add up correctly.
+     *
+     * @return Total cost for this operation
+     */
+    public BigDecimal calculateCost(String endpoint, String model, int inputTokens, int outputTokens) {
+        PricingInfoResponseDto pricing = resolvePricing(endpoint, model);
+        return pricing.getInputTokensPerMillion().multiply(BigDecimal.valueOf(Math.max(0, inputTokens)))
+                .add(pricing.getOutputTokensPerMillion().multiply(BigDecimal.valueOf(Math.max(0, outputTokens))))
+                .movePointLeft(6);
+    }
+
+    /**
+     * Resolve the pricing of a call. Each price is taken from the model's pricing if configured, then from the
+     * endpoint's pricing, then from the defaults.
+     */
+    public PricingInfoResponseDto resolvePricing(String endpoint, String model) {
+        PricingConfig.ModelPricing modelPricing = pricingConfig.findModelPricing(model);
+        LlmRoutingConfig.Endpoint endpointConfig = endpoint == null ? null : llmRoutingConfig.findEndpoint(endpoint);
+        return new PricingInfoResponseDto(
+            firstConfigured(
+                modelPricing == null ? null : modelPricing.getInputTokensPerMillion(),
+                endpointConfig == null ? null : endpointConfig.getInputTokensPerMillion(),
+                pricingConfig.getInputTokensPerMillion()),
+            firstConfigured(
+                modelPricing == null ? null : modelPricing.getOutputTokensPerMillion(),
+                endpointConfig == null ? null : endpointConfig.getOutputTokensPerMillion(),
+                pricingConfig.getOutputTokensPerMillion()),
+            pricingConfig.getCurrency()
+        );
+    }
+
+    private BigDecimal firstConfigured(BigDecimal modelPrice, BigDecimal endpointPrice, BigDecimal defaultPrice) {
+        return Optional.ofNullable(modelPrice).or(() -> Optional.ofNullable(endpointPrice)).orElse(defaultPrice);
+    }
     
     /**
      * Calculate cost for input tokens.
      */
-    private BigDecimal calculateInputCost(int tokens) {
+    private BigDecimal calculateInputCost(int tokens, PricingInfoResponseDto pricing) {
         if (tokens <= 0) return BigDecimal.ZERO;
         
         BigDecimal tokensInMillion = new BigDecimal(tokens).divide(new BigDecimal(1_000_000), 6, RoundingMode.HALF_UP);
-        return tokensInMillion.multiply(inputTokensPerMillion).setScale(4, RoundingMode.HALF_UP);
+        return tokensInMillion.multiply(pricing.getInputTokensPerMillion()).setScale(4, RoundingMode.HALF_UP);
     }
     
     /**
      * Calculate cost for output tokens.
      */
-    private BigDecimal calculateOutputCost(int tokens) {
+    private BigDecimal calculateOutputCost(int tokens, PricingInfoResponseDto pricing) {
         if (tokens <= 0) return BigDecimal.ZERO;
         
         BigDecimal tokensInMillion = new BigDecimal(tokens).divide(new BigDecimal(1_000_000), 6, RoundingMode.HALF_UP);
-        return tokensInMillion.multiply(outputTokensPerMillion).setScale(4, RoundingMode.HALF_UP);
+        return tokensInMillion.multiply(pricing.getOutputTokensPerMillion()).setScale(4, RoundingMode.HALF_UP);
     }
     
     /**
@@ -132,9 +211,9 @@ public class CostCalculationService {
      */
     public PricingInfoResponseDto getPricingInfo() {
         return new PricingInfoResponseDto(
-            inputTokensPerMillion,
-            outputTokensPerMillion,
-            currency
+            pricingConfig.getInputTokensPerMillion(),
+            pricingConfig.getOutputTokensPerMillion(),
+            pricingConfig.getCurrency()
         );
     }
     
@@ -153,6 +232,8 @@ public class CostCalculationService {
                             int outputTokens,
                             BigDecimal totalCost,
                             BigDecimal inputCost,
-                            BigDecimal outputCost) {
+                            BigDecimal outputCost,
+                            String endpoint,
+                            String model) {
   }
 }
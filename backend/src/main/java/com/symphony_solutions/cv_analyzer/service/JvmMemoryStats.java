@@ -0,0 +1,32 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import com.symphony_solutions.cv_analyzer.dto.response.CorpusStatsResponseDto;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+
+/**
+ * Current heap usage and accumulated GC activity, reported next to the corpus stats of a retrieval backend.
+ */
+final class JvmMemoryStats {
+
+  private JvmMemoryStats() {
+  }
+
+  static CorpusStatsResponseDto.CorpusStatsResponseDtoBuilder fill(
+      CorpusStatsResponseDto.CorpusStatsResponseDtoBuilder stats) {
+    MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+    long gcCount = 0;
+    long gcTimeMs = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      gcCount += Math.max(0, gc.getCollectionCount());
+      gcTimeMs += Math.max(0, gc.getCollectionTime());
+    }
+    return stats
+        .heapUsedBytes(heap.getUsed())
+        .heapCommittedBytes(heap.getCommitted())
+        .heapMaxBytes(heap.getMax())
+        .gcCount(gcCount)
+        .gcTimeMs(gcTimeMs);
+  }
+}
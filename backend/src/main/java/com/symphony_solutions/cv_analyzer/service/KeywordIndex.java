@@ -0,0 +1,78 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index from lower-cased word tokens to the positions of the CVs that contain them, so keyword scoring
+ * touches only the postings of the vacancy's words instead of the text of every CV.
+ */
+final class KeywordIndex {
+
+  private static final Pattern NON_WORD = Pattern.compile("\\W+");
+  private static final int[] NO_POSTINGS = new int[0];
+
+  private final Map<String, int[]> postings;
+  private final long postingCount;
+
+  KeywordIndex(List<String> documents) {
+    Map<String, Postings> lists = new HashMap<>();
+    for (int doc = 0; doc < documents.size(); doc++) {
+      for (String token : tokens(documents.get(doc))) {
+        lists.computeIfAbsent(token, key -> new Postings()).add(doc);
+      }
+    }
+    Map<String, int[]> compact = new HashMap<>(lists.size() * 4 / 3 + 1);
+    long count = 0;
+    for (Map.Entry<String, Postings> entry : lists.entrySet()) {
+      Postings list = entry.getValue();
+      compact.put(entry.getKey(), Arrays.copyOf(list.docs, list.size));
+      count += list.size;
+    }
+    this.postings = compact;
+    this.postingCount = count;
+  }
+
+  /**
+   * Ascending positions of the documents containing the token.
+   */
+  int[] postings(String token) {
+    return postings.getOrDefault(token, NO_POSTINGS);
+  }
+
+  int termCount() {
+    return postings.size();
+  }
+
+  long postingCount() {
+    return postingCount;
+  }
+
+  static Set<String> tokens(String text) {
+    Set<String> tokens = new HashSet<>();
+    for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+      if (!token.isEmpty()) {
+        tokens.add(token);
+      }
+    }
+    return tokens;
+  }
+
+  private static final class Postings {
+    private int[] docs = new int[4];
+    private int size;
+
+    void add(int doc) {
+      if (size == docs.length) {
+        docs = Arrays.copyOf(docs, size * 2);
+      }
+      docs[size++] = doc;
+    }
+  }
+}
@@ -0,0 +1,199 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import com.symphony_solutions.cv_analyzer.config.LlmCircuitBreakerConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Count-based circuit breaker guarding calls to the LLM provider.
+ * <p>
+ * CLOSED records the outcome of the last {@code slidingWindowSize} calls and opens once the failure
+ * rate reaches the threshold. OPEN rejects every call until {@code waitDurationInOpenState} has passed,
+ * then HALF_OPEN lets a few trial calls through: if all succeed the breaker closes, any failure re-opens it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LlmCircuitBreaker {
+
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final LlmCircuitBreakerConfig config;
+  private final MeterRegistry meterRegistry;
+
+  private State state = State.CLOSED;
+  private boolean[] outcomes;
+  private int nextOutcome;
+  private int recordedCalls;
+  private int failedCalls;
+  private long openedAtNanos;
+  private int halfOpenCallsInFlight;
+  private int halfOpenSuccesses;
+
+  private Counter rejectedCallsCounter;
+
+  @PostConstruct
+  public void init() {
+    outcomes = new boolean[Math.max(1, config.getSlidingWindowSize())];
+    Gauge.builder("gen_ai.client.circuit.state", this, breaker -> breaker.getState().ordinal())
+        .description("LLM circuit breaker state (0=closed, 1=open, 2=half-open)")
+        .register(meterRegistry);
+    rejectedCallsCounter = Counter.builder("gen_ai.client.circuit.rejected")
+        .description("LLM calls rejected because the circuit breaker was open")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Acquires permission for one call. Every granted permission must be followed by
+   * {@link #onSuccess()}, {@link #onFailure()} or {@link #onIgnored()}.
+   */
+  public synchronized boolean tryAcquirePermission() {
+    if (!config.isEnabled()) {
+      return true;
+    }
+    transitionToHalfOpenIfWaitElapsed();
+    boolean permitted = switch (state) {
+      case CLOSED -> true;
+      case HALF_OPEN -> {
+        if (halfOpenCallsInFlight < config.getPermittedNumberOfCallsInHalfOpenState()) {
+          halfOpenCallsInFlight++;
+          yield true;
+        }
+        yield false;
+      }
+      case OPEN -> false;
+    };
+    if (!permitted) {
+      rejectedCallsCounter.increment();
+    }
+    return permitted;
+  }
+
+  /**
+   * Whether a call would currently be let through, without consuming a half-open trial permit.
+   */
+  public synchronized boolean isCallPermitted() {
+    if (!config.isEnabled()) {
+      return true;
+    }
+    transitionToHalfOpenIfWaitElapsed();
+    return state != State.OPEN;
+  }
+
+  public synchronized void onSuccess() {
+    if (!config.isEnabled()) {
+      return;
+    }
+    if (state == State.HALF_OPEN) {
+      halfOpenSuccesses++;
+      if (halfOpenSuccesses >= config.getPermittedNumberOfCallsInHalfOpenState()) {
+        transitionTo(State.CLOSED);
+      }
+    } else if (state == State.CLOSED) {
+      record(false);
+    }
+  }
+
+  /**
+   * Gives back the permission of a call that says nothing about the provider's health, e.g. one cut off by the
+   * caller's deadline; nothing is recorded, and a half-open trial slot is freed for another call.
+   */
+  public synchronized void onIgnored() {
+    if (config.isEnabled() && state == State.HALF_OPEN && halfOpenCallsInFlight > 0) {
+      halfOpenCallsInFlight--;
+    }
+  }
+
+  public synchronized void onFailure() {
+    if (!config.isEnabled()) {
+      return;
+    }
+    if (state == State.HALF_OPEN) {
+      transitionTo(State.OPEN);
+    } else if (state == State.CLOSED) {
+      record(true);
+      if (recordedCalls >= config.getMinimumNumberOfCalls()
+          && getFailureRate() >= config.getFailureRateThreshold()) {
+        transitionTo(State.OPEN);
+      }
+    }
+  }
+
+  public synchronized State getState() {
+    transitionToHalfOpenIfWaitElapsed();
+    return state;
+  }
+
+  /**
+   * Failure rate in percent over the current sliding window.
+   */
+  public synchronized float getFailureRate() {
+    return recordedCalls == 0 ? 0 : failedCalls * 100f / recordedCalls;
+  }
+
+  public synchronized int getRecordedCalls() {
+    return recordedCalls;
+  }
+
+  /**
+   * Time left before an open breaker lets trial calls through, or zero when not open.
+   */
+  public synchronized Duration getRemainingOpenDuration() {
+    if (state != State.OPEN) {
+      return Duration.ZERO;
+    }
+    long elapsed = System.nanoTime() - openedAtNanos;
+    return Duration.ofNanos(Math.max(0, config.getWaitDurationInOpenState().toNanos() - elapsed));
+  }
+
+  private void record(boolean failure) {
+    if (recordedCalls == outcomes.length) {
+      if (outcomes[nextOutcome]) {
+        failedCalls--;
+      }
+    } else {
+      recordedCalls++;
+    }
+    outcomes[nextOutcome] = failure;
+    if (failure) {
+      failedCalls++;
+    }
+    nextOutcome = (nextOutcome + 1) % outcomes.length;
+  }
+
+  private void transitionToHalfOpenIfWaitElapsed() {
+    if (state == State.OPEN
+        && System.nanoTime() - openedAtNanos >= config.getWaitDurationInOpenState().toNanos()) {
+      transitionTo(State.HALF_OPEN);
+    }
+  }
+
+  private void transitionTo(State newState) {
+    log.warn("LLM circuit breaker transition {} -> {} (failure rate {}% over {} calls)",
+        state, newState, getFailureRate(), recordedCalls);
+    state = newState;
+    switch (newState) {
+      case OPEN -> openedAtNanos = System.nanoTime();
+      case HALF_OPEN -> {
+        halfOpenCallsInFlight = 0;
+        halfOpenSuccesses = 0;
+      }
+      case CLOSED -> {
+        outcomes = new boolean[outcomes.length];
+        nextOutcome = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+      }
+    }
+  }
+}
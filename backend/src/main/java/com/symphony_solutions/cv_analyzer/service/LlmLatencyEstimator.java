@@ -0,0 +1,51 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import com.symphony_solutions.cv_analyzer.config.MatchConfig;
+import com.symphony_solutions.cv_analyzer.dto.type.PromptType;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps an exponentially weighted moving average of LLM call latency per prompt type,
+ * used to decide whether a call can still finish before the request deadline.
+ * Samples are capped below the default match deadline, and every call refused on the estimate moves it back
+ * towards {@link MatchConfig#getInitialLatencyEstimate()}: calls skipped after a slow spell record no latency,
+ * so the estimate would otherwise never come down again.
+ */
+@Service
+@RequiredArgsConstructor
+public class LlmLatencyEstimator {
+
+  private static final double SMOOTHING = 0.2;
+
+  /**
+   * Largest sample, as a share of the default match deadline.
+   */
+  private static final double MAX_SHARE_OF_DEADLINE = 0.8;
+
+  private final MatchConfig matchConfig;
+
+  private final Map<PromptType, Double> averageMillis = new ConcurrentHashMap<>();
+
+  public Duration estimate(PromptType type) {
+    Double millis = averageMillis.get(type);
+    return millis == null ? matchConfig.getInitialLatencyEstimate() : Duration.ofMillis(Math.round(millis));
+  }
+
+  public void record(PromptType type, Duration latency) {
+    double millis = Math.min(latency.toMillis(), matchConfig.getDefaultDeadline().toMillis() * MAX_SHARE_OF_DEADLINE);
+    averageMillis.merge(type, millis, (average, sample) -> average + SMOOTHING * (sample - average));
+  }
+
+  /**
+   * A call of this type was not made because the estimate did not fit the time left.
+   */
+  public void recordRefused(PromptType type) {
+    double initial = matchConfig.getInitialLatencyEstimate().toMillis();
+    averageMillis.computeIfPresent(type,
+        (key, average) -> average > initial ? average + SMOOTHING * (initial - average) : average);
+  }
+}
@@ -0,0 +1,540 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import com.symphony_solutions.cv_analyzer.config.RetrievalConfig;
+import com.symphony_solutions.cv_analyzer.config.ShardingConfig;
+import com.symphony_solutions.cv_analyzer.dto.response.CorpusStatsResponseDto;
+import com.symphony_solutions.cv_analyzer.dto.type.Seniority;
+import com.symphony_solutions.cv_analyzer.model.CandidateFilter;
+import com.symphony_solutions.cv_analyzer.model.CandidateQuery;
+import com.symphony_solutions.cv_analyzer.model.Resume;
+import com.symphony_solutions.cv_analyzer.model.ResumeDigest;
+import com.symphony_solutions.cv_analyzer.model.ResumeFields;
+import com.symphony_solutions.cv_analyzer.model.ScoredResume;
+import com.symphony_solutions.cv_analyzer.model.ScreeningVerdict;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.MultiBits;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Retrieval backend on an embedded Lucene index in a local, memory-mapped directory: the corpus lives on disk and
+ * in the page cache rather than on the heap, and a restart reopens the existing index. CV text and the digest's
+ * skills, roles and education are analyzed fields ranked with BM25; structured fields are indexed as points for
+ * the request filters. CVs are updated one at a time ({@link #index}, {@link #delete}) and become searchable
+ * within {@code candidate.retrieval.lucene.max-refresh-interval} through near-real-time searcher refresh.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "candidate.retrieval", name = "backend", havingValue = "lucene")
+public class LuceneResumeService implements ResumeService {
+
+  private static final String ID = "filename";
+  private static final String NAME = "name";
+  private static final String CONTENT = "content";
+  private static final String CONTENT_HASH = "content_hash";
+  private static final String SKILLS = "skills";
+  private static final String ROLES = "roles";
+  private static final String EDUCATION = "education";
+  private static final String LOCATION = "location";
+  private static final String LOCATION_KNOWN = "location_known";
+  private static final String YEARS = "years";
+  private static final String SENIORITY = "seniority";
+  private static final String CLUSTER = "cluster";
+  private static final String DUPLICATES = "duplicates";
+  private static final int UNKNOWN = -1;
+  private static final Map<String, Float> FIELD_BOOSTS = new LinkedHashMap<>();
+
+  static {
+    FIELD_BOOSTS.put(CONTENT, 1.0f);
+    FIELD_BOOSTS.put(SKILLS, 2.0f);
+    FIELD_BOOSTS.put(ROLES, 1.5f);
+    FIELD_BOOSTS.put(EDUCATION, 1.0f);
+  }
+
+  private final ResumeLoader resumeLoader;
+  private final RetrievalConfig retrievalConfig;
+  private final ShardingConfig shardingConfig;
+
+  private final Analyzer analyzer = new StandardAnalyzer();
+  private final QueryBuilder queryBuilder = new QueryBuilder(analyzer);
+
+  private Directory directory;
+  private IndexWriter writer;
+  private SearcherManager searcherManager;
+  private ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+  private volatile boolean ready;
+
+  /**
+   * What {@link #toResume} and {@link #matchedShare} derive from a CV's stored text, by its content hash.
+   */
+  private final Map<String, Derived> derived = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Derived> eldest) {
+      return size() > retrievalConfig.getLucene().getResumeCacheSize();
+    }
+  };
+
+  private record Derived(ResumeDigest digest, ScreeningVerdict screening, Set<String> terms) {
+  }
+
+  @PostConstruct
+  void open() {
+    if (shardingConfig.isEnabled()) {
+      throw new IllegalStateException("candidate.sharding.enabled=true needs candidate.retrieval.backend=keyword;"
+          + " the Lucene backend keeps one index per node and is not sharded");
+    }
+    RetrievalConfig.Lucene config = retrievalConfig.getLucene();
+    try {
+      Path path = Path.of(config.getIndexPath());
+      Files.createDirectories(path);
+      directory = new MMapDirectory(path);
+      writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+          .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+      searcherManager = new SearcherManager(writer, null);
+      reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager,
+          seconds(config.getMaxRefreshInterval()), seconds(config.getMinRefreshInterval()));
+      reopenThread.setName("lucene-nrt-reopen");
+      reopenThread.setDaemon(true);
+      reopenThread.start();
+      log.info("Opened Lucene index at {} with {} CVs", path.toAbsolutePath(), writer.getDocStats().numDocs);
+      ready = !config.isSyncOnStartup();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to open Lucene index at " + config.getIndexPath(), e);
+    }
+  }
+
+  /**
+   * Syncs the index with the classpath CVs when {@code sync-on-startup} is set. Until then queries are answered
+   * from the index as it was left on disk.
+   */
+  @Override
+  public void warmUp() {
+    if (ready) {
+      return;
+    }
+    try {
+      sync(resumeLoader.loadAll());
+      ready = true;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to sync Lucene index at " + retrievalConfig.getLucene().getIndexPath(), e);
+    }
+  }
+
+  @Override
+  public boolean isReady() {
+    return ready;
+  }
+
+  @PreDestroy
+  void close() throws IOException {
+    reopenThread.close();
+    searcherManager.close();
+    writer.close();
+    directory.close();
+  }
+
+  /**
+   * Adds or replaces a CV, keyed by filename.
+   *
+   * @return the index generation that makes the change visible
+   */
+  public long index(Resume cv) throws IOException {
+    return writer.updateDocument(new Term(ID, cv.getFilename()), toDocument(cv));
+  }
+
+  /**
+   * @return the index generation that makes the change visible
+   */
+  public long delete(String filename) throws IOException {
+    return writer.deleteDocuments(new Term(ID, filename));
+  }
+
+  /**
+   * Indexes new and changed CVs (one per near-duplicate cluster) and deletes the ones no longer present;
+   * unchanged CVs are not rewritten.
+   */
+  private void sync(List<Resume> cvs) throws IOException {
+    Map<String, String> indexed = indexedHashes();
+    Set<String> current = new HashSet<>();
+    int updated = 0;
+    for (Resume cv : cvs) {
+      if (!cv.isCanonical()) {
+        continue;
+      }
+      current.add(cv.getFilename());
+      if (!hash(cv).equals(indexed.get(cv.getFilename()))) {
+        index(cv);
+        updated++;
+      }
+    }
+    int deleted = 0;
+    for (String filename : indexed.keySet()) {
+      if (!current.contains(filename)) {
+        delete(filename);
+        deleted++;
+      }
+    }
+    writer.commit();
+    searcherManager.maybeRefreshBlocking();
+    log.info("Lucene index synced: {} CVs, {} added or updated, {} deleted", current.size(), updated, deleted);
+  }
+
+  private Map<String, String> indexedHashes() throws IOException {
+    searcherManager.maybeRefreshBlocking();
+    IndexSearcher searcher = searcherManager.acquire();
+    try {
+      IndexReader reader = searcher.getIndexReader();
+      Bits liveDocs = MultiBits.getLiveDocs(reader);
+      StoredFields storedFields = reader.storedFields();
+      Map<String, String> hashes = new HashMap<>();
+      for (int doc = 0; doc < reader.maxDoc(); doc++) {
+        if (liveDocs == null || liveDocs.get(doc)) {
+          Document document = storedFields.document(doc, Set.of(ID, CONTENT_HASH));
+          hashes.put(document.get(ID), document.get(CONTENT_HASH));
+        }
+      }
+      return hashes;
+    } finally {
+      searcherManager.release(searcher);
+    }
+  }
+
+  /**
+   * Returns the best BM25 matches for the vacancy among the CVs that pass the query filter. A CV has to share
+   * at least one term with the vacancy. Once the query deadline expires, the hits collected so far are returned.
+   */
+  @Override
+  public List<ScoredResume> findTopScoredCandidates(CandidateQuery query) {
+    Set<String> terms = analyze(query.getVacancyDescription(), retrievalConfig.getLucene().getMaxQueryTerms());
+    if (terms.isEmpty() || query.getLimit() <= 0) {
+      return List.of();
+    }
+    BooleanQuery.Builder luceneQuery = new BooleanQuery.Builder().add(relevanceQuery(terms), Occur.MUST);
+    filterQueries(query.getFilter()).forEach(filter -> luceneQuery.add(filter, Occur.FILTER));
+
+    try {
+      IndexSearcher shared = searcherManager.acquire();
+      try {
+        // A searcher of its own, so the deadline does not leak into concurrent queries
+        IndexSearcher searcher = new IndexSearcher(shared.getIndexReader());
+        searcher.setTimeout(query.getDeadline()::isExpired);
+        TopDocs top = searcher.search(luceneQuery.build(), query.getLimit());
+        if (searcher.timedOut()) {
+          log.warn("Deadline reached during Lucene search, ranking {} partial hits", top.scoreDocs.length);
+        }
+        StoredFields storedFields = searcher.storedFields();
+        List<ScoredResume> results = new ArrayList<>(top.scoreDocs.length);
+        for (ScoreDoc hit : top.scoreDocs) {
+          Document document = storedFields.document(hit.doc);
+          results.add(ScoredResume.builder()
+              .resume(toResume(document))
+              .score(hit.score)
+              .relevance(matchedShare(derive(document).terms(), terms))
+              .build());
+        }
+        return results;
+      } finally {
+        searcherManager.release(shared);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Lucene search failed", e);
+    }
+  }
+
+  @Override
+  public Optional<Resume> findByFilename(String filename) {
+    try {
+      IndexSearcher searcher = searcherManager.acquire();
+      try {
+        TopDocs top = searcher.search(new TermQuery(new Term(ID, filename)), 1);
+        if (top.scoreDocs.length == 0) {
+          return Optional.empty();
+        }
+        return Optional.of(toResume(searcher.storedFields().document(top.scoreDocs[0].doc)));
+      } finally {
+        searcherManager.release(searcher);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Lucene lookup failed", e);
+    }
+  }
+
+  @Override
+  public CorpusStatsResponseDto getCorpusStats() {
+    try {
+      IndexSearcher searcher = searcherManager.acquire();
+      try {
+        IndexReader reader = searcher.getIndexReader();
+        long terms = 0;
+        long postings = 0;
+        for (LeafReaderContext leaf : reader.leaves()) {
+          Terms content = leaf.reader().terms(CONTENT);
+          if (content != null) {
+            terms += Math.max(0, content.size());
+            postings += Math.max(0, content.getSumDocFreq());
+          }
+        }
+        return JvmMemoryStats.fill(CorpusStatsResponseDto.builder()
+                .backend("lucene")
+                .documents(reader.numDocs())
+                .compressed(true)
+                .indexTerms((int) Math.min(terms, Integer.MAX_VALUE))
+                .indexPostings(postings)
+                .indexDiskBytes(indexDiskBytes()))
+            .build();
+      } finally {
+        searcherManager.release(searcher);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read Lucene index stats", e);
+    }
+  }
+
+  private long indexDiskBytes() throws IOException {
+    long bytes = 0;
+    for (String file : directory.listAll()) {
+      try {
+        bytes += directory.fileLength(file);
+      } catch (NoSuchFileException e) {
+        // Merged away since listAll
+      }
+    }
+    return bytes;
+  }
+
+  private Query relevanceQuery(Set<String> terms) {
+    BooleanQuery.Builder query = new BooleanQuery.Builder();
+    FIELD_BOOSTS.forEach((field, boost) -> {
+      BooleanQuery.Builder fieldQuery = new BooleanQuery.Builder();
+      terms.forEach(term -> fieldQuery.add(new TermQuery(new Term(field, term)), Occur.SHOULD));
+      query.add(new BoostQuery(fieldQuery.build(), boost), Occur.SHOULD);
+    });
+    return query.build();
+  }
+
+  private List<Query> filterQueries(CandidateFilter filter) {
+    List<Query> filters = new ArrayList<>();
+    if (filter.isEmpty()) {
+      return filters;
+    }
+    boolean includeUnknown = filter.isIncludeUnknown();
+    if (filter.getMinYearsOfExperience() != null || filter.getMaxYearsOfExperience() != null) {
+      filters.add(rangeQuery(YEARS, filter.getMinYearsOfExperience(), filter.getMaxYearsOfExperience(),
+          includeUnknown));
+    }
+    if (filter.getMinSeniority() != null || filter.getMaxSeniority() != null) {
+      filters.add(rangeQuery(SENIORITY,
+          filter.getMinSeniority() != null ? filter.getMinSeniority().ordinal() : null,
+          filter.getMaxSeniority() != null ? filter.getMaxSeniority().ordinal() : null,
+          includeUnknown));
+    }
+    if (filter.getLocations() != null && !filter.getLocations().isEmpty()) {
+      List<Query> places = new ArrayList<>();
+      for (String place : filter.getLocations()) {
+        Query phrase = place.isBlank() ? null : queryBuilder.createPhraseQuery(LOCATION, place.trim());
+        if (phrase != null) {
+          places.add(phrase);
+        }
+      }
+      // Locations that are blank or analyze to nothing constrain nothing, rather than matching no CV
+      if (!places.isEmpty()) {
+        BooleanQuery.Builder anyLocation = new BooleanQuery.Builder();
+        places.forEach(phrase -> anyLocation.add(phrase, Occur.SHOULD));
+        if (includeUnknown) {
+          anyLocation.add(new TermQuery(new Term(LOCATION_KNOWN, "false")), Occur.SHOULD);
+        }
+        filters.add(anyLocation.build());
+      }
+    }
+    return filters;
+  }
+
+  private static Query rangeQuery(String field, Integer min, Integer max, boolean includeUnknown) {
+    Query range = IntPoint.newRangeQuery(field, min != null ? min : 0, max != null ? max : Integer.MAX_VALUE);
+    if (!includeUnknown) {
+      return range;
+    }
+    return new BooleanQuery.Builder()
+        .add(range, Occur.SHOULD)
+        .add(IntPoint.newExactQuery(field, UNKNOWN), Occur.SHOULD)
+        .build();
+  }
+
+  private Document toDocument(Resume cv) {
+    Document document = new Document();
+    document.add(new StringField(ID, cv.getFilename(), Field.Store.YES));
+    document.add(new StoredField(NAME, cv.getName()));
+    document.add(new TextField(CONTENT, cv.getContent(), Field.Store.YES));
+    document.add(new StoredField(CONTENT_HASH, hash(cv)));
+
+    ResumeDigest digest = cv.getDigest();
+    if (digest != null) {
+      document.add(new TextField(SKILLS, String.join("\n", digest.getSkills()), Field.Store.NO));
+      document.add(new TextField(ROLES, String.join("\n", digest.getRoles()), Field.Store.NO));
+      document.add(new TextField(EDUCATION, String.join("\n", digest.getEducation()), Field.Store.NO));
+    }
+
+    ResumeFields fields = cv.getFields() != null ? cv.getFields() : new ResumeFields();
+    int years = fields.getYearsOfExperience() != null ? fields.getYearsOfExperience() : UNKNOWN;
+    int seniority = fields.getSeniority() != null ? fields.getSeniority().ordinal() : UNKNOWN;
+    document.add(new IntPoint(YEARS, years));
+    document.add(new StoredField(YEARS, years));
+    document.add(new IntPoint(SENIORITY, seniority));
+    document.add(new StoredField(SENIORITY, seniority));
+    if (fields.getLocation() != null) {
+      document.add(new TextField(LOCATION, fields.getLocation(), Field.Store.YES));
+    }
+    document.add(new StringField(LOCATION_KNOWN, String.valueOf(fields.getLocation() != null), Field.Store.NO));
+
+    if (cv.getClusterId() != null) {
+      document.add(new StoredField(CLUSTER, cv.getClusterId()));
+    }
+    if (cv.getDuplicates() != null) {
+      cv.getDuplicates().forEach(duplicate -> document.add(new StoredField(DUPLICATES, duplicate)));
+    }
+    return document;
+  }
+
+  /**
+   * Rebuilds a CV from its stored fields; the digest and screening verdict are derived again, or taken from the
+   * cache while the CV's content hash is unchanged.
+   */
+  private Resume toResume(Document document) {
+    int years = document.getField(YEARS).numericValue().intValue();
+    int seniority = document.getField(SENIORITY).numericValue().intValue();
+    Resume cv = Resume.builder()
+        .name(document.get(NAME))
+        .filename(document.get(ID))
+        .content(document.get(CONTENT))
+        .fields(ResumeFields.builder()
+            .yearsOfExperience(years != UNKNOWN ? years : null)
+            .seniority(seniority != UNKNOWN ? Seniority.values()[seniority] : null)
+            .location(document.get(LOCATION))
+            .build())
+        .clusterId(document.get(CLUSTER))
+        .duplicates(List.of(document.getValues(DUPLICATES)))
+        .build();
+    Derived derivedFields = derive(document);
+    cv.setDigest(derivedFields.digest());
+    cv.setScreening(derivedFields.screening());
+    return cv;
+  }
+
+  private Derived derive(Document document) {
+    String key = document.get(CONTENT_HASH);
+    if (key != null) {
+      synchronized (derived) {
+        Derived cached = derived.get(key);
+        if (cached != null) {
+          return cached;
+        }
+      }
+    }
+    Resume cv = Resume.builder().filename(document.get(ID)).content(document.get(CONTENT)).build();
+    resumeLoader.enrich(cv);
+    Derived fresh = new Derived(cv.getDigest(), cv.getScreening(), analyze(cv.getContent(), Integer.MAX_VALUE));
+    if (key != null) {
+      synchronized (derived) {
+        derived.put(key, fresh);
+      }
+    }
+    return fresh;
+  }
+
+  /**
+   * Share of the distinct vacancy terms found in the CV, comparable across vacancies unlike the BM25 score.
+   */
+  private static double matchedShare(Set<String> contentTerms, Set<String> terms) {
+    long matched = terms.stream().filter(contentTerms::contains).count();
+    return (double) matched / terms.size();
+  }
+
+  private Set<String> analyze(String text, int maxTerms) {
+    Set<String> terms = new LinkedHashSet<>();
+    try (TokenStream stream = analyzer.tokenStream(CONTENT, text)) {
+      CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+      stream.reset();
+      while (terms.size() < maxTerms && stream.incrementToken()) {
+        terms.add(term.toString());
+      }
+      stream.end();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return terms;
+  }
+
+  /**
+   * Hash of everything indexed for a CV, so a startup sync rewrites only CVs that changed.
+   */
+  private static String hash(Resume cv) {
+    ResumeDigest digest = cv.getDigest();
+    String indexed = String.join("\u0000", cv.getContent(), cv.getName(), String.valueOf(cv.getFields()),
+        String.valueOf(cv.getDuplicates()),
+        digest != null ? digest.getSkills() + "|" + digest.getRoles() + "|" + digest.getEducation() : "");
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(indexed.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static double seconds(Duration duration) {
+    return duration.toNanos() / 1_000_000_000.0;
+  }
+}
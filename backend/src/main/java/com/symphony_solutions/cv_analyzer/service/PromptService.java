@@ -2,111 +2,69 @@ package com.symphony_solutions.cv_analyzer.service;
 
 import com.symphony_solutions.cv_analyzer.config.RatingConfig;
 import com.symphony_solutions.cv_analyzer.dto.response.PromptResponseDto;
+import com.symphony_solutions.cv_analyzer.dto.response.PromptVersionResponseDto;
 import com.symphony_solutions.cv_analyzer.dto.request.PromptUpdateRequestDto;
 import com.symphony_solutions.cv_analyzer.dto.type.PromptRole;
 import com.symphony_solutions.cv_analyzer.dto.type.PromptType;
 import com.symphony_solutions.cv_analyzer.exception.PromptManagementException;
-import jakarta.annotation.PostConstruct;
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Service;
 
+/**
+ * Prompts for the LLM calls and their management. Contents come from the {@link PromptStore}; every read takes
+ * one snapshot, so the system and user prompts of a call always belong together.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PromptService {
 
-  private final ResourceLoader resourceLoader;
+  private final PromptStore promptStore;
   private final RatingConfig ratingConfig;
 
-  @Value("${prompts.summary.system:classpath:prompts/summary/system.txt}")
-  private String summarySystemPath;
-
-  @Value("${prompts.summary.user:classpath:prompts/summary/user.txt}")
-  private String summaryUserPath;
-
-  @Value("${prompts.rating.system:classpath:prompts/rating/system.txt}")
-  private String ratingSystemPath;
-
-  @Value("${prompts.rating.user:classpath:prompts/rating/user.txt}")
-  private String ratingUserPath;
-
-  private volatile String cachedSummarySystem;
-  private volatile String cachedSummaryUser;
-  private volatile String cachedRatingSystem;
-  private volatile String cachedRatingUser;
-
-  @PostConstruct
-  public void init() {
-    reloadAll();
-  }
-
-  public synchronized void refresh() {
-    reloadAll();
-  }
-
-  public String getSummarySystemPrompt() {
-    return cachedSummarySystem;
+  /**
+   * System and user prompt of one type, with the rating placeholders filled in.
+   */
+  public record Prompts(String system, String user) {
   }
 
-  public String getSummaryUserPrompt() {
-    return cachedSummaryUser;
+  public void refresh() {
+    promptStore.reload("refresh");
   }
 
-  public String getRatingSystemPrompt() {
-    return cachedRatingSystem.replace("{{rating_range}}", ratingConfig.getRangeDescription());
+  public Prompts getPrompts(PromptType type) {
+    PromptSnapshot snapshot = promptStore.snapshot();
+    return new Prompts(
+        fill(type, snapshot.content(type, PromptRole.SYSTEM)),
+        fill(type, snapshot.content(type, PromptRole.USER)));
   }
 
-  public String getRatingUserPrompt() {
-    return cachedRatingUser
+  /**
+   * Fills in the rating placeholders of a prompt of the given type.
+   */
+  public String fill(PromptType type, String content) {
+    if (type != PromptType.RATING && type != PromptType.RATING_BATCH) {
+      return content;
+    }
+    return content
         .replace("{{rating_range}}", ratingConfig.getRangeDescription())
         .replace("{{max_rating}}", String.valueOf(ratingConfig.getMax()));
   }
 
-  private void reloadAll() {
-    cachedSummarySystem = readResource(summarySystemPath);
-    cachedSummaryUser = readResource(summaryUserPath);
-    cachedRatingSystem = readResource(ratingSystemPath);
-    cachedRatingUser = readResource(ratingUserPath);
-  }
-
-  private String readResource(String location) {
-    try {
-      Resource resource = resourceLoader.getResource(location);
-      try (BufferedReader reader = new BufferedReader(
-          new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
-        return reader.lines().collect(Collectors.joining("\n"));
-      }
-    } catch (Exception e) {
-      log.error("Failed to read resource: {}", location, e);
-      // Fall back to empty string so callers can still send a prompt, though degraded
-      return "";
-    }
-  }
-
   /**
    * Get all prompts as DTOs for management interface.
    */
   public List<PromptResponseDto> getAllPrompts() {
+    PromptSnapshot snapshot = promptStore.snapshot();
     List<PromptResponseDto> prompts = new ArrayList<>();
-    prompts.add(new PromptResponseDto(PromptType.SUMMARY, PromptRole.SYSTEM, cachedSummarySystem, summarySystemPath, true));
-    prompts.add(new PromptResponseDto(PromptType.SUMMARY, PromptRole.USER, cachedSummaryUser, summaryUserPath, true));
-    prompts.add(new PromptResponseDto(PromptType.RATING, PromptRole.SYSTEM, cachedRatingSystem, ratingSystemPath, true));
-    prompts.add(new PromptResponseDto(PromptType.RATING, PromptRole.USER, cachedRatingUser, ratingUserPath, true));
+    for (PromptType type : PromptType.values()) {
+      for (PromptRole role : PromptRole.values()) {
+        prompts.add(toDto(snapshot, type, role));
+      }
+    }
     return prompts;
   }
 
@@ -114,41 +72,36 @@ public class PromptService {
    * Get a specific prompt by type and role.
    */
   public PromptResponseDto getPrompt(String typeStr, String roleStr) {
-    PromptType type;
-    PromptRole role;
-    try {
-      type = PromptType.valueOf(typeStr.toUpperCase());
-      role = PromptRole.valueOf(roleStr.toUpperCase());
-    } catch (Exception e) {
-      throw new PromptManagementException("Invalid prompt type or role: " + typeStr + "/" + roleStr);
+    return toDto(promptStore.snapshot(), parseType(typeStr, roleStr), parseRole(typeStr, roleStr));
+  }
+
+  /**
+   * Versions of a prompt kept since startup, newest first.
+   */
+  public List<PromptVersionResponseDto> getVersions(String typeStr, String roleStr) {
+    PromptType type = parseType(typeStr, roleStr);
+    PromptRole role = parseRole(typeStr, roleStr);
+    PromptSnapshot snapshot = promptStore.snapshot();
+    PromptSnapshot.Version current = snapshot.current(type, role);
+    List<PromptVersionResponseDto> versions = new ArrayList<>();
+    for (PromptSnapshot.Version version : snapshot.history(type, role)) {
+      versions.add(0, new PromptVersionResponseDto(version.number(), version.content(), version.source(),
+          version.savedAt(), current != null && version.number() == current.number()));
     }
-    return switch (type) {
-      case SUMMARY -> switch (role) {
-        case SYSTEM ->
-            new PromptResponseDto(PromptType.SUMMARY, PromptRole.SYSTEM, cachedSummarySystem, summarySystemPath, true);
-        case USER -> new PromptResponseDto(PromptType.SUMMARY, PromptRole.USER, cachedSummaryUser, summaryUserPath, true);
-      };
-      case RATING -> switch (role) {
-        case SYSTEM -> new PromptResponseDto(PromptType.RATING, PromptRole.SYSTEM, cachedRatingSystem, ratingSystemPath, true);
-        case USER -> new PromptResponseDto(PromptType.RATING, PromptRole.USER, cachedRatingUser, ratingUserPath, true);
-      };
-    };
+    return versions;
   }
 
   /**
-   * Update a prompt and save it to file.
+   * Update a prompt and save it to the prompt store.
    */
-  public synchronized PromptResponseDto updatePrompt(PromptUpdateRequestDto request) {
+  public PromptResponseDto updatePrompt(PromptUpdateRequestDto request) {
     validatePromptUpdateRequest(request);
     PromptType type = request.getType();
     PromptRole role = request.getRole();
-    String filePath = getFilePath(type, role);
-    String content = request.getContent();
     try {
-      writeToFile(filePath, content);
-      updateCache(type, role, content);
+      PromptSnapshot snapshot = promptStore.save(type, role, request.getContent(), "update");
       log.info("Successfully updated prompt: {}/{}", type, role);
-      return new PromptResponseDto(type, role, content, filePath, true);
+      return toDto(snapshot, type, role);
     } catch (Exception e) {
       log.error("Failed to update prompt: {}/{}", type, role, e);
       throw new PromptManagementException("Failed to update prompt: " + e.getMessage(), e);
@@ -156,30 +109,64 @@ public class PromptService {
   }
 
   /**
-   * Reset a prompt to its default value from the classpath resource.
+   * Make a kept version of a prompt current again; it is saved as a new version.
    */
-  public synchronized PromptResponseDto resetPrompt(String typeStr, String roleStr) {
-    PromptType type;
-    PromptRole role;
+  public PromptResponseDto restoreVersion(String typeStr, String roleStr, int version) {
+    PromptType type = parseType(typeStr, roleStr);
+    PromptRole role = parseRole(typeStr, roleStr);
+    PromptSnapshot.Version restored = promptStore.snapshot().history(type, role).stream()
+        .filter(kept -> kept.number() == version)
+        .findFirst()
+        .orElseThrow(() -> new PromptManagementException(
+            "Version " + version + " of prompt " + type + "/" + role + " is not kept"));
     try {
-      type = PromptType.valueOf(typeStr.toUpperCase());
-      role = PromptRole.valueOf(roleStr.toUpperCase());
+      PromptSnapshot snapshot = promptStore.save(type, role, restored.content(), "restore");
+      log.info("Successfully restored prompt {}/{} to version {}", type, role, version);
+      return toDto(snapshot, type, role);
     } catch (Exception e) {
-      throw new PromptManagementException("Invalid prompt type or role: " + typeStr + "/" + roleStr);
+      log.error("Failed to restore prompt: {}/{}", type, role, e);
+      throw new PromptManagementException("Failed to restore prompt: " + e.getMessage(), e);
     }
-    String filePath = getFilePath(type, role);
-    String originalContent = readResource(filePath);
+  }
+
+  /**
+   * Reset a prompt to its default by removing the edited copy from the prompt store.
+   */
+  public PromptResponseDto resetPrompt(String typeStr, String roleStr) {
+    PromptType type = parseType(typeStr, roleStr);
+    PromptRole role = parseRole(typeStr, roleStr);
     try {
-      writeToFile(filePath, originalContent);
-      updateCache(type, role, originalContent);
+      PromptSnapshot snapshot = promptStore.reset(type, role);
       log.info("Successfully reset prompt: {}/{}", type, role);
-      return new PromptResponseDto(type, role, originalContent, filePath, true);
+      return toDto(snapshot, type, role);
     } catch (Exception e) {
       log.error("Failed to reset prompt: {}/{}", type, role, e);
       throw new PromptManagementException("Failed to reset prompt: " + e.getMessage(), e);
     }
   }
 
+  private PromptResponseDto toDto(PromptSnapshot snapshot, PromptType type, PromptRole role) {
+    PromptSnapshot.Version current = snapshot.current(type, role);
+    return new PromptResponseDto(type, role, snapshot.content(type, role), promptStore.location(type, role), true,
+        current != null ? current.number() : 0);
+  }
+
+  private static PromptType parseType(String typeStr, String roleStr) {
+    try {
+      return PromptType.valueOf(typeStr.toUpperCase().replace('-', '_'));
+    } catch (Exception e) {
+      throw new PromptManagementException("Invalid prompt type or role: " + typeStr + "/" + roleStr);
+    }
+  }
+
+  private static PromptRole parseRole(String typeStr, String roleStr) {
+    try {
+      return PromptRole.valueOf(roleStr.toUpperCase());
+    } catch (Exception e) {
+      throw new PromptManagementException("Invalid prompt type or role: " + typeStr + "/" + roleStr);
+    }
+  }
+
   private void validatePromptUpdateRequest(PromptUpdateRequestDto request) {
     if (request == null) {
       throw new PromptManagementException("Prompt update request cannot be null");
@@ -194,54 +181,4 @@ public class PromptService {
       throw new PromptManagementException("Prompt content cannot be null");
     }
   }
-
-  private String getFilePath(PromptType type, PromptRole role) {
-    return switch (type) {
-      case SUMMARY -> switch (role) {
-        case SYSTEM -> summarySystemPath;
-        case USER -> summaryUserPath;
-      };
-      case RATING -> switch (role) {
-        case SYSTEM -> ratingSystemPath;
-        case USER -> ratingUserPath;
-      };
-    };
-  }
-
-  private void updateCache(PromptType type, PromptRole role, String content) {
-    if (Objects.requireNonNull(type) == PromptType.SUMMARY) {
-      if (role == PromptRole.SYSTEM) {
-        cachedSummarySystem = content;
-      } else if (role == PromptRole.USER) {
-        cachedSummaryUser = content;
-      }
-    } else if (type == PromptType.RATING) {
-      if (role == PromptRole.SYSTEM) {
-        cachedRatingSystem = content;
-      } else if (role == PromptRole.USER) {
-        cachedRatingUser = content;
-      }
-    }
-  }
-
-  private void writeToFile(String filePath, String content) throws Exception {
-    // Handle classpath resources by converting to file path
-    String actualFilePath = filePath;
-    if (filePath.startsWith("classpath:")) {
-      actualFilePath = filePath.substring("classpath:".length());
-    }
-
-    // Get the actual file path in the resources directory
-    Path resourcePath = Paths.get("src/main/resources", actualFilePath);
-
-    // Ensure parent directories exist
-    Files.createDirectories(resourcePath.getParent());
-
-    // Write content to file
-    try (BufferedWriter writer = Files.newBufferedWriter(resourcePath, StandardCharsets.UTF_8)) {
-      writer.write(content);
-    }
-
-    log.debug("Written prompt content to file: {}", resourcePath);
-  }
 }
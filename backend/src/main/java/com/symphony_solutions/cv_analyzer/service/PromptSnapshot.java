@@ -0,0 +1,88 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import com.symphony_solutions.cv_analyzer.dto.type.PromptRole;
+import com.symphony_solutions.cv_analyzer.dto.type.PromptType;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable contents of every prompt, with the versions each has had since startup. Every change builds a new
+ * snapshot, so a reader holding one sees the system and user prompts of one moment, never a system prompt from
+ * before an update with a user prompt from after it.
+ */
+final class PromptSnapshot {
+
+  record Key(PromptType type, PromptRole role) {
+  }
+
+  /**
+   * @param number  1 for the content read at startup, counting up with every change
+   * @param source  what produced the version: startup, update, reset, restore, refresh or file
+   */
+  record Version(int number, String content, String source, Instant savedAt) {
+  }
+
+  private static final PromptSnapshot EMPTY = new PromptSnapshot(Map.of());
+
+  private final Map<Key, List<Version>> history;
+
+  private PromptSnapshot(Map<Key, List<Version>> history) {
+    this.history = history;
+  }
+
+  static PromptSnapshot empty() {
+    return EMPTY;
+  }
+
+  /**
+   * @return the current content, empty if the prompt could not be read
+   */
+  String content(PromptType type, PromptRole role) {
+    Version current = current(type, role);
+    return current != null ? current.content() : "";
+  }
+
+  /**
+   * @return null if the prompt has not been loaded
+   */
+  Version current(PromptType type, PromptRole role) {
+    List<Version> versions = history(type, role);
+    return versions.isEmpty() ? null : versions.get(versions.size() - 1);
+  }
+
+  /**
+   * Kept versions, oldest first.
+   */
+  List<Version> history(PromptType type, PromptRole role) {
+    return history.getOrDefault(new Key(type, role), List.of());
+  }
+
+  /**
+   * Snapshot in which each given content is its prompt's new current version; prompts whose content is unchanged
+   * keep their version. Only the newest {@code historySize} versions of a prompt are kept.
+   *
+   * @return this snapshot if nothing changed
+   */
+  PromptSnapshot with(Map<Key, String> contents, String source, int historySize) {
+    Map<Key, List<Version>> next = null;
+    Instant now = Instant.now();
+    for (Map.Entry<Key, String> entry : contents.entrySet()) {
+      Key key = entry.getKey();
+      Version current = current(key.type(), key.role());
+      if (current != null && current.content().equals(entry.getValue())) {
+        continue;
+      }
+      if (next == null) {
+        next = new HashMap<>(history);
+      }
+      List<Version> versions = new ArrayList<>(history(key.type(), key.role()));
+      versions.add(new Version(current != null ? current.number() + 1 : 1, entry.getValue(), source, now));
+      int keep = Math.max(1, historySize);
+      next.put(key, List.copyOf(versions.subList(Math.max(0, versions.size() - keep), versions.size())));
+    }
+    return next != null ? new PromptSnapshot(Map.copyOf(next)) : this;
+  }
+}
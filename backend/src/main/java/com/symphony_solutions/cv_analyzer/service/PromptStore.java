@@ -0,0 +1,268 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import com.symphony_solutions.cv_analyzer.config.PromptStoreConfig;
+import com.symphony_solutions.cv_analyzer.dto.type.PromptRole;
+import com.symphony_solutions.cv_analyzer.dto.type.PromptType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the current {@link PromptSnapshot} and keeps it in line with the files. Each prompt is read from its
+ * file in {@link PromptStoreConfig#getDir()} when there is one, otherwise from its {@code prompts.<type>.<role>}
+ * location. Edits are written to a temporary file that is then renamed over the prompt's file, so neither this
+ * store nor another reader ever sees half a prompt. Readers take the snapshot from a single reference and never
+ * wait; changes are made one at a time, and with {@code prompts.store.watch} files edited on disk are picked up
+ * by a watcher thread.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PromptStore {
+
+  private static final long SETTLE_MILLIS = 100;
+
+  private final ResourceLoader resourceLoader;
+  private final Environment environment;
+  private final PromptStoreConfig promptStoreConfig;
+
+  private final AtomicReference<PromptSnapshot> current = new AtomicReference<>(PromptSnapshot.empty());
+  private final Object writeLock = new Object();
+  private volatile WatchService watchService;
+
+  @PostConstruct
+  void init() {
+    try {
+      for (PromptType type : PromptType.values()) {
+        Files.createDirectories(promptStoreConfig.getDir().resolve(directoryName(type)));
+      }
+    } catch (IOException e) {
+      log.warn("Cannot create the prompt store {}, prompt edits will fail", promptStoreConfig.getDir(), e);
+    }
+    reload("startup");
+    if (promptStoreConfig.isWatch()) {
+      startWatching();
+    }
+  }
+
+  @PreDestroy
+  void close() throws IOException {
+    if (watchService != null) {
+      watchService.close();
+    }
+  }
+
+  PromptSnapshot snapshot() {
+    return current.get();
+  }
+
+  /**
+   * Reads every prompt again and publishes the changed ones together. A prompt that cannot be read keeps its
+   * current version, e.g. while an editor has the file briefly removed.
+   */
+  PromptSnapshot reload(String source) {
+    synchronized (writeLock) {
+      PromptSnapshot previous = current.get();
+      Map<PromptSnapshot.Key, String> contents = new LinkedHashMap<>();
+      for (PromptType type : PromptType.values()) {
+        for (PromptRole role : PromptRole.values()) {
+          String location = location(type, role);
+          Optional<String> content = tryReadResource(location);
+          if (content.isPresent()) {
+            contents.put(new PromptSnapshot.Key(type, role), content.get());
+          } else if (previous.current(type, role) != null) {
+            log.warn("Keeping the current {}/{} prompt, {} could not be read", type, role, location);
+          } else {
+            contents.put(new PromptSnapshot.Key(type, role), "");
+          }
+        }
+      }
+      return publish(contents, source);
+    }
+  }
+
+  /**
+   * Saves the content to the prompt's file in the store and publishes it.
+   */
+  PromptSnapshot save(PromptType type, PromptRole role, String content, String source) throws IOException {
+    synchronized (writeLock) {
+      writeAtomically(storedPath(type, role), content);
+      return publish(Map.of(new PromptSnapshot.Key(type, role), content), source);
+    }
+  }
+
+  /**
+   * Deletes the prompt's file from the store, so its default location applies again.
+   */
+  PromptSnapshot reset(PromptType type, PromptRole role) throws IOException {
+    synchronized (writeLock) {
+      Files.deleteIfExists(storedPath(type, role));
+      String content = readResource(defaultLocation(type, role));
+      return publish(Map.of(new PromptSnapshot.Key(type, role), content), "reset");
+    }
+  }
+
+  /**
+   * Where the prompt is currently read from.
+   */
+  String location(PromptType type, PromptRole role) {
+    Path stored = storedPath(type, role);
+    return Files.isRegularFile(stored) ? "file:" + stored.toAbsolutePath() : defaultLocation(type, role);
+  }
+
+  private PromptSnapshot publish(Map<PromptSnapshot.Key, String> contents, String source) {
+    PromptSnapshot previous = current.get();
+    PromptSnapshot next = previous.with(contents, source, promptStoreConfig.getHistorySize());
+    if (next != previous) {
+      current.set(next);
+      log.info("Prompts changed ({}): {}", source, contents.keySet().stream()
+          .filter(key -> next.current(key.type(), key.role()) != previous.current(key.type(), key.role()))
+          .map(key -> key.type() + "/" + key.role() + " v" + next.current(key.type(), key.role()).number())
+          .collect(Collectors.joining(", ")));
+    }
+    return next;
+  }
+
+  private Path storedPath(PromptType type, PromptRole role) {
+    return promptStoreConfig.getDir()
+        .resolve(directoryName(type))
+        .resolve(role.name().toLowerCase(Locale.ROOT) + ".txt");
+  }
+
+  private String defaultLocation(PromptType type, PromptRole role) {
+    String directory = directoryName(type);
+    String name = role.name().toLowerCase(Locale.ROOT);
+    return environment.getProperty("prompts." + directory + "." + name,
+        "classpath:prompts/" + directory + "/" + name + ".txt");
+  }
+
+  private static String directoryName(PromptType type) {
+    return type.name().toLowerCase(Locale.ROOT).replace('_', '-');
+  }
+
+  private String readResource(String location) {
+    // Fall back to empty string so callers can still send a prompt, though degraded
+    return tryReadResource(location).orElse("");
+  }
+
+  private Optional<String> tryReadResource(String location) {
+    try {
+      Resource resource = resourceLoader.getResource(location);
+      try (BufferedReader reader = new BufferedReader(
+          new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+        return Optional.of(reader.lines().collect(Collectors.joining("\n")));
+      }
+    } catch (Exception e) {
+      log.error("Failed to read resource: {}", location, e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Writes and syncs a temporary file next to the target, then renames it over the target.
+   */
+  private static void writeAtomically(Path target, String content) throws IOException {
+    Files.createDirectories(target.toAbsolutePath().getParent());
+    // Not Files.createTempFile: its owner-only permissions would carry over to the prompt file
+    Path temp = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+    try {
+      Files.writeString(temp, content, StandardCharsets.UTF_8, StandardOpenOption.CREATE_NEW,
+          StandardOpenOption.WRITE);
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        channel.force(true);
+      }
+      try {
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  private void startWatching() {
+    try {
+      WatchService watcher = FileSystems.getDefault().newWatchService();
+      for (PromptType type : PromptType.values()) {
+        Path directory = promptStoreConfig.getDir().resolve(directoryName(type));
+        if (Files.isDirectory(directory)) {
+          directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+              StandardWatchEventKinds.ENTRY_DELETE);
+        }
+      }
+      watchService = watcher;
+    } catch (IOException e) {
+      log.warn("Not watching {}, call the refresh endpoint after editing prompt files", promptStoreConfig.getDir(), e);
+      return;
+    }
+    Thread thread = new Thread(this::watch, "prompt-watcher");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  private void watch() {
+    try {
+      while (true) {
+        WatchKey key = watchService.take();
+        boolean changed = promptFileChanged(key);
+        if (changed) {
+          // Editors may save in several steps; take in whatever else changes meanwhile before reading
+          TimeUnit.MILLISECONDS.sleep(SETTLE_MILLIS);
+          for (WatchKey more = watchService.poll(); more != null; more = watchService.poll()) {
+            promptFileChanged(more);
+          }
+          reload("file");
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ClosedWatchServiceException e) {
+      log.debug("Prompt watcher stopped");
+    }
+  }
+
+  /**
+   * Consumes the key's events. Temporary files of atomic writes and editor swap files do not count.
+   */
+  private static boolean promptFileChanged(WatchKey key) {
+    boolean changed = false;
+    for (WatchEvent<?> event : key.pollEvents()) {
+      if (event.kind() == StandardWatchEventKinds.OVERFLOW
+          || event.context() instanceof Path name && name.toString().endsWith(".txt")) {
+        changed = true;
+      }
+    }
+    key.reset();
+    return changed;
+  }
+}
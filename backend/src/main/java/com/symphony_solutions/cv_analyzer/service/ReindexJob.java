@@ -0,0 +1,93 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import com.symphony_solutions.cv_analyzer.dto.type.ReindexState;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * State of the background corpus rebuild, updated by the rebuilding thread and read by the status endpoint.
+ * At most one rebuild runs at a time.
+ */
+final class ReindexJob implements ResumeLoader.Progress {
+
+  private final AtomicBoolean running = new AtomicBoolean();
+  private volatile ReindexState state = ReindexState.IDLE;
+  private volatile String stage;
+  private volatile int processed;
+  private volatile int total;
+  private volatile int documents;
+  private volatile Instant startedAt;
+  private volatile Instant finishedAt;
+  private volatile String error;
+
+  /**
+   * Claims the job; false if a rebuild is already running.
+   */
+  boolean start() {
+    if (!running.compareAndSet(false, true)) {
+      return false;
+    }
+    state = ReindexState.RUNNING;
+    update(null, 0, 0);
+    documents = 0;
+    startedAt = Instant.now();
+    finishedAt = null;
+    error = null;
+    return true;
+  }
+
+  @Override
+  public void update(String stage, int done, int total) {
+    this.stage = stage;
+    this.processed = done;
+    this.total = total;
+  }
+
+  void succeeded(int documents) {
+    this.documents = documents;
+    finish(ReindexState.SUCCEEDED);
+  }
+
+  void failed(Exception e) {
+    error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    finish(ReindexState.FAILED);
+  }
+
+  private void finish(ReindexState result) {
+    finishedAt = Instant.now();
+    state = result;
+    running.set(false);
+  }
+
+  ReindexState state() {
+    return state;
+  }
+
+  String stage() {
+    return stage;
+  }
+
+  int processed() {
+    return processed;
+  }
+
+  int total() {
+    return total;
+  }
+
+  int documents() {
+    return documents;
+  }
+
+  Instant startedAt() {
+    return startedAt;
+  }
+
+  Instant finishedAt() {
+    return finishedAt;
+  }
+
+  String error() {
+    return error;
+  }
+}
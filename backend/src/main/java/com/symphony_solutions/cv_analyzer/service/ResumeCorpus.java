@@ -0,0 +1,152 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import com.symphony_solutions.cv_analyzer.config.RetrievalConfig;
+import com.symphony_solutions.cv_analyzer.dto.type.Seniority;
+import com.symphony_solutions.cv_analyzer.model.CandidateFilter;
+import com.symphony_solutions.cv_analyzer.model.Resume;
+import com.symphony_solutions.cv_analyzer.model.ResumeFields;
+import com.symphony_solutions.cv_analyzer.service.embedding.EmbeddingService;
+import com.symphony_solutions.cv_analyzer.util.HnswIndex;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable set of searchable CVs (one per near-duplicate cluster) with their structured fields stored column-wise,
+ * so a filter is evaluated over primitive arrays before any CV text is touched, and a {@link KeywordIndex} over
+ * their text. In hybrid mode every CV is also embedded once into an {@link HnswIndex}. Once indexed, CV text can be
+ * compressed: only the indexes, the fields and the digests stay hot.
+ */
+final class ResumeCorpus {
+
+  private static final int UNKNOWN = -1;
+
+  private final List<Resume> resumes;
+  private final int[] yearsOfExperience;
+  private final byte[] seniority;
+  private final String[] location;
+  private final KeywordIndex keywordIndex;
+  private final HnswIndex vectorIndex;
+  private final Map<String, Resume> byFilename;
+
+  /**
+   * @param embeddingService null unless hybrid retrieval is enabled
+   */
+  ResumeCorpus(List<Resume> resumes, boolean compressContent, EmbeddingService embeddingService,
+               RetrievalConfig.Hybrid hybrid) {
+    this.resumes = List.copyOf(resumes);
+    int size = this.resumes.size();
+    this.yearsOfExperience = new int[size];
+    this.seniority = new byte[size];
+    this.location = new String[size];
+    this.byFilename = new HashMap<>(size * 2);
+    for (int i = 0; i < size; i++) {
+      ResumeFields fields = this.resumes.get(i).getFields();
+      Integer years = fields != null ? fields.getYearsOfExperience() : null;
+      Seniority level = fields != null ? fields.getSeniority() : null;
+      String place = fields != null ? fields.getLocation() : null;
+      yearsOfExperience[i] = years != null ? years : UNKNOWN;
+      seniority[i] = (byte) (level != null ? level.ordinal() : UNKNOWN);
+      location[i] = place != null ? place.toLowerCase(Locale.ROOT) : null;
+      byFilename.put(this.resumes.get(i).getFilename(), this.resumes.get(i));
+    }
+    this.keywordIndex = new KeywordIndex(this.resumes.stream().map(Resume::getContent).toList());
+    this.vectorIndex = embeddingService != null ? buildVectorIndex(embeddingService, hybrid) : null;
+    if (compressContent) {
+      this.resumes.forEach(Resume::compressContent);
+    }
+  }
+
+  List<Resume> resumes() {
+    return resumes;
+  }
+
+  /**
+   * @return null if the CV is not in this corpus
+   */
+  Resume byFilename(String filename) {
+    return byFilename.get(filename);
+  }
+
+  KeywordIndex keywordIndex() {
+    return keywordIndex;
+  }
+
+  /**
+   * Vector index with the CVs' positions as ids, null unless hybrid retrieval is enabled.
+   */
+  HnswIndex vectorIndex() {
+    return vectorIndex;
+  }
+
+  /**
+   * Embeds the digest text of each CV (its content when there is no digest), so contact details and layout
+   * noise do not shape the vector.
+   */
+  private HnswIndex buildVectorIndex(EmbeddingService embeddingService, RetrievalConfig.Hybrid hybrid) {
+    List<String> texts = resumes.stream()
+        .map(cv -> cv.getDigest() != null ? cv.getDigest().toPromptText() : cv.getContent())
+        .toList();
+    List<float[]> vectors = embeddingService.embedAll(texts);
+    HnswIndex index = new HnswIndex(embeddingService.dimensions(), hybrid.getMaxConnections(),
+        hybrid.getEfConstruction(), vectors.size());
+    vectors.forEach(index::add);
+    return index;
+  }
+
+  int size() {
+    return resumes.size();
+  }
+
+  /**
+   * Indexes of the CVs that pass the filter.
+   */
+  BitSet eligible(CandidateFilter filter) {
+    BitSet eligible = new BitSet(size());
+    eligible.set(0, size());
+    if (filter.isEmpty()) {
+      return eligible;
+    }
+    boolean includeUnknown = filter.isIncludeUnknown();
+    int minYears = filter.getMinYearsOfExperience() != null ? filter.getMinYearsOfExperience() : Integer.MIN_VALUE;
+    int maxYears = filter.getMaxYearsOfExperience() != null ? filter.getMaxYearsOfExperience() : Integer.MAX_VALUE;
+    int minLevel = filter.getMinSeniority() != null ? filter.getMinSeniority().ordinal() : Integer.MIN_VALUE;
+    int maxLevel = filter.getMaxSeniority() != null ? filter.getMaxSeniority().ordinal() : Integer.MAX_VALUE;
+    boolean yearsConstrained = filter.getMinYearsOfExperience() != null || filter.getMaxYearsOfExperience() != null;
+    boolean levelConstrained = filter.getMinSeniority() != null || filter.getMaxSeniority() != null;
+    List<String> locations = filter.getLocations() == null ? List.of() : filter.getLocations().stream()
+        .map(place -> place.trim().toLowerCase(Locale.ROOT))
+        .filter(place -> !place.isEmpty())
+        .toList();
+
+    for (int i = 0; i < size(); i++) {
+      if (yearsConstrained && !inRange(yearsOfExperience[i], minYears, maxYears, includeUnknown)
+          || levelConstrained && !inRange(seniority[i], minLevel, maxLevel, includeUnknown)
+          || !locations.isEmpty() && !matchesLocation(location[i], locations, includeUnknown)) {
+        eligible.clear(i);
+      }
+    }
+    return eligible;
+  }
+
+  private static boolean inRange(int value, int min, int max, boolean includeUnknown) {
+    if (value == UNKNOWN) {
+      return includeUnknown;
+    }
+    return value >= min && value <= max;
+  }
+
+  private static boolean matchesLocation(String location, List<String> accepted, boolean includeUnknown) {
+    if (location == null) {
+      return includeUnknown;
+    }
+    for (String place : accepted) {
+      if (location.contains(place)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,65 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import com.symphony_solutions.cv_analyzer.config.DedupConfig;
+import com.symphony_solutions.cv_analyzer.model.Resume;
+import com.symphony_solutions.cv_analyzer.util.MinHashLsh;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Collapses near-duplicate CVs (re-exported PDFs, small edits of the same application) into clusters once,
+ * when the corpus is loaded. The longest CV of a cluster is its canonical representative, preferring CVs not
+ * flagged by the prompt-injection screen, so a flagged copy never hides a clean one.
+ */
+@Slf4j
+@Service
+public class ResumeDeduplicationService {
+
+  private final MinHashLsh minHashLsh;
+
+  public ResumeDeduplicationService(DedupConfig dedupConfig) {
+    this.minHashLsh = new MinHashLsh(dedupConfig.getShingleSize(), dedupConfig.getNumHashes(),
+        dedupConfig.getBands(), dedupConfig.getSimilarityThreshold());
+  }
+
+  /**
+   * Sets the cluster of every CV, and the collapsed filenames on each canonical CV.
+   *
+   * @return the number of CVs collapsed into another one
+   */
+  public int cluster(List<Resume> cvs) {
+    List<long[]> signatures = cvs.stream().map(cv -> minHashLsh.signature(cv.getContent())).toList();
+    int[] clusters = minHashLsh.cluster(signatures);
+
+    Map<Integer, List<Resume>> members = new LinkedHashMap<>();
+    for (int i = 0; i < cvs.size(); i++) {
+      members.computeIfAbsent(clusters[i], key -> new ArrayList<>()).add(cvs.get(i));
+    }
+    int collapsed = 0;
+    for (List<Resume> cluster : members.values()) {
+      Resume canonical = cluster.stream()
+          .max(Comparator.comparing((Resume cv) -> !cv.isFlagged())
+              .thenComparingInt(cv -> cv.getContent().length())
+              .thenComparing(Resume::getFilename, Comparator.reverseOrder()))
+          .orElseThrow();
+      List<String> duplicates = new ArrayList<>();
+      for (Resume cv : cluster) {
+        cv.setClusterId(canonical.getFilename());
+        if (cv != canonical) {
+          duplicates.add(cv.getFilename());
+        }
+      }
+      canonical.setDuplicates(List.copyOf(duplicates));
+      if (!duplicates.isEmpty()) {
+        log.info("CV {} has near-duplicates {}", canonical.getFilename(), duplicates);
+        collapsed += duplicates.size();
+      }
+    }
+    return collapsed;
+  }
+}
@@ -0,0 +1,222 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import com.symphony_solutions.cv_analyzer.config.DigestConfig;
+import com.symphony_solutions.cv_analyzer.model.ResumeDigest;
+import jakarta.annotation.PostConstruct;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Builds the {@link ResumeDigest} of a CV: normalized text without contact details and layout noise,
+ * plus skills, roles, years of experience and education found by simple patterns.
+ */
+@Service
+@RequiredArgsConstructor
+public class ResumeDigestService {
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  private static final Pattern CONTACT_LINE = Pattern.compile(
+      "(?i)^(e-?mail|phone|tel|mobile|address|location|linkedin|github|skype)\\s*:.*"
+          + "|.*[\\w.+-]+@[\\w-]+\\.[\\w.]+.*"
+          + "|.*(https?://|www\\.|linkedin\\.com|github\\.com).*");
+  private static final Pattern NOISE_LINE = Pattern.compile(
+      "(?i)^(curriculum vitae|resume|cv|page \\d+( of \\d+)?|\\d+|[-_=*•·.]+)$");
+  private static final Pattern PHONE = Pattern.compile("^[+()\\d\\s./-]{7,}$");
+  private static final Pattern STATED_YEARS = Pattern.compile("(?i)(\\d{1,2})\\+?\\s*(?:years?|yrs?)\\b");
+  private static final Pattern MONTH_RANGE = Pattern.compile(
+      "(?i)\\b(?:jan|feb|mar|apr|may|jun|jul|aug|sep|oct|nov|dec)[a-z]*\\.?\\s+((?:19|20)\\d{2})\\s*[-–—]\\s*"
+          + "(?:(?:jan|feb|mar|apr|may|jun|jul|aug|sep|oct|nov|dec)[a-z]*\\.?\\s+)?((?:19|20)\\d{2}|present|current|now)");
+  private static final Pattern ROLE = Pattern.compile(
+      "(?i)\\b(developer|engineer|manager|analyst|architect|designer|consultant|lead|tester|qa|intern"
+          + "|administrator|scientist|specialist|assistant|director|owner)\\b");
+  private static final Pattern EDUCATION = Pattern.compile(
+      "(?i)(?<!\\w)(bachelor|master|b\\.a\\.|b\\.?sc|m\\.?sc|m\\.a\\.|mba|ph\\.?d|degree"
+          + "|university|college|institute)(?!\\w)");
+  private static final int MAX_ROLES = 5;
+  private static final int MAX_EDUCATION = 3;
+  private static final int MAX_FACT_LINE_LENGTH = 100;
+  private static final int MAX_FACT_LINE_WORDS = 10;
+  /**
+   * Lines at the top and bottom of a page where running headers and footers sit.
+   */
+  private static final int PAGE_EDGE_LINES = 2;
+
+  private final DigestConfig digestConfig;
+
+  private Map<String, Pattern> skillPatterns;
+
+  @PostConstruct
+  void compileSkills() {
+    Map<String, Pattern> patterns = new LinkedHashMap<>();
+    for (String skill : digestConfig.getSkills()) {
+      patterns.put(skill, Pattern.compile("(?i)" + skillPattern(skill)));
+    }
+    for (String skill : digestConfig.getCaseSensitiveSkills()) {
+      patterns.put(skill, Pattern.compile(skillPattern(skill)));
+    }
+    this.skillPatterns = patterns;
+  }
+
+  private static String skillPattern(String skill) {
+    return "(?<![\\w.#+])" + Pattern.quote(skill) + "(?![\\w#+])";
+  }
+
+  /**
+   * Role and education lines move into the digest's fact fields and are left out of its text.
+   */
+  public ResumeDigest digest(String content) {
+    List<String> lines = normalizedLines(content);
+    String normalized = String.join("\n", lines);
+    List<String> roles = findLines(lines, ROLE, MAX_ROLES);
+    List<String> education = findLines(lines, EDUCATION, MAX_EDUCATION);
+    Set<String> facts = new HashSet<>(roles);
+    facts.addAll(education);
+
+    String text = lines.stream().filter(line -> !facts.contains(line)).collect(Collectors.joining("\n"));
+    if (text.length() > digestConfig.getMaxChars()) {
+      text = text.substring(0, digestConfig.getMaxChars());
+    }
+    return ResumeDigest.builder()
+        .skills(findSkills(normalized))
+        .roles(roles)
+        .yearsOfExperience(findYearsOfExperience(normalized))
+        .education(education)
+        .text(text)
+        .build();
+  }
+
+  /**
+   * Trimmed, whitespace-collapsed lines without blanks, contact details and page furniture. PDF running headers
+   * and footers (the same line at the same place near the top or bottom of several pages, which the loader
+   * separates with form feeds) are kept once; other repeated lines stay. Lines hard-wrapped by the PDF layout are
+   * re-joined.
+   */
+  private List<String> normalizedLines(String content) {
+    List<List<String>> pages = new ArrayList<>();
+    for (String page : content.split("\f")) {
+      pages.add(cleanLines(page));
+    }
+    Map<PageEdgeLine, Integer> pageCounts = new HashMap<>();
+    for (List<String> page : pages) {
+      for (int i = 0; i < page.size(); i++) {
+        PageEdgeLine edgeLine = PageEdgeLine.of(page, i);
+        if (edgeLine != null) {
+          pageCounts.merge(edgeLine, 1, Integer::sum);
+        }
+      }
+    }
+    List<String> lines = new ArrayList<>();
+    Set<PageEdgeLine> keptRunningLines = new HashSet<>();
+    for (List<String> page : pages) {
+      for (int i = 0; i < page.size(); i++) {
+        String line = page.get(i);
+        PageEdgeLine edgeLine = PageEdgeLine.of(page, i);
+        if (edgeLine != null && pageCounts.get(edgeLine) > 1 && !keptRunningLines.add(edgeLine)) {
+          continue;
+        }
+        int last = lines.size() - 1;
+        if (last >= 0 && isContinuation(lines.get(last), line)) {
+          lines.set(last, lines.get(last) + " " + line);
+        } else {
+          lines.add(line);
+        }
+      }
+    }
+    return lines;
+  }
+
+  private List<String> cleanLines(String page) {
+    List<String> lines = new ArrayList<>();
+    for (String raw : page.split("\\R")) {
+      String line = WHITESPACE.matcher(raw).replaceAll(" ").trim();
+      if (line.isEmpty()
+          || CONTACT_LINE.matcher(line).matches()
+          || NOISE_LINE.matcher(line).matches()
+          || PHONE.matcher(line).matches()) {
+        continue;
+      }
+      lines.add(line);
+    }
+    return lines;
+  }
+
+  /**
+   * A line near the top (position from 0) or bottom (position from -1) of a page.
+   */
+  private record PageEdgeLine(int position, String line) {
+
+    static PageEdgeLine of(List<String> page, int index) {
+      if (index < PAGE_EDGE_LINES) {
+        return new PageEdgeLine(index, page.get(index));
+      }
+      if (index >= page.size() - PAGE_EDGE_LINES) {
+        return new PageEdgeLine(index - page.size(), page.get(index));
+      }
+      return null;
+    }
+  }
+
+  private boolean isContinuation(String previous, String line) {
+    char last = previous.charAt(previous.length() - 1);
+    return Character.isLowerCase(line.charAt(0)) && ".:;!?".indexOf(last) < 0;
+  }
+
+  private List<String> findSkills(String text) {
+    List<String> skills = new ArrayList<>();
+    skillPatterns.forEach((skill, pattern) -> {
+      if (pattern.matcher(text).find()) {
+        skills.add(skill);
+      }
+    });
+    return skills;
+  }
+
+  /**
+   * Short lines (titles, degrees) matching the pattern; full sentences are descriptions, not facts.
+   */
+  private List<String> findLines(List<String> lines, Pattern pattern, int max) {
+    return lines.stream()
+        .filter(line -> line.length() <= MAX_FACT_LINE_LENGTH && !line.endsWith("."))
+        .filter(line -> WHITESPACE.split(line).length <= MAX_FACT_LINE_WORDS)
+        .filter(line -> pattern.matcher(line).find())
+        .limit(max)
+        .toList();
+  }
+
+  /**
+   * The largest explicitly stated number of years, otherwise the span of dated (month year) positions.
+   */
+  private Integer findYearsOfExperience(String text) {
+    Integer stated = null;
+    Matcher years = STATED_YEARS.matcher(text);
+    while (years.find()) {
+      int value = Integer.parseInt(years.group(1));
+      stated = stated == null ? value : Math.max(stated, value);
+    }
+    if (stated != null) {
+      return stated;
+    }
+    int first = Integer.MAX_VALUE;
+    int last = Integer.MIN_VALUE;
+    Matcher ranges = MONTH_RANGE.matcher(text);
+    while (ranges.find()) {
+      int start = Integer.parseInt(ranges.group(1));
+      String endText = ranges.group(2);
+      int end = Character.isDigit(endText.charAt(0)) ? Integer.parseInt(endText) : Year.now().getValue();
+      first = Math.min(first, start);
+      last = Math.max(last, end);
+    }
+    return first <= last ? Math.max(last - first, 1) : null;
+  }
+}
@@ -0,0 +1,99 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import com.symphony_solutions.cv_analyzer.dto.type.Seniority;
+import com.symphony_solutions.cv_analyzer.model.ResumeDigest;
+import com.symphony_solutions.cv_analyzer.model.ResumeFields;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.stereotype.Service;
+
+/**
+ * Extracts {@link ResumeFields} with deterministic patterns; no LLM is involved, so filters behave the same on
+ * every run. Years of experience come from the digest, seniority from the opening summary (or the most recent
+ * role title) and location from a "Location:" style line.
+ */
+@Service
+public class ResumeFieldExtractor {
+
+  private static final Pattern LOCATION_LINE = Pattern.compile(
+      "(?im)^\\s*(?:location|address|based in|city)\\s*:\\s*(.+?)\\s*$");
+  private static final int MAX_LOCATION_LENGTH = 100;
+  private static final int SUMMARY_LENGTH = 600;
+  private static final Map<Seniority, Pattern> SENIORITY_PATTERNS = new LinkedHashMap<>();
+
+  static {
+    SENIORITY_PATTERNS.put(Seniority.LEAD, Pattern.compile("(?i)\\b(lead|principal|staff|head of|chief)\\b"));
+    SENIORITY_PATTERNS.put(Seniority.SENIOR, Pattern.compile("(?i)\\b(senior|sr\\.?)(?!\\w)"));
+    SENIORITY_PATTERNS.put(Seniority.MIDDLE, Pattern.compile("(?i)\\b(middle|mid-level|intermediate)\\b"));
+    SENIORITY_PATTERNS.put(Seniority.JUNIOR, Pattern.compile("(?i)\\b(junior|jr\\.?|entry-level)(?!\\w)"));
+    SENIORITY_PATTERNS.put(Seniority.INTERN, Pattern.compile("(?i)\\b(intern|internship|trainee)\\b"));
+  }
+
+  /**
+   * @param digest digest of the same CV, null if digesting failed
+   */
+  public ResumeFields extract(String content, ResumeDigest digest) {
+    return ResumeFields.builder()
+        .yearsOfExperience(digest != null ? digest.getYearsOfExperience() : null)
+        .seniority(findSeniority(content, digest))
+        .location(findLocation(content))
+        .build();
+  }
+
+  /**
+   * The level the opening summary introduces the candidate with, otherwise the level of the most recent role
+   * title that names one (CVs list positions newest first).
+   */
+  private Seniority findSeniority(String content, ResumeDigest digest) {
+    Seniority seniority = firstSeniorityIn(content.substring(0, Math.min(content.length(), SUMMARY_LENGTH)));
+    if (seniority != null || digest == null) {
+      return seniority;
+    }
+    for (String role : digest.getRoles()) {
+      seniority = seniorityOf(role);
+      if (seniority != null) {
+        return seniority;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * The level named first in free text: "Junior analyst reporting to the team lead" is junior.
+   */
+  private static Seniority firstSeniorityIn(String text) {
+    Seniority first = null;
+    int firstStart = Integer.MAX_VALUE;
+    for (Map.Entry<Seniority, Pattern> entry : SENIORITY_PATTERNS.entrySet()) {
+      Matcher matcher = entry.getValue().matcher(text);
+      if (matcher.find() && matcher.start() < firstStart) {
+        first = entry.getKey();
+        firstStart = matcher.start();
+      }
+    }
+    return first;
+  }
+
+  /**
+   * The highest level named in a title: "Senior Team Lead" is a lead.
+   */
+  private static Seniority seniorityOf(String text) {
+    for (Map.Entry<Seniority, Pattern> entry : SENIORITY_PATTERNS.entrySet()) {
+      if (entry.getValue().matcher(text).find()) {
+        return entry.getKey();
+      }
+    }
+    return null;
+  }
+
+  private static String findLocation(String content) {
+    Matcher matcher = LOCATION_LINE.matcher(content);
+    if (!matcher.find()) {
+      return null;
+    }
+    String location = matcher.group(1);
+    return location.length() > MAX_LOCATION_LENGTH ? location.substring(0, MAX_LOCATION_LENGTH) : location;
+  }
+}
@@ -1,124 +1,516 @@
 package com.symphony_solutions.cv_analyzer.service;
 
-import com.symphony_solutions.cv_analyzer.exception.ResumeParsingException;
+import com.symphony_solutions.cv_analyzer.config.CorpusConfig;
+import com.symphony_solutions.cv_analyzer.config.RetrievalConfig;
+import com.symphony_solutions.cv_analyzer.config.ShardingConfig;
+import com.symphony_solutions.cv_analyzer.dto.response.CorpusStatsResponseDto;
+import com.symphony_solutions.cv_analyzer.dto.response.ReindexStatusResponseDto;
+import com.symphony_solutions.cv_analyzer.model.CandidateFilter;
+import com.symphony_solutions.cv_analyzer.model.CandidateQuery;
+import com.symphony_solutions.cv_analyzer.model.Deadline;
 import com.symphony_solutions.cv_analyzer.model.Resume;
+import com.symphony_solutions.cv_analyzer.model.ScoredResume;
+import com.symphony_solutions.cv_analyzer.service.embedding.EmbeddingService;
+import com.symphony_solutions.cv_analyzer.util.HnswIndex;
+import com.symphony_solutions.cv_analyzer.util.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
+/**
+ * In-memory retrieval backend: the corpus is held on the heap behind a keyword index. With sharding enabled only
+ * the CVs of the shards served by this node are kept, one {@link ResumeCorpus} per shard.
+ */
 @Slf4j
 @Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "candidate.retrieval", name = "backend", havingValue = "keyword", matchIfMissing = true)
 public class ResumeFileService implements ResumeService {
 
-  private static final String TXT_PATTERN = "classpath:cvs/*.txt";
+  private final ResumeLoader resumeLoader;
 
-  private static final String PDF_PATTERN = "classpath:cvs/*.pdf";
+  private final CorpusConfig corpusConfig;
+
+  private final RetrievalConfig retrievalConfig;
+
+  private final ShardingConfig shardingConfig;
+
+  private final EmbeddingService embeddingService;
+
+  private final MeterRegistry meterRegistry;
 
   /**
-   * Returns the top N candidates most relevant to the vacancy description.
+   * Searchable CVs with their digests, fields and screening verdicts by shard id, loaded on first use and replaced
+   * as a whole by {@link #reindex()}. A single shard 0 holds the whole corpus when sharding is disabled.
+   */
+  private volatile CorpusGeneration live;
+
+  /**
+   * Generations replaced by a reindex that still serve in-flight queries; each leaves the set once released.
+   */
+  private final Set<CorpusGeneration> draining = ConcurrentHashMap.newKeySet();
+
+  private final AtomicLong generations = new AtomicLong();
+
+  private final ReindexJob reindexJob = new ReindexJob();
+
+  private final ThreadPoolTaskExecutor reindexExecutor = reindexExecutor();
+
+  /**
+   * Returns the top N candidates most relevant to the vacancy description, one per near-duplicate cluster.
+   * A CV scores one point per vacancy word it contains, counted from the keyword index postings.
+   * CVs failing the query filter are dropped before scoring.
+   * Once the query deadline expires, the CVs are ranked by the words counted so far.
+   * In hybrid mode, see {@link #fuse}.
    */
   @Override
-  public List<Resume> findTopCandidates(String vacancyDescription, int limit) {
-    String[] keywords = extractKeywords(vacancyDescription);
-    List<Resume> allCvs = loadAllCvs();
+  public List<ScoredResume> findTopScoredCandidates(CandidateQuery query) {
+    return findTopScoredCandidates(List.of(query)).get(0);
+  }
 
-    return allCvs.stream()
-        .sorted(byRelevanceScore(keywords))
-        .limit(limit)
-        .toList();
+  /**
+   * Answers several queries in one pass over each corpus, see {@link #searchAll}.
+   */
+  @Override
+  public List<List<ScoredResume>> findTopScoredCandidates(List<CandidateQuery> queries) {
+    List<float[]> vacancyVectors = embedVacancies(queries);
+    CorpusGeneration generation = acquire();
+    try {
+      Collection<ResumeCorpus> corpora = generation.shards().values();
+      if (corpora.size() == 1) {
+        return searchAll(corpora.iterator().next(), queries, vacancyVectors, false);
+      }
+      List<List<List<ScoredResume>>> byQuery = new ArrayList<>();
+      queries.forEach(query -> byQuery.add(new ArrayList<>()));
+      for (ResumeCorpus cvs : corpora) {
+        List<List<ScoredResume>> results = searchAll(cvs, queries, vacancyVectors, true);
+        for (int q = 0; q < queries.size(); q++) {
+          byQuery.get(q).add(results.get(q));
+        }
+      }
+      List<List<ScoredResume>> top = new ArrayList<>(queries.size());
+      for (int q = 0; q < queries.size(); q++) {
+        top.add(mergeShards(byQuery.get(q), queries.get(q).getLimit(), retrievalConfig.getHybrid()));
+      }
+      return top;
+    } finally {
+      generation.release();
+    }
   }
 
   /**
-   * Loads all CVs from resources (txt and pdf).
+   * Top candidates of one shard served by this node, to be combined with other shards by {@link #mergeShards};
+   * see {@link #findTopScoredCandidates(CandidateQuery)}. In hybrid mode the whole fusion pool is returned.
+   *
+   * @throws IllegalArgumentException if this node does not serve the shard
    */
-  private List<Resume> loadAllCvs() {
-    List<Resume> cvs = new ArrayList<>();
-    cvs.addAll(loadTextCvs());
-    cvs.addAll(loadPdfCvs());
-    return cvs;
+  public List<ScoredResume> findTopScoredCandidates(int shard, CandidateQuery query) {
+    CorpusGeneration generation = acquire();
+    try {
+      ResumeCorpus cvs = generation.shards().get(shard);
+      if (cvs == null) {
+        throw new IllegalArgumentException("Shard " + shard + " is not served by this node");
+      }
+      return searchAll(cvs, List.of(query), embedVacancies(List.of(query)), true).get(0);
+    } finally {
+      generation.release();
+    }
   }
 
-  private String[] extractKeywords(String vacancyDescription) {
-    return vacancyDescription.toLowerCase().split("\\W+");
+  @Override
+  public Optional<Resume> findByFilename(String filename) {
+    return read(shards -> shards.values().stream()
+        .map(cvs -> cvs.byFilename(filename))
+        .filter(Objects::nonNull)
+        .findFirst());
+  }
+
+  @Override
+  public void warmUp() {
+    getGeneration();
+  }
+
+  @Override
+  public boolean isReady() {
+    return live != null;
+  }
+
+  public Set<Integer> servedShards() {
+    return read(shards -> Set.copyOf(shards.keySet()));
+  }
+
+  /**
+   * Starts rebuilding the corpus from the classpath in the background, unless a rebuild is already running.
+   * The new generation is built next to the live one and swapped in with a single write; queries never wait
+   * for it and finish on the generation they started on.
+   */
+  public ReindexStatusResponseDto reindex() {
+    if (reindexJob.start()) {
+      reindexExecutor.execute(this::rebuild);
+    }
+    return getReindexStatus();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    reindexExecutor.shutdown();
+  }
+
+  public ReindexStatusResponseDto getReindexStatus() {
+    CorpusGeneration current = live;
+    return ReindexStatusResponseDto.builder()
+        .state(reindexJob.state())
+        .liveGeneration(current != null ? current.number() : 0)
+        .stage(reindexJob.stage())
+        .processed(reindexJob.processed())
+        .total(reindexJob.total())
+        .documents(reindexJob.documents())
+        .drainingQueries(draining.stream().mapToInt(CorpusGeneration::readers).sum())
+        .startedAt(reindexJob.startedAt())
+        .finishedAt(reindexJob.finishedAt())
+        .error(reindexJob.error())
+        .build();
+  }
+
+  private void rebuild() {
+    try {
+      CorpusGeneration next = new CorpusGeneration(generations.incrementAndGet(), loadShards(reindexJob));
+      CorpusGeneration previous;
+      synchronized (this) {
+        previous = live;
+        live = next;
+      }
+      if (previous != null) {
+        draining.add(previous);
+        previous.retire(() -> draining.remove(previous));
+      }
+      int documents = next.shards().values().stream().mapToInt(ResumeCorpus::size).sum();
+      log.info("Corpus generation {} is live with {} CVs", next.number(), documents);
+      meterRegistry.counter("candidate.corpus.reindex", "result", "succeeded").increment();
+      reindexJob.succeeded(documents);
+    } catch (Exception e) {
+      log.error("Corpus reindex failed, generation {} stays live", live != null ? live.number() : 0, e);
+      meterRegistry.counter("candidate.corpus.reindex", "result", "failed").increment();
+      reindexJob.failed(e);
+    }
+  }
+
+  /**
+   * @param forMerge the results will be merged with other shards: in hybrid mode keep the whole fusion pool
+   */
+  private List<List<ScoredResume>> searchAll(ResumeCorpus cvs, List<CandidateQuery> queries,
+                                             List<float[]> vacancyVectors, boolean forMerge) {
+    int count = queries.size();
+    // Word -> occurrences in each query; the queries are tokenized together so shared words are scored once
+    Map<String, int[]> occurrences = new LinkedHashMap<>();
+    int[] keywordCounts = new int[count];
+    BitSet[] eligible = new BitSet[count];
+    Map<CandidateFilter, BitSet> eligibleByFilter = new HashMap<>();
+    for (int q = 0; q < count; q++) {
+      CandidateQuery query = queries.get(q);
+      eligible[q] = eligibleByFilter.computeIfAbsent(query.getFilter(), filter -> eligible(cvs, filter));
+      String[] keywords = extractKeywords(query.getVacancyDescription());
+      keywordCounts[q] = keywords.length;
+      for (String keyword : keywords) {
+        occurrences.computeIfAbsent(keyword, word -> new int[count])[q]++;
+      }
+    }
+
+    int[][] scores = new int[count][cvs.size()];
+    Deadline deadline = queries.get(0).getDeadline();
+    int scored = 0;
+    for (Map.Entry<String, int[]> word : occurrences.entrySet()) {
+      if (deadline.isExpired()) {
+        log.warn("Deadline reached after scoring {} of {} keywords, ranking partial results",
+            scored, occurrences.size());
+        break;
+      }
+      int[] counts = word.getValue();
+      for (int doc : cvs.keywordIndex().postings(word.getKey())) {
+        for (int q = 0; q < count; q++) {
+          if (counts[q] > 0 && eligible[q].get(doc)) {
+            scores[q][doc] += counts[q];
+          }
+        }
+      }
+      scored++;
+    }
+
+    List<List<ScoredResume>> results = new ArrayList<>(count);
+    for (int q = 0; q < count; q++) {
+      results.add(rank(cvs, queries.get(q), eligible[q], scores[q], keywordCounts[q],
+          vacancyVectors != null ? vacancyVectors.get(q) : null, forMerge));
+    }
+    return results;
+  }
+
+  private BitSet eligible(ResumeCorpus cvs, CandidateFilter filter) {
+    BitSet eligible = cvs.eligible(filter);
+    int excluded = cvs.size() - eligible.cardinality();
+    if (excluded > 0) {
+      log.debug("Filter {} excluded {} of {} CVs", filter, excluded, cvs.size());
+      meterRegistry.counter("candidate.filter.excluded").increment(excluded);
+    }
+    return eligible;
   }
 
-  private Comparator<Resume> byRelevanceScore(String[] keywords) {
-    return Comparator.comparingInt((Resume cv) -> matchScore(cv, keywords)).reversed();
+  private List<ScoredResume> rank(ResumeCorpus cvs, CandidateQuery query, BitSet eligible, int[] scores,
+                                  int keywordCount, float[] vacancyVector, boolean forMerge) {
+    if (cvs.vectorIndex() != null) {
+      return fuse(cvs, query, eligible, scores, keywordCount, vacancyVector, retrievalConfig.getHybrid(), forMerge);
+    }
+    List<Resume> allCvs = cvs.resumes();
+    return topByScore(scores, eligible, query.getLimit()).stream()
+        .map(doc -> ScoredResume.builder()
+            .resume(allCvs.get(doc))
+            .score(scores[doc])
+            .relevance(keywordCount == 0 ? 0 : (double) scores[doc] / keywordCount)
+            .build())
+        .toList();
   }
 
-  private List<Resume> loadTextCvs() {
-    return loadResources(TXT_PATTERN).stream()
-        .map(this::parseTextCv)
+  /**
+   * Embeds all vacancies in one call when hybrid retrieval is on, null otherwise.
+   */
+  private List<float[]> embedVacancies(List<CandidateQuery> queries) {
+    if (!retrievalConfig.getHybrid().isEnabled()) {
+      return null;
+    }
+    return embeddingService.embedAll(queries.stream().map(CandidateQuery::getVacancyDescription).toList());
+  }
+
+  /**
+   * Hybrid ranking: the best keyword matches and the nearest CVs in embedding space are merged and ranked by
+   * a weighted sum of the keyword score (scaled to the best candidate) and the cosine similarity. The vector
+   * side finds CVs that describe the same skills in other words and does not grow with CV length.
+   *
+   * @param keepPool return every fused candidate, not just the top {@code limit}, for {@link #mergeShards}
+   */
+  private List<ScoredResume> fuse(ResumeCorpus cvs, CandidateQuery query, BitSet eligible, int[] scores,
+                                  int keywordCount, float[] vacancy, RetrievalConfig.Hybrid hybrid,
+                                  boolean keepPool) {
+    int candidates = Math.max(query.getLimit(), hybrid.getCandidates());
+    HnswIndex vectorIndex = cvs.vectorIndex();
+
+    Map<Integer, Float> similarities = new LinkedHashMap<>();
+    for (HnswIndex.Neighbor hit : vectorIndex.search(vacancy, candidates, hybrid.getEfSearch(), eligible::get)) {
+      similarities.put(hit.id(), hit.similarity());
+    }
+    for (int doc : topByScore(scores, eligible, candidates)) {
+      similarities.computeIfAbsent(doc, id -> vectorIndex.similarity(vacancy, id));
+    }
+    int bestKeywordScore = similarities.keySet().stream().mapToInt(doc -> scores[doc]).max().orElse(0);
+
+    double vectorWeight = hybrid.getVectorWeight();
+    List<Resume> allCvs = cvs.resumes();
+    return similarities.entrySet().stream()
+        .map(entry -> {
+          int doc = entry.getKey();
+          double similarity = Math.max(0, entry.getValue());
+          double keywordScore = bestKeywordScore == 0 ? 0 : (double) scores[doc] / bestKeywordScore;
+          double keywordRelevance = keywordCount == 0 ? 0 : (double) scores[doc] / keywordCount;
+          return ScoredResume.builder()
+              .resume(allCvs.get(doc))
+              .score((1 - vectorWeight) * keywordScore + vectorWeight * similarity)
+              .relevance((1 - vectorWeight) * keywordRelevance + vectorWeight * similarity)
+              .keywordScore((double) scores[doc])
+              .similarity(similarity)
+              .build();
+        })
+        .sorted(Comparator.comparingDouble(ScoredResume::getScore).reversed())
+        .limit(keepPool ? Long.MAX_VALUE : query.getLimit())
         .toList();
   }
 
-  private List<Resume> loadPdfCvs() {
-    return loadResources(PDF_PATTERN).stream()
-        .map(this::parsePdfCv)
+  /**
+   * Global top {@code limit} of several shards' results. Keyword scores are comparable across shards as they
+   * are; hybrid scores are not, since the keyword part is scaled to the best candidate of each shard, so hybrid
+   * candidates are fused again from their raw keyword score and similarity, scaled to the best of all shards.
+   */
+  public static List<ScoredResume> mergeShards(List<List<ScoredResume>> rankings, int limit,
+                                               RetrievalConfig.Hybrid hybrid) {
+    List<ScoredResume> all = rankings.stream().flatMap(List::stream).toList();
+    boolean fused = !all.isEmpty() && all.stream().allMatch(scored -> scored.getKeywordScore() != null
+        && scored.getSimilarity() != null);
+    if (!fused) {
+      return all.stream()
+          .sorted(Comparator.comparingDouble(ScoredResume::getScore).reversed())
+          .limit(limit)
+          .toList();
+    }
+    double bestKeywordScore = all.stream().mapToDouble(ScoredResume::getKeywordScore).max().orElse(0);
+    double vectorWeight = hybrid.getVectorWeight();
+    return all.stream()
+        .map(scored -> ScoredResume.builder()
+            .resume(scored.getResume())
+            .score((1 - vectorWeight) * (bestKeywordScore == 0 ? 0 : scored.getKeywordScore() / bestKeywordScore)
+                + vectorWeight * scored.getSimilarity())
+            .relevance(scored.getRelevance())
+            .keywordScore(scored.getKeywordScore())
+            .similarity(scored.getSimilarity())
+            .build())
+        .sorted(Comparator.comparingDouble(ScoredResume::getScore).reversed())
+        .limit(limit)
         .toList();
   }
 
-  private List<Resource> loadResources(String pattern) {
+  /**
+   * The n eligible CVs with the highest scores, best first; ties keep corpus order.
+   */
+  private static List<Integer> topByScore(int[] scores, BitSet eligible, int n) {
+    Comparator<Integer> best = Comparator.comparingInt((Integer doc) -> scores[doc]).reversed()
+        .thenComparing(Comparator.naturalOrder());
+    PriorityQueue<Integer> worstFirst = new PriorityQueue<>(best.reversed());
+    for (int doc = eligible.nextSetBit(0); doc >= 0; doc = eligible.nextSetBit(doc + 1)) {
+      worstFirst.add(doc);
+      if (worstFirst.size() > n) {
+        worstFirst.poll();
+      }
+    }
+    List<Integer> top = new ArrayList<>(worstFirst);
+    top.sort(best);
+    return top;
+  }
+
+  @Override
+  public CorpusStatsResponseDto getCorpusStats() {
+    return read(this::corpusStats);
+  }
+
+  private CorpusStatsResponseDto corpusStats(Map<Integer, ResumeCorpus> shards) {
+    Collection<ResumeCorpus> corpora = shards.values();
+    CorpusStatsResponseDto.CorpusStatsResponseDtoBuilder stats = CorpusStatsResponseDto.builder()
+        .documents(corpora.stream().mapToInt(ResumeCorpus::size).sum())
+        .compressed(corpusConfig.isCompressContent())
+        .indexTerms(corpora.stream().mapToInt(cvs -> cvs.keywordIndex().termCount()).sum())
+        .indexPostings(corpora.stream().mapToLong(cvs -> cvs.keywordIndex().postingCount()).sum());
+    long contentChars = 0;
+    long contentBytes = 0;
+    long compressedBytes = 0;
+    long digestChars = 0;
+    for (Resume cv : corpora.stream().flatMap(cvs -> cvs.resumes().stream()).toList()) {
+      contentChars += cv.getContentLength();
+      if (cv.getCompressedContent() != null) {
+        contentBytes += cv.getCompressedContent().uncompressedSize();
+        compressedBytes += cv.getCompressedContent().compressedSize();
+      } else {
+        contentBytes += cv.getContent().getBytes(StandardCharsets.UTF_8).length;
+      }
+      if (cv.getDigest() != null) {
+        digestChars += cv.getDigest().getText().length();
+      }
+    }
+    return JvmMemoryStats.fill(stats
+        .backend("keyword")
+        .contentChars(contentChars)
+        .contentBytes(contentBytes)
+        .compressedBytes(compressedBytes)
+        .digestChars(digestChars))
+        .build();
+  }
+
+  /**
+   * One rebuild at a time, guarded by {@link ReindexJob#start()}; not waited for on shutdown.
+   */
+  private static ThreadPoolTaskExecutor reindexExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(1);
+    executor.setQueueCapacity(1);
+    executor.setThreadNamePrefix("corpus-reindex-");
+    executor.setDaemon(true);
+    executor.setWaitForTasksToCompleteOnShutdown(false);
+    executor.initialize();
+    return executor;
+  }
+
+  /**
+   * Pins the live generation for a query; retries if a reindex retires it in between.
+   */
+  private CorpusGeneration acquire() {
+    while (true) {
+      CorpusGeneration generation = getGeneration();
+      if (generation.tryAcquire()) {
+        return generation;
+      }
+    }
+  }
+
+  /**
+   * Reads the shards of the live generation while it is pinned, so a reindex cannot drop them midway.
+   */
+  private <T> T read(Function<Map<Integer, ResumeCorpus>, T> reader) {
+    CorpusGeneration generation = acquire();
     try {
-      PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
-      return Arrays.asList(resolver.getResources(pattern));
-    } catch (Exception e) {
-      log.error("Failed to load resources for pattern: {}", pattern, e);
-      return Collections.emptyList();
-    }
-  }
-
-  private Resume parseTextCv(Resource resource) {
-    try (BufferedReader reader = new BufferedReader(
-        new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
-      String filename = Optional.ofNullable(resource.getFilename()).orElse("Unknown");
-      String name = extractNameFromFilename(filename, ".txt");
-      String content = reader.lines().collect(Collectors.joining("\n"));
-      return Resume.builder()
-          .name(name)
-          .content(content)
-          .filename(filename)
-          .build();
-    } catch (Exception e) {
-      log.error("Failed to parse text CV: {}", resource.getFilename(), e);
-      throw new ResumeParsingException("Failed to parse text CV: " + resource.getFilename(), e);
-    }
-  }
-
-  private Resume parsePdfCv(Resource resource) {
-    try (PDDocument document = PDDocument.load(resource.getInputStream())) {
-      String filename = Optional.ofNullable(resource.getFilename()).orElse("Unknown");
-      String name = extractNameFromFilename(filename, ".pdf");
-      PDFTextStripper pdfStripper = new PDFTextStripper();
-      String content = pdfStripper.getText(document);
-      return Resume.builder()
-          .name(name)
-          .content(content)
-          .filename(filename)
-          .build();
-    } catch (Exception e) {
-      log.error("Failed to parse PDF CV: {}", resource.getFilename(), e);
-      throw new ResumeParsingException("Failed to parse PDF CV: " + resource.getFilename(), e);
+      return reader.apply(generation.shards());
+    } finally {
+      generation.release();
     }
   }
 
-  private String extractNameFromFilename(String filename, String extension) {
-    return filename.replace(extension, "");
+  /**
+   * The live generation; only the very first load blocks, later reads are a single volatile read.
+   */
+  private CorpusGeneration getGeneration() {
+    CorpusGeneration loaded = live;
+    if (loaded == null) {
+      synchronized (this) {
+        loaded = live;
+        if (loaded == null) {
+          loaded = new CorpusGeneration(generations.incrementAndGet(), loadShards(ResumeLoader.Progress.NONE));
+          live = loaded;
+        }
+      }
+    }
+    return loaded;
+  }
+
+  /**
+   * Every node loads and deduplicates the whole classpath corpus, so clusters are the same on all of them, and
+   * keeps the canonical CVs of its own shards.
+   */
+  private Map<Integer, ResumeCorpus> loadShards(ResumeLoader.Progress progress) {
+    List<Resume> canonical = resumeLoader.loadAll(progress).stream().filter(Resume::isCanonical).toList();
+    Map<Integer, List<Resume>> byShard = new TreeMap<>();
+    shardingConfig.servedShards().forEach(shard -> byShard.put(shard, new ArrayList<>()));
+    for (Resume cv : canonical) {
+      int shard = shardingConfig.isEnabled() ? ShardRouter.shardOf(cv.getFilename(), shardingConfig.getShardCount()) : 0;
+      List<Resume> members = byShard.get(shard);
+      if (members != null) {
+        members.add(cv);
+      }
+    }
+    RetrievalConfig.Hybrid hybrid = retrievalConfig.getHybrid();
+    Map<Integer, ResumeCorpus> loaded = new TreeMap<>();
+    for (Map.Entry<Integer, List<Resume>> shard : byShard.entrySet()) {
+      progress.update("indexing", loaded.size(), byShard.size());
+      loaded.put(shard.getKey(), new ResumeCorpus(shard.getValue(), corpusConfig.isCompressContent(),
+          hybrid.isEnabled() ? embeddingService : null, hybrid));
+    }
+    progress.update("indexing", loaded.size(), byShard.size());
+    if (shardingConfig.isEnabled()) {
+      log.info("Serving shards {} of {}: {} of {} CVs", loaded.keySet(), shardingConfig.getShardCount(),
+          loaded.values().stream().mapToInt(ResumeCorpus::size).sum(), canonical.size());
+    }
+    return Collections.unmodifiableMap(loaded);
   }
 
-  private int matchScore(Resume cv, String[] keywords) {
-    String content = cv.getContent().toLowerCase();
-    return (int) Arrays.stream(keywords)
-        .filter(content::contains)
-        .count();
+  /**
+   * Words of the vacancy in order; a word repeated in the vacancy counts once per occurrence.
+   */
+  private String[] extractKeywords(String vacancyDescription) {
+    return Arrays.stream(vacancyDescription.toLowerCase(Locale.ROOT).split("\\W+"))
+        .filter(keyword -> !keyword.isEmpty())
+        .toArray(String[]::new);
   }
-}
\ No newline at end of file
+}
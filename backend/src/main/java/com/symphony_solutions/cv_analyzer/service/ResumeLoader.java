@@ -0,0 +1,188 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import com.symphony_solutions.cv_analyzer.config.DedupConfig;
+import com.symphony_solutions.cv_analyzer.config.ScreeningConfig;
+import com.symphony_solutions.cv_analyzer.exception.ResumeParsingException;
+import com.symphony_solutions.cv_analyzer.model.Resume;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the CV corpus from the classpath and prepares every CV for retrieval: digest, structured fields,
+ * prompt-injection screening and near-duplicate clustering. Shared by the retrieval backends.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ResumeLoader {
+
+  private static final String TXT_PATTERN = "classpath:cvs/*.txt";
+
+  private static final String PDF_PATTERN = "classpath:cvs/*.pdf";
+
+  private final ResumeDigestService resumeDigestService;
+
+  private final ResumeScreeningService resumeScreeningService;
+
+  private final ScreeningConfig screeningConfig;
+
+  private final ResumeDeduplicationService resumeDeduplicationService;
+
+  private final DedupConfig dedupConfig;
+
+  private final ResumeFieldExtractor resumeFieldExtractor;
+
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Receives load progress: the current stage and how many of its items are done.
+   */
+  @FunctionalInterface
+  public interface Progress {
+
+    Progress NONE = (stage, done, total) -> {
+    };
+
+    void update(String stage, int done, int total);
+  }
+
+  /**
+   * Loads all CVs from resources (txt and pdf), computes their digests and screens them for prompt injection.
+   * Suspicious CVs are left out of the corpus when the screening action is QUARANTINE, and the rest are
+   * clustered by near-duplicate content.
+   */
+  public List<Resume> loadAll() {
+    return loadAll(Progress.NONE);
+  }
+
+  public List<Resume> loadAll(Progress progress) {
+    progress.update("parsing", 0, 0);
+    List<Resume> cvs = new ArrayList<>();
+    cvs.addAll(loadTextCvs());
+    cvs.addAll(loadPdfCvs());
+    for (int i = 0; i < cvs.size(); i++) {
+      progress.update("digesting", i, cvs.size());
+      Resume cv = cvs.get(i);
+      attachDigest(cv);
+      cv.setFields(resumeFieldExtractor.extract(cv.getContent(), cv.getDigest()));
+    }
+    if (screeningConfig.isEnabled()) {
+      for (int i = 0; i < cvs.size(); i++) {
+        progress.update("screening", i, cvs.size());
+        attachScreening(cvs.get(i));
+      }
+      if (screeningConfig.getAction() == ScreeningConfig.Action.QUARANTINE) {
+        cvs.removeIf(Resume::isFlagged);
+      }
+    }
+    if (dedupConfig.isEnabled()) {
+      progress.update("deduplicating", 0, cvs.size());
+      int collapsed = resumeDeduplicationService.cluster(cvs);
+      meterRegistry.counter("candidate.dedup.collapsed").increment(collapsed);
+    }
+    log.info("Loaded {} CVs", cvs.size());
+    return List.copyOf(cvs);
+  }
+
+  private void attachScreening(Resume cv) {
+    cv.setScreening(resumeScreeningService.screen(cv.getContent()));
+    if (cv.isFlagged()) {
+      log.warn("CV {} looks like a prompt injection ({}), action: {}",
+          cv.getFilename(), cv.getScreening().getReasons(), screeningConfig.getAction());
+      meterRegistry.counter("candidate.screening.flagged", "action", screeningConfig.getAction().name()).increment();
+    }
+  }
+
+  /**
+   * Re-derives the digest and screening verdict of a CV read back from an external index, which stores only
+   * its text and fields; both are deterministic, so the CV reads the same as at load.
+   */
+  public void enrich(Resume cv) {
+    attachDigest(cv);
+    if (screeningConfig.isEnabled()) {
+      cv.setScreening(resumeScreeningService.screen(cv.getContent()));
+    }
+  }
+
+  private void attachDigest(Resume cv) {
+    try {
+      cv.setDigest(resumeDigestService.digest(cv.getContent()));
+    } catch (Exception e) {
+      log.warn("Failed to digest CV {}, prompts will use its full content", cv.getFilename(), e);
+    }
+  }
+
+  private List<Resume> loadTextCvs() {
+    return loadResources(TXT_PATTERN).stream()
+        .map(this::parseTextCv)
+        .toList();
+  }
+
+  private List<Resume> loadPdfCvs() {
+    return loadResources(PDF_PATTERN).stream()
+        .map(this::parsePdfCv)
+        .toList();
+  }
+
+  private List<Resource> loadResources(String pattern) {
+    try {
+      PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+      return Arrays.asList(resolver.getResources(pattern));
+    } catch (Exception e) {
+      log.error("Failed to load resources for pattern: {}", pattern, e);
+      return Collections.emptyList();
+    }
+  }
+
+  private Resume parseTextCv(Resource resource) {
+    try (BufferedReader reader = new BufferedReader(
+        new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+      String filename = Optional.ofNullable(resource.getFilename()).orElse("Unknown");
+      String name = extractNameFromFilename(filename, ".txt");
+      String content = reader.lines().collect(Collectors.joining("\n"));
+      return Resume.builder()
+          .name(name)
+          .content(content)
+          .filename(filename)
+          .build();
+    } catch (Exception e) {
+      log.error("Failed to parse text CV: {}", resource.getFilename(), e);
+      throw new ResumeParsingException("Failed to parse text CV: " + resource.getFilename(), e);
+    }
+  }
+
+  private Resume parsePdfCv(Resource resource) {
+    try (PDDocument document = PDDocument.load(resource.getInputStream())) {
+      String filename = Optional.ofNullable(resource.getFilename()).orElse("Unknown");
+      String name = extractNameFromFilename(filename, ".pdf");
+      PDFTextStripper pdfStripper = new PDFTextStripper();
+      // Form feeds between pages let the digest recognize running headers and footers
+      pdfStripper.setPageEnd("\f");
+      String content = pdfStripper.getText(document);
+      return Resume.builder()
+          .name(name)
+          .content(content)
+          .filename(filename)
+          .build();
+    } catch (Exception e) {
+      log.error("Failed to parse PDF CV: {}", resource.getFilename(), e);
+      throw new ResumeParsingException("Failed to parse PDF CV: " + resource.getFilename(), e);
+    }
+  }
+
+  private String extractNameFromFilename(String filename, String extension) {
+    return filename.replace(extension, "");
+  }
+}
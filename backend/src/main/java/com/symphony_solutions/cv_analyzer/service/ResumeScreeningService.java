@@ -0,0 +1,80 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import com.symphony_solutions.cv_analyzer.config.ScreeningConfig;
+import com.symphony_solutions.cv_analyzer.model.ScreeningVerdict;
+import com.symphony_solutions.cv_analyzer.util.AhoCorasickMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Screens CVs for prompt injection once, when the corpus is loaded: configured phrases are found with a single
+ * Aho-Corasick pass over the visible text, and text hidden with invisible characters is treated as suspicious as
+ * well.
+ */
+@Slf4j
+@Service
+public class ResumeScreeningService {
+
+  private static final Pattern PARAGRAPH_BREAK = Pattern.compile("\\R[\\h\\x0B\\f]*\\R\\s*");
+
+  private final AhoCorasickMatcher matcher;
+
+  public ResumeScreeningService(ScreeningConfig screeningConfig) {
+    this.matcher = new AhoCorasickMatcher(screeningConfig.getPatterns(), true);
+  }
+
+  public ScreeningVerdict screen(String content) {
+    String visible = removeInvisibleCharacters(content);
+    List<AhoCorasickMatcher.Match> matches = matcher.findAll(visible);
+    List<String> reasons = new ArrayList<>(matches.stream().map(AhoCorasickMatcher.Match::pattern).distinct().toList());
+    if (visible.length() != content.length()) {
+      reasons.add("invisible characters");
+    }
+    if (reasons.isEmpty()) {
+      return ScreeningVerdict.CLEAN;
+    }
+    return ScreeningVerdict.builder()
+        .suspicious(true)
+        .reasons(List.copyOf(reasons))
+        .sanitizedContent(sanitize(visible, matches))
+        .build();
+  }
+
+  /**
+   * Visible content without every paragraph (block between blank lines) that a match touches, so an instruction
+   * goes with the lines around it, including a phrase split across lines or paragraphs.
+   */
+  private static String sanitize(String visible, List<AhoCorasickMatcher.Match> matches) {
+    StringBuilder kept = new StringBuilder(visible.length());
+    Matcher breaks = PARAGRAPH_BREAK.matcher(visible);
+    int start = 0;
+    while (start < visible.length()) {
+      boolean found = breaks.find(start);
+      int end = found ? breaks.start() : visible.length();
+      int next = found ? breaks.end() : visible.length();
+      int paragraphStart = start;
+      if (matches.stream().noneMatch(match -> match.start() < end && match.end() > paragraphStart)) {
+        kept.append(visible, start, next);
+      }
+      start = next;
+    }
+    return kept.toString().strip();
+  }
+
+  private static String removeInvisibleCharacters(String content) {
+    StringBuilder visible = new StringBuilder(content.length());
+    content.chars().filter(c -> !isInvisible(c)).forEach(c -> visible.append((char) c));
+    return visible.toString();
+  }
+
+  /**
+   * Zero-width and bidi control characters, used to hide instructions from human readers.
+   */
+  private static boolean isInvisible(int c) {
+    return (c >= 0x200B && c <= 0x200F) || (c >= 0x202A && c <= 0x202E) || (c >= 0x2060 && c <= 0x2064);
+  }
+}
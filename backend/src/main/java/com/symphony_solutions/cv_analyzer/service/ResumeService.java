@@ -1,9 +1,61 @@
 package com.symphony_solutions.cv_analyzer.service;
 
+import com.symphony_solutions.cv_analyzer.dto.response.CorpusStatsResponseDto;
+import com.symphony_solutions.cv_analyzer.model.CandidateQuery;
 import com.symphony_solutions.cv_analyzer.model.Resume;
+import com.symphony_solutions.cv_analyzer.model.ScoredResume;
 import java.util.List;
+import java.util.Optional;
 
 public interface ResumeService {
 
-  List<Resume> findTopCandidates(String vacancyDescription, int limit);
+  default List<Resume> findTopCandidates(String vacancyDescription, int limit) {
+    return findTopScoredCandidates(vacancyDescription, limit).stream()
+        .map(ScoredResume::getResume)
+        .toList();
+  }
+
+  default List<ScoredResume> findTopScoredCandidates(String vacancyDescription, int limit) {
+    return findTopScoredCandidates(CandidateQuery.builder()
+        .vacancyDescription(vacancyDescription)
+        .limit(limit)
+        .build());
+  }
+
+  /**
+   * Returns the top candidates for the query with their retrieval scores, most relevant first.
+   */
+  List<ScoredResume> findTopScoredCandidates(CandidateQuery query);
+
+  /**
+   * Answers several queries at once, results in query order. Backends that can share work between the queries
+   * (one pass over the corpus for all of them) override this; the queries share the first query's deadline.
+   */
+  default List<List<ScoredResume>> findTopScoredCandidates(List<CandidateQuery> queries) {
+    return queries.stream().map(this::findTopScoredCandidates).toList();
+  }
+
+  /**
+   * The searchable CV with this filename, if any.
+   */
+  Optional<Resume> findByFilename(String filename);
+
+  /**
+   * Size of the corpus and its index, with current heap usage and GC totals.
+   */
+  CorpusStatsResponseDto getCorpusStats();
+
+  /**
+   * Loads and indexes the corpus ahead of the first query. Called once at startup on a background thread, see
+   * {@link StartupWarmup}; a query arriving earlier waits for the load or triggers it.
+   */
+  default void warmUp() {
+  }
+
+  /**
+   * Whether the corpus is loaded and queries are answered without waiting for it; gates readiness.
+   */
+  default boolean isReady() {
+    return true;
+  }
 }
@@ -0,0 +1,97 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import com.symphony_solutions.cv_analyzer.model.Resume;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * LLM calls made for one batch of vacancies, by prompt. When two vacancies produce the same prompt for a CV
+ * (the same vacancy text, or vacancies condensed to the same requirements) the call is made once and every
+ * vacancy gets its result; concurrent requests for a call in flight wait for it. A failed call is not kept, so a
+ * later vacancy may retry it.
+ */
+final class SharedLlmCalls {
+
+  private static final SharedLlmCalls NONE = new SharedLlmCalls(false);
+
+  private final boolean enabled;
+  private final Map<String, CompletableFuture<Object>> calls = new ConcurrentHashMap<>();
+  private final AtomicInteger shared = new AtomicInteger();
+
+  private SharedLlmCalls(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Memo for a single request: every call is made.
+   */
+  static SharedLlmCalls none() {
+    return NONE;
+  }
+
+  static SharedLlmCalls forBatch() {
+    return new SharedLlmCalls(true);
+  }
+
+  <T> T summary(String vacancyForPrompts, Resume resume, Supplier<T> call) {
+    return share("summary\n" + resume.getFilename() + '\n' + vacancyForPrompts, call);
+  }
+
+  <T> T rating(String vacancyForPrompts, Resume resume, Supplier<T> call) {
+    return share("rating\n" + resume.getFilename() + '\n' + vacancyForPrompts, call);
+  }
+
+  /**
+   * A rating group, shared only with a group of the same CVs in the same order.
+   */
+  <T> T ratings(String vacancyForPrompts, List<Resume> resumes, Supplier<T> call) {
+    StringBuilder key = new StringBuilder("ratings\n");
+    resumes.forEach(resume -> key.append(resume.getFilename()).append('\n'));
+    return share(key.append(vacancyForPrompts).toString(), call);
+  }
+
+  /**
+   * Calls answered from another vacancy's call.
+   */
+  int sharedCount() {
+    return shared.get();
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T share(String key, Supplier<T> call) {
+    if (!enabled) {
+      return call.get();
+    }
+    CompletableFuture<Object> mine = new CompletableFuture<>();
+    CompletableFuture<Object> existing = calls.putIfAbsent(key, mine);
+    if (existing != null) {
+      shared.incrementAndGet();
+      try {
+        return (T) existing.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+          throw cause;
+        }
+        if (e.getCause() instanceof Error cause) {
+          throw cause;
+        }
+        throw e;
+      }
+    }
+    try {
+      T result = call.get();
+      mine.complete(result);
+      return result;
+    } catch (Throwable e) {
+      // Errors too: waiters on this call would otherwise block forever
+      calls.remove(key, mine);
+      mine.completeExceptionally(e);
+      throw e;
+    }
+  }
+}
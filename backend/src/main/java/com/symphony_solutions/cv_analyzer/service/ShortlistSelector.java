@@ -0,0 +1,71 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import com.symphony_solutions.cv_analyzer.config.MatchConfig;
+import com.symphony_solutions.cv_analyzer.model.ScoredResume;
+import com.symphony_solutions.cv_analyzer.model.Shortlist;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Chooses how many retrieved candidates go to the LLM stages. With the adaptive shortlist enabled the size
+ * follows the score distribution: candidates far below the best score, or past a sharp drop in scores, are cut,
+ * within the configured min and max sizes. Candidates without any keyword overlap are only kept to reach the minimum.
+ */
+@Service
+@RequiredArgsConstructor
+public class ShortlistSelector {
+
+  private static final String FIXED = "fixed";
+  private static final String EXHAUSTED = "exhausted";
+  private static final String MAX = "max";
+  private static final String RELATIVE = "relative";
+  private static final String GAP = "gap";
+
+  private final MatchConfig matchConfig;
+
+  /**
+   * Number of candidates to retrieve for a match.
+   */
+  public int retrievalLimit() {
+    MatchConfig.AdaptiveShortlist adaptive = matchConfig.getAdaptiveShortlist();
+    if (adaptive.isEnabled()) {
+      return adaptive.getMaxSize();
+    }
+    MatchConfig.Cascade cascade = matchConfig.getCascade();
+    return cascade.isEnabled() ? cascade.getShortlistSize() : matchConfig.getShortlistSize();
+  }
+
+  /**
+   * @param retrieved candidates ordered by descending score, at most {@link #retrievalLimit()} of them
+   */
+  public Shortlist select(List<ScoredResume> retrieved) {
+    List<Double> scores = retrieved.stream().map(ScoredResume::getScore).toList();
+    MatchConfig.AdaptiveShortlist adaptive = matchConfig.getAdaptiveShortlist();
+    if (!adaptive.isEnabled()) {
+      return shortlist(retrieved, retrieved.size(), FIXED, scores);
+    }
+
+    int min = Math.min(adaptive.getMinSize(), retrieved.size());
+    double best = scores.isEmpty() ? 0 : scores.get(0);
+    for (int k = min; k < retrieved.size(); k++) {
+      double score = scores.get(k);
+      if (score <= 0 || adaptive.getRelativeThreshold() > 0 && score < adaptive.getRelativeThreshold() * best) {
+        return shortlist(retrieved, k, RELATIVE, scores);
+      }
+      if (k > 0 && adaptive.getScoreGap() > 0 && scores.get(k - 1) - score >= adaptive.getScoreGap() * best) {
+        return shortlist(retrieved, k, GAP, scores);
+      }
+    }
+    boolean full = retrieved.size() >= adaptive.getMaxSize();
+    return shortlist(retrieved, retrieved.size(), full ? MAX : EXHAUSTED, scores);
+  }
+
+  private static Shortlist shortlist(List<ScoredResume> retrieved, int size, String cutoff, List<Double> scores) {
+    return Shortlist.builder()
+        .candidates(List.copyOf(retrieved.subList(0, size)))
+        .cutoff(cutoff)
+        .scores(scores)
+        .build();
+  }
+}
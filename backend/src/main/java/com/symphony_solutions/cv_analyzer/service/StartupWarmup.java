@@ -0,0 +1,111 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import com.symphony_solutions.cv_analyzer.config.StartupConfig;
+import com.symphony_solutions.cv_analyzer.service.routing.RoutedEndpoint;
+import com.symphony_solutions.cv_analyzer.service.routing.RoutingChatModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prepares the application for traffic on a background thread once the context has started, so startup time
+ * does not grow with the corpus: the corpus is loaded and indexed ({@link ResumeService#warmUp}), then each LLM
+ * endpoint gets a minimal request that opens its connection. Readiness follows {@link ResumeService#isReady};
+ * liveness does not wait for any of it. Phase durations are logged and recorded in
+ * {@code application.warmup.duration} (tag {@code phase}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StartupWarmup {
+
+  private static final String WARMUP_PROMPT = "Reply with OK.";
+
+  private final ResumeService resumeService;
+  private final ChatModel chatModel;
+  private final StartupConfig startupConfig;
+  private final MeterRegistry meterRegistry;
+
+  private volatile String error;
+
+  @EventListener(ApplicationStartedEvent.class)
+  public void start(ApplicationStartedEvent event) {
+    Duration contextStartup = event.getTimeTaken();
+    Thread warmup = new Thread(() -> run(contextStartup), "startup-warmup");
+    warmup.setDaemon(true);
+    warmup.start();
+  }
+
+  /**
+   * Why the corpus could not be loaded, null while loading or once loaded.
+   */
+  public String getError() {
+    return error;
+  }
+
+  private void run(Duration contextStartup) {
+    Map<String, Long> phases = new LinkedHashMap<>();
+    phases.put("context", contextStartup != null ? contextStartup.toMillis() : -1);
+    long start = System.nanoTime();
+    try {
+      resumeService.warmUp();
+      phases.put("corpus", record("corpus", start));
+    } catch (RuntimeException e) {
+      error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+      log.error("Corpus warmup failed, the service stays unready until a query loads it", e);
+      return;
+    }
+    if (startupConfig.isLlmWarmup()) {
+      start = System.nanoTime();
+      warmUpLlm();
+      phases.put("llm", record("llm", start));
+    }
+    log.info("Ready for traffic {} ms after JVM start; phases (ms): {}",
+        ManagementFactory.getRuntimeMXBean().getUptime(), phases);
+  }
+
+  /**
+   * Failures are only logged: an unreachable provider is handled per request by the circuit breaker.
+   */
+  private void warmUpLlm() {
+    Map<String, ChatModel> models = new LinkedHashMap<>();
+    if (chatModel instanceof RoutingChatModel routing) {
+      for (RoutedEndpoint endpoint : routing.getEndpoints()) {
+        models.put(endpoint.getName(), endpoint.getChatModel());
+      }
+    } else {
+      models.put("default", chatModel);
+    }
+    Prompt prompt = new Prompt(WARMUP_PROMPT, OpenAiChatOptions.builder().maxTokens(1).build());
+    models.forEach((name, model) -> {
+      long start = System.nanoTime();
+      try {
+        model.call(prompt);
+        log.info("LLM endpoint {} warmed up in {} ms", name, Duration.ofNanos(System.nanoTime() - start).toMillis());
+      } catch (RuntimeException e) {
+        log.warn("LLM endpoint {} warmup failed: {}", name, e.getMessage());
+      }
+    });
+  }
+
+  private long record(String phase, long startNanos) {
+    long nanos = System.nanoTime() - startNanos;
+    Timer.builder("application.warmup.duration")
+        .description("Duration of a startup warmup phase")
+        .tag("phase", phase)
+        .register(meterRegistry)
+        .record(Duration.ofNanos(nanos));
+    return Duration.ofNanos(nanos).toMillis();
+  }
+}
@@ -0,0 +1,105 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import com.symphony_solutions.cv_analyzer.config.VacancyAnalysisConfig;
+import com.symphony_solutions.cv_analyzer.exception.DeadlineExceededException;
+import com.symphony_solutions.cv_analyzer.exception.LlmCircuitOpenException;
+import com.symphony_solutions.cv_analyzer.model.Deadline;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Condenses a vacancy description into a compact requirements list once, so that every candidate prompt
+ * of a match carries the short version. Results are cached by SHA-256 of the description with LRU eviction;
+ * a repeated vacancy never reaches the LLM again.
+ */
+@Slf4j
+@Service
+public class VacancyAnalysisService {
+
+  private final AgentSummaryService agentSummaryService;
+  private final VacancyAnalysisConfig config;
+  private final MeterRegistry meterRegistry;
+
+  private final Map<String, String> cache;
+
+  public VacancyAnalysisService(AgentSummaryService agentSummaryService, VacancyAnalysisConfig config,
+                                MeterRegistry meterRegistry) {
+    this.agentSummaryService = agentSummaryService;
+    this.config = config;
+    this.meterRegistry = meterRegistry;
+    this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+        return size() > config.getCacheSize();
+      }
+    };
+    Gauge.builder("candidate.vacancy.cache.size", this, service -> service.cacheSize())
+        .description("Condensed vacancies held in the cache")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Vacancy text to use in candidate prompts: the cached or freshly condensed requirements, or the original
+   * description if condensing is disabled, not worthwhile, or failed (failures are not cached).
+   */
+  public String vacancyForPrompts(String vacancyDescription, Deadline deadline) {
+    if (!config.isEnabled() || vacancyDescription.length() < config.getMinLength()) {
+      return vacancyDescription;
+    }
+    String key = sha256(vacancyDescription);
+    String cached = get(key);
+    if (cached != null) {
+      recordLookup("hit");
+      return cached;
+    }
+    recordLookup("miss");
+
+    String requirements;
+    try {
+      requirements = agentSummaryService.generateVacancyRequirements(vacancyDescription, deadline).getContent();
+    } catch (DeadlineExceededException | LlmCircuitOpenException e) {
+      log.debug("Using the full vacancy description: {}", e.getMessage());
+      return vacancyDescription;
+    }
+    // A blank or longer reply is useless; remember the original so the vacancy is not condensed again
+    boolean useful = requirements != null && !requirements.isBlank()
+        && requirements.length() < vacancyDescription.length();
+    String condensed = useful ? requirements.strip() : vacancyDescription;
+    put(key, condensed);
+    log.info("Condensed vacancy from {} to {} characters", vacancyDescription.length(), condensed.length());
+    return condensed;
+  }
+
+  private synchronized String get(String key) {
+    return cache.get(key);
+  }
+
+  private synchronized void put(String key, String value) {
+    cache.put(key, value);
+  }
+
+  private synchronized int cacheSize() {
+    return cache.size();
+  }
+
+  private void recordLookup(String result) {
+    meterRegistry.counter("candidate.vacancy.cache", "result", result).increment();
+  }
+
+  static String sha256(String text) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -0,0 +1,167 @@
+package com.symphony_solutions.cv_analyzer.service.benchmark;
+
+import com.symphony_solutions.cv_analyzer.dto.response.PromptBenchmarkStatusResponseDto;
+import com.symphony_solutions.cv_analyzer.dto.type.PromptBenchmarkState;
+import com.symphony_solutions.cv_analyzer.dto.type.PromptType;
+import com.symphony_solutions.cv_analyzer.util.RatingParser;
+import com.symphony_solutions.cv_analyzer.util.SampleStatistics;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One benchmark: its plan, the samples collected by the worker threads so far and its outcome. The report is
+ * computed from the samples whenever the status is read.
+ */
+final class PromptBenchmarkRun {
+
+  /**
+   * @param rating the parsed rating, {@link RatingParser#NO_RATING} if the reply had none; unused for summaries
+   */
+  record Sample(int pair, long latencyMillis, int inputTokens, int outputTokens, BigDecimal cost, int rating) {
+  }
+
+  private final PromptType type;
+  private final boolean stub;
+  private final List<String> variantNames;
+  private final int pairs;
+  private final int samples;
+  private final List<Queue<Sample>> results = new ArrayList<>();
+  private final List<AtomicInteger> failures = new ArrayList<>();
+  private final AtomicInteger completed = new AtomicInteger();
+  private final Instant startedAt = Instant.now();
+  private volatile PromptBenchmarkState state = PromptBenchmarkState.RUNNING;
+  private volatile Instant finishedAt;
+  private volatile String error;
+
+  PromptBenchmarkRun(PromptType type, boolean stub, List<String> variantNames, int pairs, int samples) {
+    this.type = type;
+    this.stub = stub;
+    this.variantNames = List.copyOf(variantNames);
+    this.pairs = pairs;
+    this.samples = samples;
+    for (int i = 0; i < variantNames.size(); i++) {
+      results.add(new ConcurrentLinkedQueue<>());
+      failures.add(new AtomicInteger());
+    }
+  }
+
+  int calls() {
+    return variantNames.size() * pairs * samples;
+  }
+
+  void completed(int variant, Sample sample) {
+    results.get(variant).add(sample);
+    completed.incrementAndGet();
+  }
+
+  void failed(int variant) {
+    failures.get(variant).incrementAndGet();
+    completed.incrementAndGet();
+  }
+
+  void succeeded() {
+    finishedAt = Instant.now();
+    state = PromptBenchmarkState.SUCCEEDED;
+  }
+
+  void failed(Exception e) {
+    error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    finishedAt = Instant.now();
+    state = PromptBenchmarkState.FAILED;
+  }
+
+  boolean isRunning() {
+    return state == PromptBenchmarkState.RUNNING;
+  }
+
+  PromptBenchmarkStatusResponseDto toStatus() {
+    List<PromptBenchmarkStatusResponseDto.Variant> variants = new ArrayList<>();
+    for (int i = 0; i < variantNames.size(); i++) {
+      variants.add(report(variantNames.get(i), List.copyOf(results.get(i)), failures.get(i).get()));
+    }
+    return PromptBenchmarkStatusResponseDto.builder()
+        .state(state)
+        .type(type)
+        .stub(stub)
+        .pairs(pairs)
+        .samples(samples)
+        .completed(completed.get())
+        .calls(calls())
+        .variants(variants)
+        .startedAt(startedAt)
+        .finishedAt(finishedAt)
+        .error(error)
+        .build();
+  }
+
+  private PromptBenchmarkStatusResponseDto.Variant report(String name, List<Sample> done, int failed) {
+    long[] latencies = new long[done.size()];
+    long inputTokens = 0;
+    long outputTokens = 0;
+    BigDecimal cost = BigDecimal.ZERO;
+    for (int i = 0; i < done.size(); i++) {
+      Sample sample = done.get(i);
+      latencies[i] = sample.latencyMillis();
+      inputTokens += sample.inputTokens();
+      outputTokens += sample.outputTokens();
+      cost = cost.add(sample.cost());
+    }
+    PromptBenchmarkStatusResponseDto.Variant.VariantBuilder report = PromptBenchmarkStatusResponseDto.Variant.builder()
+        .name(name)
+        .calls(done.size())
+        .failures(failed)
+        .inputTokens(inputTokens)
+        .outputTokens(outputTokens)
+        .inputTokensPerCall(done.isEmpty() ? 0 : (double) inputTokens / done.size())
+        .outputTokensPerCall(done.isEmpty() ? 0 : (double) outputTokens / done.size())
+        .latencyP50Ms(SampleStatistics.percentile(latencies, 50))
+        .latencyP90Ms(SampleStatistics.percentile(latencies, 90))
+        .latencyP99Ms(SampleStatistics.percentile(latencies, 99))
+        .latencyMaxMs(SampleStatistics.percentile(latencies, 100))
+        .cost(cost.setScale(6, RoundingMode.HALF_UP))
+        .costPerCall(done.isEmpty() ? BigDecimal.ZERO
+            : cost.divide(BigDecimal.valueOf(done.size()), 8, RoundingMode.HALF_UP));
+    if (type == PromptType.RATING) {
+      addRatingStability(report, done);
+    }
+    return report.build();
+  }
+
+  /**
+   * Spread of the ratings each pair got across its samples.
+   */
+  private static void addRatingStability(PromptBenchmarkStatusResponseDto.Variant.VariantBuilder report,
+                                         List<Sample> done) {
+    Map<Integer, List<Integer>> byPair = new HashMap<>();
+    int unparsed = 0;
+    for (Sample sample : done) {
+      if (sample.rating() == RatingParser.NO_RATING) {
+        unparsed++;
+      } else {
+        byPair.computeIfAbsent(sample.pair(), pair -> new ArrayList<>()).add(sample.rating());
+      }
+    }
+    List<Integer> all = new ArrayList<>();
+    double deviations = 0;
+    int spread = 0;
+    for (List<Integer> ratings : byPair.values()) {
+      int[] values = ratings.stream().mapToInt(Integer::intValue).toArray();
+      deviations += Math.sqrt(SampleStatistics.variance(values));
+      spread = Math.max(spread, ratings.stream().max(Integer::compare).orElse(0)
+          - ratings.stream().min(Integer::compare).orElse(0));
+      all.addAll(ratings);
+    }
+    report.meanRating(all.isEmpty() ? null : SampleStatistics.mean(all.stream().mapToInt(Integer::intValue).toArray()))
+        .ratingStdDev(byPair.isEmpty() ? null : deviations / byPair.size())
+        .maxRatingSpread(spread)
+        .unparsedRatings(unparsed);
+  }
+}
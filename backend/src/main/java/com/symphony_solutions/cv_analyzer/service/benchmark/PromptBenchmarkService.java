@@ -0,0 +1,210 @@
+package com.symphony_solutions.cv_analyzer.service.benchmark;
+
+import com.symphony_solutions.cv_analyzer.config.PromptBenchmarkConfig;
+import com.symphony_solutions.cv_analyzer.config.RatingConfig;
+import com.symphony_solutions.cv_analyzer.dto.request.PromptBenchmarkRequestDto;
+import com.symphony_solutions.cv_analyzer.dto.response.PromptBenchmarkStatusResponseDto;
+import com.symphony_solutions.cv_analyzer.dto.type.PromptBenchmarkState;
+import com.symphony_solutions.cv_analyzer.dto.type.PromptType;
+import com.symphony_solutions.cv_analyzer.model.CandidateQuery;
+import com.symphony_solutions.cv_analyzer.model.InternalChatResponse;
+import com.symphony_solutions.cv_analyzer.model.Resume;
+import com.symphony_solutions.cv_analyzer.model.ScoredResume;
+import com.symphony_solutions.cv_analyzer.service.AgentSummaryService;
+import com.symphony_solutions.cv_analyzer.service.CostCalculationService;
+import com.symphony_solutions.cv_analyzer.service.PromptService;
+import com.symphony_solutions.cv_analyzer.service.ResumeService;
+import com.symphony_solutions.cv_analyzer.util.RatingParser;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Compares prompt variants on cost, latency and rating stability. Every variant is sent for the same vacancy-CV
+ * pairs (each {@code prompts.benchmark.vacancies} file with its top {@code candidatesPerVacancy} retrieved CVs),
+ * {@code samples} times each. Calls of all variants are interleaved and run on a small pool, so the variants share the model's
+ * conditions; with the stub model no LLM is called at all. Benchmark calls bypass the circuit breaker and are not
+ * counted in the application's cost metrics.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PromptBenchmarkService {
+
+  private final AgentSummaryService agentSummaryService;
+  private final PromptService promptService;
+  private final ResumeService resumeService;
+  private final CostCalculationService costCalculationService;
+  private final ChatClient chatClient;
+  private final PromptBenchmarkConfig promptBenchmarkConfig;
+  private final RatingConfig ratingConfig;
+  private final ResourcePatternResolver resourcePatternResolver;
+
+  private final AtomicReference<PromptBenchmarkRun> current = new AtomicReference<>();
+
+  private record Pair(String vacancy, Resume resume) {
+  }
+
+  private record Variant(String name, String system, String user) {
+  }
+
+  /**
+   * Starts the benchmark in the background unless one is already running.
+   *
+   * @return the status of the started benchmark, or of the running one
+   * @throws IllegalArgumentException if the type cannot be benchmarked or the plan exceeds
+   *                                  {@code prompts.benchmark.max-calls}
+   */
+  public PromptBenchmarkStatusResponseDto start(PromptBenchmarkRequestDto request) {
+    PromptBenchmarkRun running = current.get();
+    if (running != null && running.isRunning()) {
+      return running.toStatus();
+    }
+    PromptType type = request.getType() != null ? request.getType() : PromptType.RATING;
+    if (type != PromptType.RATING && type != PromptType.SUMMARY) {
+      throw new IllegalArgumentException("Only RATING and SUMMARY prompts can be benchmarked");
+    }
+    int samples = request.getSamples() != null ? request.getSamples() : promptBenchmarkConfig.getSamples();
+    boolean stub = request.getStub() != null ? request.getStub() : promptBenchmarkConfig.isStub();
+    List<Variant> variants = variants(type, request.getVariants());
+    int candidatesPerVacancy = request.getCandidatesPerVacancy() != null
+        ? request.getCandidatesPerVacancy()
+        : promptBenchmarkConfig.getCandidatesPerVacancy();
+    List<Pair> pairs = pairs(candidatesPerVacancy);
+    long calls = (long) variants.size() * pairs.size() * samples;
+    if (calls > promptBenchmarkConfig.getMaxCalls()) {
+      throw new IllegalArgumentException("Benchmark would make %d calls, more than prompts.benchmark.max-calls (%d)"
+          .formatted(calls, promptBenchmarkConfig.getMaxCalls()));
+    }
+
+    PromptBenchmarkRun run = new PromptBenchmarkRun(type, stub, variants.stream().map(Variant::name).toList(),
+        pairs.size(), samples);
+    if (!current.compareAndSet(running, run)) {
+      return current.get().toStatus();
+    }
+    ChatClient client = stub
+        ? ChatClient.builder(new StubChatModel(type, ratingConfig.getMin(), ratingConfig.getMax(),
+            promptBenchmarkConfig.getStubModel())).build()
+        : chatClient;
+    Thread runner = new Thread(() -> run(run, client, type, variants, pairs, samples), "prompt-benchmark");
+    runner.setDaemon(true);
+    runner.start();
+    return run.toStatus();
+  }
+
+  public PromptBenchmarkStatusResponseDto getStatus() {
+    PromptBenchmarkRun run = current.get();
+    return run != null ? run.toStatus()
+        : PromptBenchmarkStatusResponseDto.builder().state(PromptBenchmarkState.IDLE).build();
+  }
+
+  /**
+   * Variant templates with the current prompt in place of an omitted role, rating placeholders filled in.
+   */
+  private List<Variant> variants(PromptType type, List<PromptBenchmarkRequestDto.Variant> requested) {
+    PromptService.Prompts currentPrompts = promptService.getPrompts(type);
+    return requested.stream()
+        .map(variant -> new Variant(variant.getName(),
+            variant.getSystem() != null ? promptService.fill(type, variant.getSystem()) : currentPrompts.system(),
+            variant.getUser() != null ? promptService.fill(type, variant.getUser()) : currentPrompts.user()))
+        .toList();
+  }
+
+  private List<Pair> pairs(int candidatesPerVacancy) {
+    try {
+      Resource[] resources = resourcePatternResolver.getResources(promptBenchmarkConfig.getVacancies());
+      Arrays.sort(resources, Comparator.comparing(resource -> String.valueOf(resource.getFilename())));
+      List<Pair> pairs = new ArrayList<>();
+      for (Resource resource : resources) {
+        String vacancy = resource.getContentAsString(StandardCharsets.UTF_8);
+        for (ScoredResume scored : resumeService.findTopScoredCandidates(CandidateQuery.builder()
+            .vacancyDescription(vacancy)
+            .limit(candidatesPerVacancy)
+            .build())) {
+          pairs.add(new Pair(vacancy, scored.getResume()));
+        }
+      }
+      if (pairs.isEmpty()) {
+        throw new IllegalArgumentException("No vacancy-CV pairs to benchmark: check prompts.benchmark.vacancies ("
+            + promptBenchmarkConfig.getVacancies() + ") and the CV corpus");
+      }
+      return pairs;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void run(PromptBenchmarkRun run, ChatClient client, PromptType type, List<Variant> variants,
+                   List<Pair> pairs, int samples) {
+    ThreadPoolTaskExecutor workers = new ThreadPoolTaskExecutor();
+    workers.setCorePoolSize(promptBenchmarkConfig.getConcurrency());
+    workers.setMaxPoolSize(promptBenchmarkConfig.getConcurrency());
+    workers.setThreadNamePrefix("benchmark-");
+    workers.initialize();
+    log.info("Prompt benchmark of {} {} variants started: {} pairs x {} samples{}", variants.size(), type,
+        pairs.size(), samples, client == chatClient ? "" : " against the stub model");
+    try {
+      List<CompletableFuture<Void>> calls = new ArrayList<>();
+      // Sample-major order, variants innermost: every variant sees the same stretch of model conditions
+      for (int sample = 0; sample < samples; sample++) {
+        for (int pair = 0; pair < pairs.size(); pair++) {
+          for (int variant = 0; variant < variants.size(); variant++) {
+            int pairIndex = pair;
+            int variantIndex = variant;
+            calls.add(CompletableFuture.runAsync(
+                () -> call(run, client, type, variantIndex, variants.get(variantIndex), pairIndex,
+                    pairs.get(pairIndex)),
+                workers));
+          }
+        }
+      }
+      CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+      run.succeeded();
+      for (PromptBenchmarkStatusResponseDto.Variant report : run.toStatus().getVariants()) {
+        log.info("Prompt benchmark variant {}: {} calls, {} failed, {} input tokens/call, p50 {} ms, p90 {} ms, "
+                + "cost {}, rating std dev {}", report.getName(), report.getCalls(), report.getFailures(),
+            Math.round(report.getInputTokensPerCall()), report.getLatencyP50Ms(), report.getLatencyP90Ms(),
+            report.getCost(), report.getRatingStdDev());
+      }
+    } catch (Exception e) {
+      log.error("Prompt benchmark failed", e);
+      run.failed(e);
+    } finally {
+      workers.shutdown();
+    }
+  }
+
+  private void call(PromptBenchmarkRun run, ChatClient client, PromptType type, int variantIndex, Variant variant,
+                    int pairIndex, Pair pair) {
+    try {
+      long start = System.nanoTime();
+      InternalChatResponse response = agentSummaryService.generateWithTemplates(client, type, variant.system(),
+          variant.user(), pair.vacancy(), pair.resume());
+      long latencyMillis = (System.nanoTime() - start) / 1_000_000;
+      int rating = type == PromptType.RATING
+          ? agentSummaryService.extractRatingFromContent(response.getContent())
+          : RatingParser.NO_RATING;
+      run.completed(variantIndex, new PromptBenchmarkRun.Sample(pairIndex, latencyMillis,
+          response.getInputTokens(), response.getOutputTokens(),
+          costCalculationService.calculateCost(response.getEndpoint(), response.getModel(),
+              response.getInputTokens(), response.getOutputTokens()),
+          rating));
+    } catch (Exception e) {
+      log.warn("Benchmark call of variant {} failed: {}", variant.name(), e.getMessage());
+      run.failed(variantIndex);
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.symphony_solutions.cv_analyzer.service.benchmark;
+
+import com.symphony_solutions.cv_analyzer.config.PromptBenchmarkConfig;
+import com.symphony_solutions.cv_analyzer.dto.type.PromptType;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+/**
+ * Local ChatModel for offline prompt benchmarks. Usage is estimated from the prompt length (about four characters
+ * per token), latency grows with prompt and reply size, and a rating is derived from the prompt text, so the same
+ * prompt gets the same rating except for the configured share moved one step. No network or API key is needed;
+ * the numbers show how variants differ in size, not how a real model would answer them.
+ */
+public class StubChatModel implements ChatModel {
+
+  private static final int CHARS_PER_TOKEN = 4;
+
+  private final PromptType type;
+  private final int minRating;
+  private final int maxRating;
+  private final PromptBenchmarkConfig.Stub config;
+
+  public StubChatModel(PromptType type, int minRating, int maxRating, PromptBenchmarkConfig.Stub config) {
+    this.type = type;
+    this.minRating = minRating;
+    this.maxRating = maxRating;
+    this.config = config;
+  }
+
+  @Override
+  public ChatResponse call(Prompt prompt) {
+    String text = prompt.getInstructions().stream().map(Message::getText).collect(Collectors.joining("\n"));
+    int inputTokens = Math.max(1, text.length() / CHARS_PER_TOKEN);
+    String reply;
+    int outputTokens;
+    if (type == PromptType.SUMMARY) {
+      outputTokens = config.getSummaryTokens();
+      reply = "stub ".repeat(outputTokens).trim();
+    } else {
+      reply = String.valueOf(rating(text));
+      outputTokens = 1;
+    }
+    sleep(inputTokens, outputTokens);
+    return new ChatResponse(
+        List.of(new Generation(new AssistantMessage(reply))),
+        ChatResponseMetadata.builder()
+            .model(config.getModel())
+            .usage(new DefaultUsage(inputTokens, outputTokens))
+            .build());
+  }
+
+  private int rating(String text) {
+    int rating = minRating + Math.floorMod(text.hashCode(), maxRating - minRating + 1);
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    if (random.nextDouble() < config.getRatingNoise()) {
+      rating += random.nextBoolean() ? 1 : -1;
+    }
+    return Math.max(minRating, Math.min(rating, maxRating));
+  }
+
+  private void sleep(int inputTokens, int outputTokens) {
+    long micros = config.getBaseLatency().toNanos() / 1000
+        + config.getLatencyPerThousandInputTokens().toNanos() / 1000 * inputTokens / 1000
+        + config.getLatencyPerOutputToken().toNanos() / 1000 * outputTokens;
+    long jitter = config.getLatencyJitter().toNanos() / 1000;
+    if (jitter > 0) {
+      micros += ThreadLocalRandom.current().nextLong(jitter + 1);
+    }
+    try {
+      TimeUnit.MICROSECONDS.sleep(micros);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while simulating latency", e);
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package com.symphony_solutions.cv_analyzer.service.embedding;
+
+import com.symphony_solutions.cv_analyzer.config.RetrievalConfig;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+/**
+ * Embeds CVs and vacancies for hybrid retrieval with the configured Spring AI EmbeddingModel: the local
+ * {@link HashingEmbeddingModel} by default, or the application's EmbeddingModel bean. Vectors are unit length.
+ */
+@Slf4j
+@Service
+public class EmbeddingService {
+
+  private static final int BATCH_SIZE = 64;
+
+  private final RetrievalConfig.Hybrid config;
+  private final ObjectProvider<EmbeddingModel> embeddingModels;
+
+  private volatile EmbeddingModel model;
+
+  public EmbeddingService(RetrievalConfig retrievalConfig, ObjectProvider<EmbeddingModel> embeddingModels) {
+    this.config = retrievalConfig.getHybrid();
+    this.embeddingModels = embeddingModels;
+  }
+
+  public float[] embed(String text) {
+    return normalize(model().embed(truncate(text)));
+  }
+
+  public List<float[]> embedAll(List<String> texts) {
+    List<float[]> vectors = new ArrayList<>(texts.size());
+    for (int start = 0; start < texts.size(); start += BATCH_SIZE) {
+      List<String> batch = texts.subList(start, Math.min(texts.size(), start + BATCH_SIZE)).stream()
+          .map(this::truncate)
+          .toList();
+      model().embed(batch).forEach(vector -> vectors.add(normalize(vector)));
+    }
+    return vectors;
+  }
+
+  public int dimensions() {
+    return model().dimensions();
+  }
+
+  /**
+   * Resolved on first use, so the hosted model is not required unless hybrid retrieval asks for it.
+   */
+  private EmbeddingModel model() {
+    EmbeddingModel resolved = model;
+    if (resolved == null) {
+      if ("spring".equalsIgnoreCase(config.getEmbeddingModel())) {
+        resolved = embeddingModels.getIfUnique();
+        if (resolved == null) {
+          throw new IllegalStateException("candidate.retrieval.hybrid.embedding-model=spring needs exactly one "
+              + "EmbeddingModel bean");
+        }
+      } else {
+        resolved = new HashingEmbeddingModel(config.getDimensions());
+      }
+      log.info("Hybrid retrieval embeds with {}", resolved.getClass().getSimpleName());
+      model = resolved;
+    }
+    return resolved;
+  }
+
+  private String truncate(String text) {
+    return text.length() > config.getMaxEmbeddingChars() ? text.substring(0, config.getMaxEmbeddingChars()) : text;
+  }
+
+  private static float[] normalize(float[] vector) {
+    double norm = 0;
+    for (float value : vector) {
+      norm += value * value;
+    }
+    if (norm > 0 && Math.abs(norm - 1) > 1e-6) {
+      float scale = (float) (1 / Math.sqrt(norm));
+      for (int i = 0; i < vector.length; i++) {
+        vector[i] *= scale;
+      }
+    }
+    return vector;
+  }
+}
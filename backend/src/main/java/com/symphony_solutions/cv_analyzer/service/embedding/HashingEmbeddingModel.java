@@ -0,0 +1,143 @@
+package com.symphony_solutions.cv_analyzer.service.embedding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+/**
+ * Local, deterministic EmbeddingModel: words, word bigrams and character trigrams are feature-hashed into a
+ * fixed number of dimensions with log-scaled counts and the vector is L2-normalized. Trigrams let inflections
+ * ("manager", "management") overlap, and common CV abbreviations are expanded, so "PM" lands near
+ * "project manager" and "product manager". It needs no network or model files, which makes it the offline
+ * default and a stable stand-in in tests; a hosted model captures far more meaning.
+ */
+public class HashingEmbeddingModel implements EmbeddingModel {
+
+  private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}+#]+");
+  private static final Map<String, String> ABBREVIATIONS = Map.ofEntries(
+      Map.entry("pm", "project manager product manager"),
+      Map.entry("po", "product owner"),
+      Map.entry("ba", "business analyst"),
+      Map.entry("qa", "quality assurance tester"),
+      Map.entry("sde", "software development engineer"),
+      Map.entry("swe", "software engineer"),
+      Map.entry("dev", "developer"),
+      Map.entry("devops", "devops operations"),
+      Map.entry("sre", "site reliability engineer"),
+      Map.entry("ml", "machine learning"),
+      Map.entry("ai", "artificial intelligence"),
+      Map.entry("js", "javascript"),
+      Map.entry("ts", "typescript"),
+      Map.entry("k8s", "kubernetes"),
+      Map.entry("ui", "user interface"),
+      Map.entry("ux", "user experience"));
+  private static final float WORD_WEIGHT = 1.0f;
+  private static final float BIGRAM_WEIGHT = 0.5f;
+  private static final float TRIGRAM_WEIGHT = 0.25f;
+
+  private final int dimensions;
+
+  public HashingEmbeddingModel(int dimensions) {
+    this.dimensions = dimensions;
+  }
+
+  @Override
+  public EmbeddingResponse call(EmbeddingRequest request) {
+    List<String> texts = request.getInstructions();
+    List<Embedding> embeddings = new ArrayList<>(texts.size());
+    for (int i = 0; i < texts.size(); i++) {
+      embeddings.add(new Embedding(embed(texts.get(i)), i));
+    }
+    return new EmbeddingResponse(embeddings);
+  }
+
+  @Override
+  public float[] embed(String text) {
+    float[] counts = new float[dimensions];
+    String previous = null;
+    for (String word : words(text)) {
+      add(counts, word, WORD_WEIGHT);
+      if (previous != null) {
+        add(counts, previous + ' ' + word, BIGRAM_WEIGHT);
+      }
+      String padded = '<' + word + '>';
+      for (int i = 0; i + 3 <= padded.length(); i++) {
+        add(counts, padded.substring(i, i + 3), TRIGRAM_WEIGHT);
+      }
+      previous = word;
+    }
+    return normalize(counts);
+  }
+
+  @Override
+  public float[] embed(Document document) {
+    return embed(document.getText());
+  }
+
+  @Override
+  public int dimensions() {
+    return dimensions;
+  }
+
+  private static List<String> words(String text) {
+    List<String> words = new ArrayList<>();
+    for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+      if (token.isEmpty()) {
+        continue;
+      }
+      String expansion = ABBREVIATIONS.get(token);
+      if (expansion == null) {
+        words.add(token);
+      } else {
+        for (String word : expansion.split(" ")) {
+          words.add(word);
+        }
+      }
+    }
+    return words;
+  }
+
+  /**
+   * Adds a feature with the hashing trick; the sign bit spreads collisions around zero instead of piling them up.
+   */
+  private void add(float[] counts, String feature, float weight) {
+    int hash = mix(feature.hashCode());
+    int index = Math.floorMod(hash, dimensions);
+    counts[index] += (hash & 0x4000_0000) == 0 ? weight : -weight;
+  }
+
+  private static float[] normalize(float[] counts) {
+    double norm = 0;
+    for (int i = 0; i < counts.length; i++) {
+      float value = counts[i];
+      // Log scaling keeps repeated words in long CVs from dominating the direction
+      counts[i] = value == 0 ? 0 : (float) (Math.signum(value) * Math.log1p(Math.abs(value)));
+      norm += counts[i] * counts[i];
+    }
+    if (norm > 0) {
+      float scale = (float) (1 / Math.sqrt(norm));
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] *= scale;
+      }
+    }
+    return counts;
+  }
+
+  /**
+   * 32-bit finalizer of MurmurHash3, so similar strings do not land in neighbouring dimensions.
+   */
+  private static int mix(int h) {
+    h ^= h >>> 16;
+    h *= 0x85EBCA6B;
+    h ^= h >>> 13;
+    h *= 0xC2B2AE35;
+    return h ^ (h >>> 16);
+  }
+}
@@ -0,0 +1,34 @@
+package com.symphony_solutions.cv_analyzer.service.routing;
+
+import com.symphony_solutions.cv_analyzer.exception.LlmHttpException;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResponseErrorHandler;
+
+/**
+ * Error handler of a routed endpoint's API client: 5xx responses raise a {@link TransientAiException} and 4xx
+ * responses a {@link LlmHttpException} with the status, so {@link RoutingChatModel} decides on failover by status
+ * rather than by message text. Messages read "status - body", as with Spring AI's default handler.
+ */
+public class EndpointResponseErrorHandler implements ResponseErrorHandler {
+
+  @Override
+  public boolean hasError(ClientHttpResponse response) throws IOException {
+    return response.getStatusCode().isError();
+  }
+
+  @Override
+  public void handleError(URI url, HttpMethod method, ClientHttpResponse response) throws IOException {
+    HttpStatusCode status = response.getStatusCode();
+    String message = status.value() + " - " + new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+    if (status.is4xxClientError()) {
+      throw new LlmHttpException(status, message);
+    }
+    throw new TransientAiException(message);
+  }
+}
@@ -0,0 +1,80 @@
+package com.symphony_solutions.cv_analyzer.service.routing;
+
+import java.time.Duration;
+import java.util.Set;
+import lombok.Getter;
+import org.springframework.ai.chat.model.ChatModel;
+
+/**
+ * One OpenAI-compatible endpoint behind the {@link RoutingChatModel}, with its observed latency and error rate.
+ */
+public class RoutedEndpoint {
+
+  private static final double SMOOTHING = 0.2;
+  private static final double INITIAL_LATENCY_MILLIS = 1000;
+
+  @Getter
+  private final String name;
+
+  @Getter
+  private final ChatModel chatModel;
+
+  private final double weight;
+
+  private final Duration errorCooldown;
+
+  private final Set<String> models;
+
+  private double averageLatencyMillis = INITIAL_LATENCY_MILLIS;
+  private double errorRate;
+  private long cooldownUntilNanos;
+
+  /**
+   * @param models the models a call may ask this endpoint for; other requested models are left out of its calls
+   */
+  public RoutedEndpoint(String name, ChatModel chatModel, double weight, Duration errorCooldown, Set<String> models) {
+    this.name = name;
+    this.chatModel = chatModel;
+    this.weight = weight;
+    this.errorCooldown = errorCooldown;
+    this.models = Set.copyOf(models);
+  }
+
+  public boolean serves(String model) {
+    return models.contains(model);
+  }
+
+  /**
+   * Configured weight scaled down by observed latency and error rate.
+   */
+  public synchronized double effectiveWeight() {
+    return weight * (INITIAL_LATENCY_MILLIS / Math.max(1, averageLatencyMillis)) / (1 + 10 * errorRate);
+  }
+
+  public synchronized boolean isCoolingDown() {
+    return System.nanoTime() < cooldownUntilNanos;
+  }
+
+  public synchronized double getAverageLatencyMillis() {
+    return averageLatencyMillis;
+  }
+
+  public synchronized double getErrorRate() {
+    return errorRate;
+  }
+
+  public synchronized void recordSuccess(Duration latency) {
+    averageLatencyMillis += SMOOTHING * (latency.toMillis() - averageLatencyMillis);
+    errorRate -= SMOOTHING * errorRate;
+  }
+
+  /**
+   * Records a failed call; failover-worthy failures (5xx, 429, I/O) also put the endpoint on cooldown.
+   */
+  public synchronized void recordFailure(boolean cooldown) {
+    errorRate += SMOOTHING * (1 - errorRate);
+    if (cooldown) {
+      cooldownUntilNanos = System.nanoTime() + errorCooldown.toNanos();
+    }
+  }
+}
@@ -0,0 +1,220 @@
+package com.symphony_solutions.cv_analyzer.service.routing;
+
+import com.symphony_solutions.cv_analyzer.exception.LlmHttpException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+
+/**
+ * ChatModel that spreads calls over several OpenAI-compatible endpoints.
+ * <p>
+ * The first endpoint of every call is picked at random, proportionally to its configured weight scaled by
+ * observed latency and error rate. On 5xx, 429 or connection failures the call fails over to the remaining
+ * endpoints, best first; endpoints that just failed are put on cooldown and only tried as a last resort.
+ * The serving endpoint is added to the response metadata under {@link #ENDPOINT_METADATA_KEY}. A model requested
+ * in the call options is only sent to endpoints that serve it; the others answer with their own model.
+ */
+@Slf4j
+public class RoutingChatModel implements ChatModel {
+
+  public static final String ENDPOINT_METADATA_KEY = "routing-endpoint";
+
+  @Getter
+  private final List<RoutedEndpoint> endpoints;
+
+  private final MeterRegistry meterRegistry;
+
+  public RoutingChatModel(List<RoutedEndpoint> endpoints, MeterRegistry meterRegistry) {
+    if (endpoints.isEmpty()) {
+      throw new IllegalArgumentException("LLM routing is enabled but no endpoints are configured");
+    }
+    this.endpoints = List.copyOf(endpoints);
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public ChatResponse call(Prompt prompt) {
+    RuntimeException lastFailure = null;
+    for (RoutedEndpoint endpoint : routingOrder()) {
+      long start = System.nanoTime();
+      try {
+        ChatResponse response = endpoint.getChatModel().call(forEndpoint(prompt, endpoint));
+        recordSuccess(endpoint, start);
+        return withEndpoint(response, endpoint);
+      } catch (RuntimeException e) {
+        boolean failover = isFailoverWorthy(e);
+        recordFailure(endpoint, start, failover);
+        if (!failover) {
+          throw e;
+        }
+        log.warn("LLM endpoint {} failed ({}), failing over", endpoint.getName(), e.getMessage());
+        lastFailure = e;
+      }
+    }
+    throw lastFailure;
+  }
+
+  /**
+   * Streams from the selected endpoint; fails over only if the endpoint errors before the first chunk.
+   */
+  @Override
+  public Flux<ChatResponse> stream(Prompt prompt) {
+    return Flux.defer(() -> stream(prompt, routingOrder(), 0));
+  }
+
+  /**
+   * Endpoint-specific defaults (e.g. model) are applied by each endpoint's own model, so none are exposed here.
+   */
+  @Override
+  public ChatOptions getDefaultOptions() {
+    return ChatOptions.builder().build();
+  }
+
+  private Flux<ChatResponse> stream(Prompt prompt, List<RoutedEndpoint> order, int index) {
+    RoutedEndpoint endpoint = order.get(index);
+    AtomicBoolean emitted = new AtomicBoolean();
+    long start = System.nanoTime();
+    return endpoint.getChatModel().stream(forEndpoint(prompt, endpoint))
+        .doOnNext(chunk -> emitted.set(true))
+        .map(chunk -> withEndpoint(chunk, endpoint))
+        .doOnComplete(() -> recordSuccess(endpoint, start))
+        .onErrorResume(e -> {
+          boolean failover = isFailoverWorthy(e);
+          recordFailure(endpoint, start, failover);
+          if (failover && !emitted.get() && index + 1 < order.size()) {
+            log.warn("LLM endpoint {} failed to stream ({}), failing over", endpoint.getName(), e.getMessage());
+            return stream(prompt, order, index + 1);
+          }
+          return Flux.error(e);
+        });
+  }
+
+  /**
+   * The prompt without its requested model if the endpoint does not serve it, e.g. a per-type OpenAI model
+   * override on a Groq endpoint.
+   */
+  private static Prompt forEndpoint(Prompt prompt, RoutedEndpoint endpoint) {
+    ChatOptions options = prompt.getOptions();
+    if (options == null || options.getModel() == null || endpoint.serves(options.getModel())) {
+      return prompt;
+    }
+    ChatOptions withoutModel;
+    if (options instanceof OpenAiChatOptions openAiOptions) {
+      OpenAiChatOptions copy = openAiOptions.copy();
+      copy.setModel(null);
+      withoutModel = copy;
+    } else {
+      withoutModel = ChatOptions.builder()
+          .maxTokens(options.getMaxTokens())
+          .temperature(options.getTemperature())
+          .topP(options.getTopP())
+          .topK(options.getTopK())
+          .frequencyPenalty(options.getFrequencyPenalty())
+          .presencePenalty(options.getPresencePenalty())
+          .stopSequences(options.getStopSequences())
+          .build();
+    }
+    return new Prompt(prompt.getInstructions(), withoutModel);
+  }
+
+  private List<RoutedEndpoint> routingOrder() {
+    Map<RoutedEndpoint, Double> weights = new IdentityHashMap<>();
+    List<RoutedEndpoint> available = new ArrayList<>();
+    List<RoutedEndpoint> coolingDown = new ArrayList<>();
+    for (RoutedEndpoint endpoint : endpoints) {
+      weights.put(endpoint, endpoint.effectiveWeight());
+      (endpoint.isCoolingDown() ? coolingDown : available).add(endpoint);
+    }
+    Comparator<RoutedEndpoint> byWeight = Comparator.comparingDouble((RoutedEndpoint e) -> weights.get(e)).reversed();
+
+    List<RoutedEndpoint> order = new ArrayList<>(endpoints.size());
+    if (!available.isEmpty()) {
+      RoutedEndpoint first = pickWeighted(available, weights);
+      order.add(first);
+      available.stream().filter(endpoint -> endpoint != first).sorted(byWeight).forEach(order::add);
+    }
+    coolingDown.stream().sorted(byWeight).forEach(order::add);
+    return order;
+  }
+
+  private RoutedEndpoint pickWeighted(List<RoutedEndpoint> candidates, Map<RoutedEndpoint, Double> weights) {
+    double total = candidates.stream().mapToDouble(weights::get).sum();
+    double point = ThreadLocalRandom.current().nextDouble() * total;
+    for (RoutedEndpoint endpoint : candidates) {
+      point -= weights.get(endpoint);
+      if (point <= 0) {
+        return endpoint;
+      }
+    }
+    return candidates.get(candidates.size() - 1);
+  }
+
+  private ChatResponse withEndpoint(ChatResponse response, RoutedEndpoint endpoint) {
+    return ChatResponse.builder()
+        .from(response)
+        .metadata(ENDPOINT_METADATA_KEY, endpoint.getName())
+        .build();
+  }
+
+  private void recordSuccess(RoutedEndpoint endpoint, long startNanos) {
+    Duration latency = Duration.ofNanos(System.nanoTime() - startNanos);
+    endpoint.recordSuccess(latency);
+    latencyTimer(endpoint, "success").record(latency);
+  }
+
+  private void recordFailure(RoutedEndpoint endpoint, long startNanos, boolean failover) {
+    endpoint.recordFailure(failover);
+    latencyTimer(endpoint, "error").record(Duration.ofNanos(System.nanoTime() - startNanos));
+    if (failover) {
+      Counter.builder("gen_ai.client.endpoint.failover")
+          .description("Calls that failed over away from an LLM endpoint")
+          .tag("endpoint", endpoint.getName())
+          .register(meterRegistry)
+          .increment();
+    }
+  }
+
+  private Timer latencyTimer(RoutedEndpoint endpoint, String outcome) {
+    return Timer.builder("gen_ai.client.endpoint.latency")
+        .description("Latency of LLM calls per routed endpoint")
+        .tag("endpoint", endpoint.getName())
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  /**
+   * 5xx, 429 and connection failures are worth retrying elsewhere; other 4xx errors would fail everywhere.
+   * Blocking calls report the status through {@link EndpointResponseErrorHandler}.
+   */
+  static boolean isFailoverWorthy(Throwable e) {
+    if (e instanceof TransientAiException
+        || e instanceof ResourceAccessException
+        || e instanceof WebClientRequestException) {
+      return true;
+    }
+    if (e instanceof WebClientResponseException responseException) {
+      return responseException.getStatusCode().is5xxServerError() || responseException.getStatusCode().value() == 429;
+    }
+    return e instanceof LlmHttpException httpException && httpException.getStatusCode().value() == 429;
+  }
+}
@@ -0,0 +1,100 @@
+package com.symphony_solutions.cv_analyzer.service.shard;
+
+import com.symphony_solutions.cv_analyzer.config.ShardingConfig;
+import com.symphony_solutions.cv_analyzer.dto.request.ShardSearchRequestDto;
+import com.symphony_solutions.cv_analyzer.dto.response.ShardCandidateDto;
+import com.symphony_solutions.cv_analyzer.model.CandidateQuery;
+import com.symphony_solutions.cv_analyzer.model.Resume;
+import com.symphony_solutions.cv_analyzer.model.ScoredResume;
+import com.symphony_solutions.cv_analyzer.service.ResumeLoader;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Calls the shard search endpoint of another node. Nodes share the admin credentials.
+ */
+@Component
+@ConditionalOnExpression("${candidate.sharding.enabled:false} and '${candidate.retrieval.backend:keyword}' == 'keyword'")
+public class RemoteShardClient {
+
+  private static final ParameterizedTypeReference<List<ShardCandidateDto>> CANDIDATES =
+      new ParameterizedTypeReference<>() {
+      };
+
+  private final RestClient restClient;
+  private final ResumeLoader resumeLoader;
+
+  public RemoteShardClient(RestClient.Builder builder, ShardingConfig shardingConfig, ResumeLoader resumeLoader,
+                           @Value("${admin.username:admin}") String username,
+                           @Value("${admin.password:admin}") String password) {
+    SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+    requestFactory.setConnectTimeout(shardingConfig.getTimeout());
+    requestFactory.setReadTimeout(shardingConfig.getTimeout());
+    this.restClient = builder
+        .requestFactory(requestFactory)
+        .defaultHeaders(headers -> headers.setBasicAuth(username, password))
+        .build();
+    this.resumeLoader = resumeLoader;
+  }
+
+  /**
+   * Top candidates of a remote shard; the CVs get their digest and screening verdict re-derived locally.
+   */
+  public List<ScoredResume> search(String baseUrl, int shard, CandidateQuery query, Duration timeout) {
+    List<ShardCandidateDto> candidates = restClient.post()
+        .uri(baseUrl + "/api/admin/shards/{shard}/search", shard)
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(ShardSearchRequestDto.builder()
+            .vacancyDescription(query.getVacancyDescription())
+            .limit(query.getLimit())
+            .filter(query.getFilter())
+            .timeoutMs(Math.max(1, timeout.toMillis()))
+            .build())
+        .retrieve()
+        .body(CANDIDATES);
+    if (candidates == null) {
+      return List.of();
+    }
+    return candidates.stream()
+        .map(candidate -> ScoredResume.builder()
+            .resume(toResume(candidate))
+            .score(candidate.getScore())
+            .relevance(candidate.getRelevance())
+            .keywordScore(candidate.getKeywordScore())
+            .similarity(candidate.getSimilarity())
+            .build())
+        .toList();
+  }
+
+  public Optional<Resume> findByFilename(String baseUrl, int shard, String filename) {
+    ShardCandidateDto candidate = restClient.get()
+        .uri(baseUrl + "/api/admin/shards/{shard}/cv?filename={filename}", shard, filename)
+        .retrieve()
+        .onStatus(status -> status == HttpStatus.NOT_FOUND, (request, response) -> {
+        })
+        .body(ShardCandidateDto.class);
+    return Optional.ofNullable(candidate).filter(found -> found.getFilename() != null).map(this::toResume);
+  }
+
+  private Resume toResume(ShardCandidateDto candidate) {
+    Resume cv = Resume.builder()
+        .name(candidate.getName())
+        .filename(candidate.getFilename())
+        .content(candidate.getContent())
+        .fields(candidate.getFields())
+        .clusterId(candidate.getClusterId())
+        .duplicates(candidate.getDuplicates())
+        .build();
+    resumeLoader.enrich(cv);
+    return cv;
+  }
+}
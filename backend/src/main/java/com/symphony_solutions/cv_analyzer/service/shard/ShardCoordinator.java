@@ -0,0 +1,183 @@
+package com.symphony_solutions.cv_analyzer.service.shard;
+
+import com.symphony_solutions.cv_analyzer.config.RetrievalConfig;
+import com.symphony_solutions.cv_analyzer.config.ShardingConfig;
+import com.symphony_solutions.cv_analyzer.dto.response.CorpusStatsResponseDto;
+import com.symphony_solutions.cv_analyzer.exception.ShardsUnavailableException;
+import com.symphony_solutions.cv_analyzer.model.CandidateQuery;
+import com.symphony_solutions.cv_analyzer.model.Deadline;
+import com.symphony_solutions.cv_analyzer.model.Resume;
+import com.symphony_solutions.cv_analyzer.model.ScoredResume;
+import com.symphony_solutions.cv_analyzer.service.ResumeFileService;
+import com.symphony_solutions.cv_analyzer.service.ResumeService;
+import com.symphony_solutions.cv_analyzer.util.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Scatter-gather retrieval over a sharded corpus: every shard is searched in parallel, in this process or on the
+ * node listed for it, and the per-shard top candidates are merged. A shard that fails, does not answer within
+ * the timeout (or the request deadline, if sooner) or finds the fan-out pool full is left out and reported in
+ * {@link CandidateQuery#getMissingShards()}, so a slow node costs recall, not latency; if no shard answers the
+ * query fails.
+ */
+@Slf4j
+@Service
+@Primary
+@ConditionalOnExpression("${candidate.sharding.enabled:false} and '${candidate.retrieval.backend:keyword}' == 'keyword'")
+public class ShardCoordinator implements ResumeService {
+
+  private final ShardingConfig shardingConfig;
+  private final RetrievalConfig retrievalConfig;
+  private final ResumeFileService resumeFileService;
+  private final RemoteShardClient remoteShardClient;
+  private final MeterRegistry meterRegistry;
+  private final ThreadPoolTaskExecutor executor;
+
+  public ShardCoordinator(ShardingConfig shardingConfig, RetrievalConfig retrievalConfig,
+                          ResumeFileService resumeFileService, RemoteShardClient remoteShardClient,
+                          MeterRegistry meterRegistry) {
+    this.shardingConfig = shardingConfig;
+    this.retrievalConfig = retrievalConfig;
+    this.resumeFileService = resumeFileService;
+    this.remoteShardClient = remoteShardClient;
+    this.meterRegistry = meterRegistry;
+    // One thread per shard and concurrent query; a full queue rejects instead of delaying past the timeout
+    int threads = Math.max(1, shardingConfig.getShardCount()) * Math.max(1, shardingConfig.getMaxConcurrentQueries());
+    this.executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(threads);
+    executor.setMaxPoolSize(threads);
+    executor.setQueueCapacity(threads);
+    executor.setThreadNamePrefix("shard-");
+    executor.setWaitForTasksToCompleteOnShutdown(false);
+    executor.initialize();
+  }
+
+  /**
+   * Loads the shards of this node at startup instead of on the first search, which other nodes would time out on.
+   */
+  @Override
+  public void warmUp() {
+    resumeFileService.warmUp();
+    log.info("Loaded shards {}", resumeFileService.servedShards());
+  }
+
+  /**
+   * Ready once the local shards are loaded; remote shards are not waited for, a missing one is left out of results.
+   */
+  @Override
+  public boolean isReady() {
+    return resumeFileService.isReady();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdown();
+  }
+
+  /**
+   * Asks each shard for its top {@code limit} candidates, which is enough for the global top {@code limit}, or in
+   * hybrid mode for its fusion pool, which is fused again across shards (see {@link ResumeFileService#mergeShards}).
+   *
+   * @throws ShardsUnavailableException if no shard answered
+   */
+  @Override
+  public List<ScoredResume> findTopScoredCandidates(CandidateQuery query) {
+    Duration timeout = query.getDeadline().remaining().compareTo(shardingConfig.getTimeout()) < 0
+        ? query.getDeadline().remaining()
+        : shardingConfig.getTimeout();
+    // Local searches stop scoring at the shard timeout on their own; remote ones are bounded by the read timeout
+    CandidateQuery shardQuery = CandidateQuery.builder()
+        .vacancyDescription(query.getVacancyDescription())
+        .limit(query.getLimit())
+        .filter(query.getFilter())
+        .deadline(Deadline.after(timeout))
+        .build();
+    long gatherBy = System.nanoTime() + timeout.toNanos();
+    Map<Integer, Future<List<ScoredResume>>> pending = new LinkedHashMap<>();
+    for (int shard = 0; shard < shardingConfig.getShardCount(); shard++) {
+      try {
+        pending.put(shard, executor.submit(searchTask(shard, shardQuery, timeout)));
+      } catch (TaskRejectedException e) {
+        missing(query, shard, "rejected");
+        log.warn("Shard fan-out pool is full, searching without shard {}", shard);
+      }
+    }
+
+    List<List<ScoredResume>> results = new ArrayList<>();
+    for (Map.Entry<Integer, Future<List<ScoredResume>>> entry : pending.entrySet()) {
+      int shard = entry.getKey();
+      Future<List<ScoredResume>> future = entry.getValue();
+      try {
+        results.add(future.get(Math.max(0, gatherBy - System.nanoTime()), TimeUnit.NANOSECONDS));
+      } catch (TimeoutException e) {
+        // Interrupts the search so the thread is free for the next query
+        future.cancel(true);
+        missing(query, shard, "timeout");
+        log.warn("Shard {} did not answer within {} ms, merging without it", shard, timeout.toMillis());
+      } catch (ExecutionException e) {
+        missing(query, shard, "error");
+        log.warn("Shard {} failed, merging without it", shard, e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        future.cancel(true);
+        missing(query, shard, "interrupted");
+      }
+    }
+    if (results.isEmpty()) {
+      throw new ShardsUnavailableException("None of the " + shardingConfig.getShardCount() + " shards answered");
+    }
+    return ResumeFileService.mergeShards(results, query.getLimit(), retrievalConfig.getHybrid());
+  }
+
+  /**
+   * Looks the CV up on the shard it is routed to.
+   */
+  @Override
+  public Optional<Resume> findByFilename(String filename) {
+    int shard = ShardRouter.shardOf(filename, shardingConfig.getShardCount());
+    String baseUrl = shardingConfig.getRemoteShards().get(shard);
+    if (baseUrl != null) {
+      return remoteShardClient.findByFilename(baseUrl, shard, filename);
+    }
+    return resumeFileService.findByFilename(filename);
+  }
+
+  /**
+   * Statistics of the shards served by this node.
+   */
+  @Override
+  public CorpusStatsResponseDto getCorpusStats() {
+    return resumeFileService.getCorpusStats();
+  }
+
+  private Callable<List<ScoredResume>> searchTask(int shard, CandidateQuery query, Duration timeout) {
+    String baseUrl = shardingConfig.getRemoteShards().get(shard);
+    if (baseUrl != null) {
+      return () -> remoteShardClient.search(baseUrl, shard, query, timeout);
+    }
+    return () -> resumeFileService.findTopScoredCandidates(shard, query);
+  }
+
+  private void missing(CandidateQuery query, int shard, String reason) {
+    query.getMissingShards().add(shard);
+    meterRegistry.counter("candidate.shard.failures", "shard", String.valueOf(shard), "reason", reason).increment();
+  }
+}
@@ -0,0 +1,140 @@
+package com.symphony_solutions.cv_analyzer.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Finds all occurrences of a fixed set of phrases in one pass over the text, regardless of how many phrases
+ * there are. Matching is case-insensitive and any run of whitespace in the text matches a single space,
+ * so "Ignore  all\nprevious instructions" matches "ignore all previous instructions". With whole-word matching
+ * a pattern that starts (ends) with a letter or digit does not match right after (before) another one, so "act as"
+ * does not match "contract as".
+ */
+public final class AhoCorasickMatcher {
+
+  private final List<String> patterns;
+  private final int[] lengths;
+  private final boolean wholeWords;
+  private final Node root = new Node();
+
+  public AhoCorasickMatcher(List<String> patterns) {
+    this(patterns, false);
+  }
+
+  public AhoCorasickMatcher(List<String> patterns, boolean wholeWords) {
+    this.patterns = List.copyOf(patterns);
+    this.lengths = new int[this.patterns.size()];
+    this.wholeWords = wholeWords;
+    for (int i = 0; i < this.patterns.size(); i++) {
+      String pattern = normalize(this.patterns.get(i));
+      lengths[i] = pattern.length();
+      addPattern(pattern, i);
+    }
+    buildFailureLinks();
+  }
+
+  /**
+   * A match of one pattern, from {@code start} (inclusive) to {@code end} (exclusive) in the original text.
+   */
+  public record Match(String pattern, int start, int end) {
+  }
+
+  public List<Match> findAll(CharSequence text) {
+    List<Match> matches = new ArrayList<>();
+    // Original position of each character fed to the automaton, to map matches back to the text
+    int[] positions = new int[text.length()];
+    int fed = 0;
+    Node node = root;
+    boolean previousWasSpace = true;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (Character.isWhitespace(c)) {
+        if (previousWasSpace) {
+          continue;
+        }
+        c = ' ';
+        previousWasSpace = true;
+      } else {
+        c = Character.toLowerCase(c);
+        previousWasSpace = false;
+      }
+      positions[fed++] = i;
+      while (node != root && !node.children.containsKey(c)) {
+        node = node.failure;
+      }
+      node = node.children.getOrDefault(c, root);
+      for (int p = node.outputs.nextSetBit(0); p >= 0; p = node.outputs.nextSetBit(p + 1)) {
+        int start = positions[fed - lengths[p]];
+        if (!wholeWords || isWholeWord(text, start, i + 1)) {
+          matches.add(new Match(patterns.get(p), start, i + 1));
+        }
+      }
+    }
+    return matches;
+  }
+
+  private static boolean isWholeWord(CharSequence text, int start, int end) {
+    return !(start > 0 && isWordCharacter(text.charAt(start)) && isWordCharacter(text.charAt(start - 1)))
+        && !(end < text.length() && isWordCharacter(text.charAt(end - 1)) && isWordCharacter(text.charAt(end)));
+  }
+
+  private static boolean isWordCharacter(char c) {
+    return Character.isLetterOrDigit(c);
+  }
+
+  /**
+   * Distinct patterns that occur in the text, in order of first occurrence.
+   */
+  public List<String> findPatterns(CharSequence text) {
+    return findAll(text).stream().map(Match::pattern).distinct().toList();
+  }
+
+  private void addPattern(String pattern, int index) {
+    if (pattern.isEmpty()) {
+      return;
+    }
+    Node node = root;
+    for (int i = 0; i < pattern.length(); i++) {
+      node = node.children.computeIfAbsent(pattern.charAt(i), c -> new Node());
+    }
+    node.outputs.set(index);
+  }
+
+  private void buildFailureLinks() {
+    Queue<Node> queue = new ArrayDeque<>();
+    root.failure = root;
+    for (Node child : root.children.values()) {
+      child.failure = root;
+      queue.add(child);
+    }
+    while (!queue.isEmpty()) {
+      Node node = queue.remove();
+      for (Map.Entry<Character, Node> edge : node.children.entrySet()) {
+        Node child = edge.getValue();
+        Node failure = node.failure;
+        while (failure != root && !failure.children.containsKey(edge.getKey())) {
+          failure = failure.failure;
+        }
+        Node target = failure.children.get(edge.getKey());
+        child.failure = target != null && target != child ? target : root;
+        child.outputs.or(child.failure.outputs);
+        queue.add(child);
+      }
+    }
+  }
+
+  private static String normalize(String pattern) {
+    return pattern.trim().replaceAll("\\s+", " ").toLowerCase();
+  }
+
+  private static final class Node {
+    private final Map<Character, Node> children = new HashMap<>();
+    private final BitSet outputs = new BitSet();
+    private Node failure;
+  }
+}
@@ -0,0 +1,73 @@
+package com.symphony_solutions.cv_analyzer.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Text kept as a deflate-compressed UTF-8 block and decompressed on each access. A CV compresses to a fraction
+ * of its String form and is a single primitive array to the garbage collector.
+ */
+public final class CompressedText {
+
+  private final byte[] block;
+  private final int length;
+  private final int utf8Length;
+
+  private CompressedText(byte[] block, int length, int utf8Length) {
+    this.block = block;
+    this.length = length;
+    this.utf8Length = utf8Length;
+  }
+
+  public static CompressedText of(String text) {
+    byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(utf8);
+      deflater.finish();
+      ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, utf8.length / 2));
+      byte[] buffer = new byte[8192];
+      while (!deflater.finished()) {
+        out.write(buffer, 0, deflater.deflate(buffer));
+      }
+      return new CompressedText(out.toByteArray(), text.length(), utf8.length);
+    } finally {
+      deflater.end();
+    }
+  }
+
+  public String text() {
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(block);
+      byte[] utf8 = new byte[utf8Length];
+      int read = 0;
+      while (read < utf8Length && !inflater.finished()) {
+        read += inflater.inflate(utf8, read, utf8Length - read);
+      }
+      return new String(utf8, 0, read, StandardCharsets.UTF_8);
+    } catch (DataFormatException e) {
+      throw new IllegalStateException("Corrupt compressed text block", e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  /**
+   * Length of the text in chars, known without decompressing.
+   */
+  public int length() {
+    return length;
+  }
+
+  public int compressedSize() {
+    return block.length;
+  }
+
+  public int uncompressedSize() {
+    return utf8Length;
+  }
+}
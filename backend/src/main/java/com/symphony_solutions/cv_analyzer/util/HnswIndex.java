@@ -0,0 +1,271 @@
+package com.symphony_solutions.cv_analyzer.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.function.IntPredicate;
+
+/**
+ * In-process approximate nearest-neighbour index (Hierarchical Navigable Small World graph) over unit-length
+ * float vectors, ranked by cosine similarity. Vectors are kept in one flat float array. Built single-threaded,
+ * then safe to search concurrently.
+ */
+public final class HnswIndex {
+
+  private static final long SEED = 42;
+
+  private final int dimensions;
+  private final int maxConnections;
+  private final int maxConnectionsLayer0;
+  private final int efConstruction;
+  private final double levelFactor;
+  private final SplittableRandom random = new SplittableRandom(SEED);
+
+  private float[] vectors;
+  /**
+   * links[node][layer][0] is the neighbour count, followed by the neighbour ids.
+   */
+  private int[][][] links;
+  private int size;
+  private int entryPoint = -1;
+  private int topLayer = -1;
+
+  /**
+   * A search hit.
+   */
+  public record Neighbor(int id, float similarity) {
+  }
+
+  /**
+   * @param maxConnections neighbours per node on the upper layers (M); layer 0 keeps twice as many
+   * @param efConstruction candidate list size while inserting; larger builds a better graph, slower
+   */
+  public HnswIndex(int dimensions, int maxConnections, int efConstruction, int expectedSize) {
+    this.dimensions = dimensions;
+    this.maxConnections = maxConnections;
+    this.maxConnectionsLayer0 = maxConnections * 2;
+    this.efConstruction = efConstruction;
+    this.levelFactor = 1 / Math.log(maxConnections);
+    int capacity = Math.max(16, expectedSize);
+    this.vectors = new float[capacity * dimensions];
+    this.links = new int[capacity][][];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Adds a unit-length vector; ids are assigned in insertion order, starting at 0.
+   */
+  public int add(float[] vector) {
+    if (vector.length != dimensions) {
+      throw new IllegalArgumentException("Expected %d dimensions, got %d".formatted(dimensions, vector.length));
+    }
+    int node = size;
+    ensureCapacity(node + 1);
+    System.arraycopy(vector, 0, vectors, node * dimensions, dimensions);
+    int layer = randomLayer();
+    links[node] = new int[layer + 1][];
+    for (int l = 0; l <= layer; l++) {
+      links[node][l] = new int[maxConnections(l) + 1];
+    }
+    size++;
+
+    if (entryPoint < 0) {
+      entryPoint = node;
+      topLayer = layer;
+      return node;
+    }
+    int current = entryPoint;
+    for (int l = topLayer; l > layer; l--) {
+      current = greedyClosest(vector, current, l);
+    }
+    for (int l = Math.min(layer, topLayer); l >= 0; l--) {
+      List<Neighbor> candidates = searchLayer(vector, current, efConstruction, l);
+      for (Neighbor neighbor : selectNeighbors(candidates, maxConnections)) {
+        connect(node, neighbor.id(), l);
+        connect(neighbor.id(), node, l);
+      }
+      current = candidates.get(0).id();
+    }
+    if (layer > topLayer) {
+      topLayer = layer;
+      entryPoint = node;
+    }
+    return node;
+  }
+
+  /**
+   * The {@code k} most similar accepted vectors, most similar first.
+   *
+   * @param ef candidate list size on layer 0; larger is more accurate and slower, at least {@code k} is used
+   * @param accept ids that may be returned; rejected nodes are still traversed
+   */
+  public List<Neighbor> search(float[] query, int k, int ef, IntPredicate accept) {
+    if (entryPoint < 0 || k <= 0) {
+      return List.of();
+    }
+    int current = entryPoint;
+    for (int l = topLayer; l > 0; l--) {
+      current = greedyClosest(query, current, l);
+    }
+    List<Neighbor> hits = new ArrayList<>(k);
+    for (Neighbor neighbor : searchLayer(query, current, Math.max(ef, k), 0)) {
+      if (accept.test(neighbor.id())) {
+        hits.add(neighbor);
+        if (hits.size() == k) {
+          break;
+        }
+      }
+    }
+    return hits;
+  }
+
+  public float similarity(float[] query, int id) {
+    float dot = 0;
+    int offset = id * dimensions;
+    for (int i = 0; i < dimensions; i++) {
+      dot += query[i] * vectors[offset + i];
+    }
+    return dot;
+  }
+
+  private int greedyClosest(float[] query, int start, int layer) {
+    int current = start;
+    float best = similarity(query, current);
+    boolean improved = true;
+    while (improved) {
+      improved = false;
+      int[] neighbours = links[current][layer];
+      for (int i = 1; i <= neighbours[0]; i++) {
+        float similarity = similarity(query, neighbours[i]);
+        if (similarity > best) {
+          best = similarity;
+          current = neighbours[i];
+          improved = true;
+        }
+      }
+    }
+    return current;
+  }
+
+  /**
+   * Best-first search of one layer, returning up to {@code ef} nodes, most similar first.
+   */
+  private List<Neighbor> searchLayer(float[] query, int start, int ef, int layer) {
+    boolean[] visited = new boolean[size];
+    PriorityQueue<Neighbor> candidates =
+        new PriorityQueue<>(Comparator.comparingDouble(Neighbor::similarity).reversed());
+    PriorityQueue<Neighbor> results = new PriorityQueue<>(Comparator.comparingDouble(Neighbor::similarity));
+    Neighbor first = new Neighbor(start, similarity(query, start));
+    visited[start] = true;
+    candidates.add(first);
+    results.add(first);
+    while (!candidates.isEmpty()) {
+      Neighbor candidate = candidates.poll();
+      if (results.size() >= ef && candidate.similarity() < results.peek().similarity()) {
+        break;
+      }
+      if (layer >= links[candidate.id()].length) {
+        continue;
+      }
+      int[] neighbours = links[candidate.id()][layer];
+      for (int i = 1; i <= neighbours[0]; i++) {
+        int id = neighbours[i];
+        if (visited[id]) {
+          continue;
+        }
+        visited[id] = true;
+        float similarity = similarity(query, id);
+        if (results.size() < ef || similarity > results.peek().similarity()) {
+          Neighbor neighbor = new Neighbor(id, similarity);
+          candidates.add(neighbor);
+          results.add(neighbor);
+          if (results.size() > ef) {
+            results.poll();
+          }
+        }
+      }
+    }
+    List<Neighbor> ordered = new ArrayList<>(results);
+    ordered.sort(Comparator.comparingDouble(Neighbor::similarity).reversed());
+    return ordered;
+  }
+
+  /**
+   * Keeps a candidate only if it is closer to the new node than to every neighbour already kept, so links
+   * spread in different directions instead of clustering; remaining slots are filled with the closest rest.
+   */
+  private List<Neighbor> selectNeighbors(List<Neighbor> candidates, int max) {
+    List<Neighbor> selected = new ArrayList<>(max);
+    List<Neighbor> skipped = new ArrayList<>();
+    for (Neighbor candidate : candidates) {
+      if (selected.size() == max) {
+        break;
+      }
+      boolean diverse = true;
+      for (Neighbor kept : selected) {
+        if (similarityBetween(candidate.id(), kept.id()) > candidate.similarity()) {
+          diverse = false;
+          break;
+        }
+      }
+      (diverse ? selected : skipped).add(candidate);
+    }
+    for (int i = 0; i < skipped.size() && selected.size() < max; i++) {
+      selected.add(skipped.get(i));
+    }
+    return selected;
+  }
+
+  private void connect(int from, int to, int layer) {
+    int[] neighbours = links[from][layer];
+    int max = maxConnections(layer);
+    if (neighbours[0] < max) {
+      neighbours[++neighbours[0]] = to;
+      return;
+    }
+    // Full: keep the best of the current neighbours plus the new one
+    List<Neighbor> candidates = new ArrayList<>(max + 1);
+    for (int i = 1; i <= neighbours[0]; i++) {
+      candidates.add(new Neighbor(neighbours[i], similarityBetween(from, neighbours[i])));
+    }
+    candidates.add(new Neighbor(to, similarityBetween(from, to)));
+    candidates.sort(Comparator.comparingDouble(Neighbor::similarity).reversed());
+    List<Neighbor> kept = selectNeighbors(candidates, max);
+    neighbours[0] = kept.size();
+    for (int i = 0; i < kept.size(); i++) {
+      neighbours[i + 1] = kept.get(i).id();
+    }
+  }
+
+  private float similarityBetween(int a, int b) {
+    float dot = 0;
+    int offsetA = a * dimensions;
+    int offsetB = b * dimensions;
+    for (int i = 0; i < dimensions; i++) {
+      dot += vectors[offsetA + i] * vectors[offsetB + i];
+    }
+    return dot;
+  }
+
+  private int maxConnections(int layer) {
+    return layer == 0 ? maxConnectionsLayer0 : maxConnections;
+  }
+
+  private int randomLayer() {
+    return (int) (-Math.log(1 - random.nextDouble()) * levelFactor);
+  }
+
+  private void ensureCapacity(int nodes) {
+    if (nodes > links.length) {
+      int capacity = Math.max(nodes, links.length * 2);
+      links = Arrays.copyOf(links, capacity);
+      vectors = Arrays.copyOf(vectors, capacity * dimensions);
+    }
+  }
+}
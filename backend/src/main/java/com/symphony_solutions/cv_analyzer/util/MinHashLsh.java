@@ -0,0 +1,173 @@
+package com.symphony_solutions.cv_analyzer.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Near-duplicate detection: MinHash signatures over word shingles, bucketed with locality-sensitive hashing
+ * so only texts sharing a band are compared. Candidate pairs whose estimated Jaccard similarity reaches the
+ * threshold are merged into clusters. Texts with fewer words than a shingle have no signature and are never
+ * clustered, as they have nothing to compare.
+ */
+public final class MinHashLsh {
+
+  private static final long SEED = 0x5DEECE66DL;
+
+  private final int shingleSize;
+  private final int bands;
+  private final int rows;
+  private final double threshold;
+  private final long[] hashSeeds;
+
+  /**
+   * @param numHashes signature length, must be a multiple of {@code bands}
+   * @param bands more bands find less similar pairs; with r = numHashes / bands rows per band, pairs are
+   * likely to be compared once their similarity exceeds about (1 / bands)^(1 / r)
+   */
+  public MinHashLsh(int shingleSize, int numHashes, int bands, double threshold) {
+    if (numHashes % bands != 0) {
+      throw new IllegalArgumentException("numHashes (%d) must be a multiple of bands (%d)".formatted(numHashes, bands));
+    }
+    this.shingleSize = shingleSize;
+    this.bands = bands;
+    this.rows = numHashes / bands;
+    this.threshold = threshold;
+    this.hashSeeds = new SplittableRandom(SEED).longs(numHashes).toArray();
+  }
+
+  /**
+   * @return the signature, or null if the text has fewer words than a shingle
+   */
+  public long[] signature(String text) {
+    Set<Long> shingles = shingles(text);
+    if (shingles.isEmpty()) {
+      return null;
+    }
+    long[] signature = new long[hashSeeds.length];
+    Arrays.fill(signature, Long.MAX_VALUE);
+    for (long shingle : shingles) {
+      for (int i = 0; i < hashSeeds.length; i++) {
+        long hash = mix(shingle ^ hashSeeds[i]);
+        if (hash < signature[i]) {
+          signature[i] = hash;
+        }
+      }
+    }
+    return signature;
+  }
+
+  /**
+   * Estimated Jaccard similarity of the shingle sets behind two signatures.
+   */
+  public static double similarity(long[] a, long[] b) {
+    int equal = 0;
+    for (int i = 0; i < a.length; i++) {
+      if (a[i] == b[i]) {
+        equal++;
+      }
+    }
+    return (double) equal / a.length;
+  }
+
+  /**
+   * Groups near-duplicate texts; a null signature stays in a cluster of its own.
+   *
+   * @return for each text, the index of the first text of its cluster
+   */
+  public int[] cluster(List<long[]> signatures) {
+    int[] parent = new int[signatures.size()];
+    for (int i = 0; i < parent.length; i++) {
+      parent[i] = i;
+    }
+    Set<Long> compared = new HashSet<>();
+    for (int band = 0; band < bands; band++) {
+      Map<Long, List<Integer>> buckets = new HashMap<>();
+      for (int i = 0; i < signatures.size(); i++) {
+        if (signatures.get(i) == null) {
+          continue;
+        }
+        buckets.computeIfAbsent(bandHash(signatures.get(i), band), key -> new ArrayList<>()).add(i);
+      }
+      for (List<Integer> bucket : buckets.values()) {
+        for (int x = 0; x < bucket.size(); x++) {
+          for (int y = x + 1; y < bucket.size(); y++) {
+            int i = bucket.get(x);
+            int j = bucket.get(y);
+            if (compared.add((long) i << 32 | j) && similarity(signatures.get(i), signatures.get(j)) >= threshold) {
+              union(parent, i, j);
+            }
+          }
+        }
+      }
+    }
+    int[] clusters = new int[parent.length];
+    for (int i = 0; i < parent.length; i++) {
+      clusters[i] = find(parent, i);
+    }
+    return clusters;
+  }
+
+  private long bandHash(long[] signature, int band) {
+    long hash = band;
+    for (int i = band * rows; i < (band + 1) * rows; i++) {
+      hash = mix(hash * 31 + signature[i]);
+    }
+    return hash;
+  }
+
+  /**
+   * Hashes of the word k-shingles of the lower-cased text; empty if it has fewer than k words.
+   */
+  private Set<Long> shingles(String text) {
+    String[] words = text.toLowerCase().split("\\W+");
+    List<String> tokens = new ArrayList<>(words.length);
+    for (String word : words) {
+      if (!word.isEmpty()) {
+        tokens.add(word);
+      }
+    }
+    Set<Long> shingles = new HashSet<>();
+    for (int i = 0; i + shingleSize <= tokens.size(); i++) {
+      long hash = 1;
+      for (int k = i; k < i + shingleSize; k++) {
+        hash = hash * 1_000_003L + tokens.get(k).hashCode();
+      }
+      shingles.add(mix(hash));
+    }
+    return shingles;
+  }
+
+  private static int find(int[] parent, int i) {
+    while (parent[i] != i) {
+      parent[i] = parent[parent[i]];
+      i = parent[i];
+    }
+    return i;
+  }
+
+  /**
+   * Merges two clusters; the smaller index stays the root so cluster ids are stable for a given input order.
+   */
+  private static void union(int[] parent, int i, int j) {
+    int rootI = find(parent, i);
+    int rootJ = find(parent, j);
+    if (rootI != rootJ) {
+      parent[Math.max(rootI, rootJ)] = Math.min(rootI, rootJ);
+    }
+  }
+
+  /**
+   * 64-bit finalizer of SplitMix64.
+   */
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
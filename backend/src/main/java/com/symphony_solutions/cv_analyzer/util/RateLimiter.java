@@ -0,0 +1,42 @@
+package com.symphony_solutions.cv_analyzer.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces out permits evenly at a fixed rate, without bursts: each caller reserves the next free slot and sleeps
+ * until it. Safe to share between threads.
+ */
+public final class RateLimiter {
+
+  private final long intervalNanos;
+  private long nextFreeNanos;
+
+  public RateLimiter(double permitsPerSecond) {
+    if (permitsPerSecond <= 0) {
+      throw new IllegalArgumentException("Rate must be positive, got " + permitsPerSecond);
+    }
+    this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+    this.nextFreeNanos = System.nanoTime();
+  }
+
+  /**
+   * Blocks until the caller may proceed.
+   */
+  public void acquire() throws InterruptedException {
+    long waitNanos = reserve(System.nanoTime());
+    if (waitNanos > 0) {
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+  }
+
+  /**
+   * Takes the next slot at or after {@code nowNanos}.
+   *
+   * @return how long the caller has to wait for it
+   */
+  synchronized long reserve(long nowNanos) {
+    long slot = Math.max(nextFreeNanos, nowNanos);
+    nextFreeNanos = slot + intervalNanos;
+    return slot - nowNanos;
+  }
+}
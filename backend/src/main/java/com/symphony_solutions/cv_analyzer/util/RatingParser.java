@@ -0,0 +1,52 @@
+package com.symphony_solutions.cv_analyzer.util;
+
+/**
+ * Extracts a rating from an LLM reply in a single pass without allocating: the first run of digits wins,
+ * so "85/100" is 85 and "Rating: 7. Reasoning..." is 7.
+ */
+public final class RatingParser {
+
+  /**
+   * Returned when the reply contains no usable integer.
+   */
+  public static final int NO_RATING = -1;
+
+  /**
+   * Replies are expected to be a few characters; a number this far in is commentary, not an answer.
+   */
+  private static final int MAX_SCAN_LENGTH = 256;
+
+  private RatingParser() {
+  }
+
+  /**
+   * @return the first non-negative integer in the reply, or {@link #NO_RATING} if there is none
+   * or it does not fit in an int
+   */
+  public static int parseFirstInteger(CharSequence reply) {
+    if (reply == null) {
+      return NO_RATING;
+    }
+    int length = Math.min(reply.length(), MAX_SCAN_LENGTH);
+    int i = 0;
+    while (i < length && !isDigit(reply.charAt(i))) {
+      i++;
+    }
+    if (i == length) {
+      return NO_RATING;
+    }
+    long value = 0;
+    while (i < reply.length() && isDigit(reply.charAt(i))) {
+      value = value * 10 + (reply.charAt(i) - '0');
+      if (value > Integer.MAX_VALUE) {
+        return NO_RATING;
+      }
+      i++;
+    }
+    return (int) value;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+}
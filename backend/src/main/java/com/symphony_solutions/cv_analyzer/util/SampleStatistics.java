@@ -0,0 +1,55 @@
+package com.symphony_solutions.cv_analyzer.util;
+
+import java.util.Arrays;
+
+/**
+ * Summary statistics over small samples (a few hundred benchmark calls), computed exactly rather than estimated.
+ */
+public final class SampleStatistics {
+
+  private SampleStatistics() {
+  }
+
+  /**
+   * Nearest-rank percentile: the smallest value with at least {@code percentile} percent of the sample at or
+   * below it.
+   *
+   * @param percentile in (0, 100]
+   * @return 0 for an empty sample
+   */
+  public static long percentile(long[] values, double percentile) {
+    if (values.length == 0) {
+      return 0;
+    }
+    long[] sorted = values.clone();
+    Arrays.sort(sorted);
+    int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+    return sorted[Math.max(0, Math.min(rank, sorted.length) - 1)];
+  }
+
+  public static double mean(int[] values) {
+    if (values.length == 0) {
+      return 0;
+    }
+    long sum = 0;
+    for (int value : values) {
+      sum += value;
+    }
+    return (double) sum / values.length;
+  }
+
+  /**
+   * Sample (n - 1) variance, 0 for fewer than two values.
+   */
+  public static double variance(int[] values) {
+    if (values.length < 2) {
+      return 0;
+    }
+    double mean = mean(values);
+    double squares = 0;
+    for (int value : values) {
+      squares += (value - mean) * (value - mean);
+    }
+    return squares / (values.length - 1);
+  }
+}
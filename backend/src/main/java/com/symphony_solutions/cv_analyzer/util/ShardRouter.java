@@ -0,0 +1,19 @@
+package com.symphony_solutions.cv_analyzer.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Stable assignment of CVs to shards: CRC32 of the filename, so every node and every restart agrees on it.
+ */
+public final class ShardRouter {
+
+  private ShardRouter() {
+  }
+
+  public static int shardOf(String filename, int shardCount) {
+    CRC32 crc = new CRC32();
+    crc.update(filename.getBytes(StandardCharsets.UTF_8));
+    return (int) (crc.getValue() % shardCount);
+  }
+}
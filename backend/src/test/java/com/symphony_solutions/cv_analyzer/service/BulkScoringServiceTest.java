@@ -0,0 +1,169 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.symphony_solutions.cv_analyzer.config.BulkScoringConfig;
+import com.symphony_solutions.cv_analyzer.config.LlmCircuitBreakerConfig;
+import com.symphony_solutions.cv_analyzer.config.RatingConfig;
+import com.symphony_solutions.cv_analyzer.config.ScreeningConfig;
+import com.symphony_solutions.cv_analyzer.dto.request.BulkScoringRequestDto;
+import com.symphony_solutions.cv_analyzer.dto.response.BulkScoringResultDto;
+import com.symphony_solutions.cv_analyzer.dto.response.BulkScoringStatusResponseDto;
+import com.symphony_solutions.cv_analyzer.dto.response.CorpusStatsResponseDto;
+import com.symphony_solutions.cv_analyzer.dto.type.BulkScoringState;
+import com.symphony_solutions.cv_analyzer.model.CandidateQuery;
+import com.symphony_solutions.cv_analyzer.model.Deadline;
+import com.symphony_solutions.cv_analyzer.model.Resume;
+import com.symphony_solutions.cv_analyzer.model.ScoredResume;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BulkScoringServiceTest {
+
+	private static final String JOB = "nightly";
+	private static final String VACANCY = "Senior Java developer with Spring Boot";
+
+	@TempDir
+	Path outputDir;
+
+	private final ResumeService resumeService = mock(ResumeService.class);
+	private final CandidateRatingService candidateRatingService = mock(CandidateRatingService.class);
+	private final VacancyAnalysisService vacancyAnalysisService = mock(VacancyAnalysisService.class);
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final Queue<String> rated = new ConcurrentLinkedQueue<>();
+	private BulkScoringService service;
+
+	@BeforeEach
+	void setUp() {
+		BulkScoringConfig config = new BulkScoringConfig();
+		config.setOutputDir(outputDir);
+		config.setConcurrency(2);
+		config.setRequestsPerSecond(1000);
+		LlmCircuitBreaker breaker = new LlmCircuitBreaker(new LlmCircuitBreakerConfig(), new SimpleMeterRegistry());
+		breaker.init();
+		service = new BulkScoringService(resumeService, candidateRatingService, mock(CandidateSummaryService.class),
+				vacancyAnalysisService, breaker, config, new RatingConfig(), new ScreeningConfig(), objectMapper,
+				new SimpleMeterRegistry());
+
+		when(resumeService.getCorpusStats()).thenReturn(CorpusStatsResponseDto.builder().documents(3).build());
+		when(resumeService.findTopScoredCandidates(any(CandidateQuery.class)))
+				.thenReturn(List.of(scored("a.txt"), scored("b.txt"), scored("c.txt")));
+		when(vacancyAnalysisService.vacancyForPrompts(anyString(), any(Deadline.class)))
+				.thenAnswer(invocation -> invocation.getArgument(0));
+		when(candidateRatingService.partition(anyString(), anyList()))
+				.thenAnswer(invocation -> List.of(invocation.<List<ScoredResume>>getArgument(1)));
+		when(candidateRatingService.rate(anyString(), anyList(), any(Deadline.class), any(Runnable.class)))
+				.thenAnswer(invocation -> {
+					Map<String, Integer> ratings = new HashMap<>();
+					List<ScoredResume> group = invocation.getArgument(1);
+					group.forEach(candidate -> {
+						rated.add(candidate.getResume().getFilename());
+						ratings.put(candidate.getResume().getFilename(), 70);
+					});
+					return ratings;
+				});
+	}
+
+	@Test
+	void resumesFromTheCheckpointAndDropsALineCutShortByACrash() throws Exception {
+		Path output = outputDir.resolve(JOB + ".ndjson");
+		String previous = objectMapper.writeValueAsString(result("a.txt", VacancyAnalysisService.sha256(VACANCY)));
+		Files.writeString(output, previous + "\n{\"vacancyId\":\"java\",\"filena", StandardCharsets.UTF_8);
+
+		BulkScoringStatusResponseDto status = runToEnd(request(VACANCY));
+
+		assertThat(status.getState()).isEqualTo(BulkScoringState.SUCCEEDED);
+		assertThat(status.getResumed()).isEqualTo(1);
+		assertThat(status.getScored()).isEqualTo(2);
+		assertThat(rated).containsExactlyInAnyOrder("b.txt", "c.txt");
+		assertThat(lines(output)).extracting(BulkScoringResultDto::getFilename)
+				.containsExactlyInAnyOrder("a.txt", "b.txt", "c.txt");
+	}
+
+	@Test
+	void scoresAgainTheResultsOfAVacancyWhoseTextChanged() throws Exception {
+		Path output = outputDir.resolve(JOB + ".ndjson");
+		String stale = objectMapper.writeValueAsString(result("a.txt", VacancyAnalysisService.sha256("Old text")));
+		Files.writeString(output, stale + "\n", StandardCharsets.UTF_8);
+
+		BulkScoringStatusResponseDto status = runToEnd(request(VACANCY));
+
+		assertThat(status.getResumed()).isZero();
+		assertThat(status.getScored()).isEqualTo(3);
+		assertThat(rated).containsExactlyInAnyOrder("a.txt", "b.txt", "c.txt");
+		assertThat(lines(output)).hasSize(3)
+				.allSatisfy(line -> assertThat(line.getVacancyHash()).isEqualTo(VacancyAnalysisService.sha256(VACANCY)));
+	}
+
+	@Test
+	void resubmittingAFinishedJobMakesNoCalls() throws Exception {
+		runToEnd(request(VACANCY));
+		rated.clear();
+
+		BulkScoringStatusResponseDto status = runToEnd(request(VACANCY));
+
+		assertThat(status.getResumed()).isEqualTo(3);
+		assertThat(status.getScored()).isZero();
+		assertThat(rated).isEmpty();
+		assertThat(lines(outputDir.resolve(JOB + ".ndjson"))).hasSize(3);
+	}
+
+	private BulkScoringStatusResponseDto runToEnd(BulkScoringRequestDto request) throws InterruptedException {
+		service.start(request);
+		long giveUp = System.nanoTime() + 10_000_000_000L;
+		while (service.getStatus().getState() == BulkScoringState.RUNNING && System.nanoTime() < giveUp) {
+			Thread.sleep(5);
+		}
+		return service.getStatus();
+	}
+
+	private List<BulkScoringResultDto> lines(Path output) throws Exception {
+		return Files.readAllLines(output, StandardCharsets.UTF_8).stream()
+				.map(line -> {
+					try {
+						return objectMapper.readValue(line, BulkScoringResultDto.class);
+					} catch (Exception e) {
+						throw new AssertionError("Not a result line: " + line, e);
+					}
+				})
+				.toList();
+	}
+
+	private static BulkScoringRequestDto request(String description) {
+		BulkScoringRequestDto request = new BulkScoringRequestDto();
+		request.setJobId(JOB);
+		request.setVacancies(List.of(new BulkScoringRequestDto.Vacancy("java", description)));
+		return request;
+	}
+
+	private static BulkScoringResultDto result(String filename, String vacancyHash) {
+		return BulkScoringResultDto.builder()
+				.vacancyId("java")
+				.vacancyHash(vacancyHash)
+				.filename(filename)
+				.name(filename)
+				.rating(70)
+				.build();
+	}
+
+	private static ScoredResume scored(String filename) {
+		Resume resume = Resume.builder().name(filename).filename(filename).content("Java developer").build();
+		return ScoredResume.builder().resume(resume).score(1).relevance(1).build();
+	}
+}
@@ -0,0 +1,117 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.symphony_solutions.cv_analyzer.config.LlmCircuitBreakerConfig;
+import com.symphony_solutions.cv_analyzer.config.MatchConfig;
+import com.symphony_solutions.cv_analyzer.config.RatingConfig;
+import com.symphony_solutions.cv_analyzer.config.ScreeningConfig;
+import com.symphony_solutions.cv_analyzer.dto.request.MatchRequestDto;
+import com.symphony_solutions.cv_analyzer.dto.response.CandidateSummaryResponseDto;
+import com.symphony_solutions.cv_analyzer.dto.response.MatchResponseDto;
+import com.symphony_solutions.cv_analyzer.exception.LlmCircuitOpenException;
+import com.symphony_solutions.cv_analyzer.model.CandidateQuery;
+import com.symphony_solutions.cv_analyzer.model.Deadline;
+import com.symphony_solutions.cv_analyzer.model.InternalChatResponse;
+import com.symphony_solutions.cv_analyzer.model.Resume;
+import com.symphony_solutions.cv_analyzer.model.ScoredResume;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class CandidateMatchServiceTest {
+
+	private static final String VACANCY = "Senior Java developer with Spring Boot";
+
+	private final ResumeService resumeService = mock(ResumeService.class);
+	private final AgentSummaryService agentSummaryService = mock(AgentSummaryService.class);
+	private final CandidateSummaryService candidateSummaryService = mock(CandidateSummaryService.class);
+	private final CandidateRatingService candidateRatingService = mock(CandidateRatingService.class);
+	private final VacancyAnalysisService vacancyAnalysisService = mock(VacancyAnalysisService.class);
+	private final MatchConfig matchConfig = new MatchConfig();
+	private final LlmCircuitBreakerConfig breakerConfig = new LlmCircuitBreakerConfig();
+	private LlmCircuitBreaker llmCircuitBreaker;
+	private CandidateMatchService service;
+
+	@BeforeEach
+	void setUp() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		llmCircuitBreaker = new LlmCircuitBreaker(breakerConfig, meterRegistry);
+		llmCircuitBreaker.init();
+		service = new CandidateMatchService(resumeService, agentSummaryService, candidateSummaryService,
+				candidateRatingService, vacancyAnalysisService, new ShortlistSelector(matchConfig), llmCircuitBreaker,
+				new LlmLatencyEstimator(matchConfig), new RatingConfig(), matchConfig, new ScreeningConfig(),
+				meterRegistry, mock(ThreadPoolTaskExecutor.class));
+		when(resumeService.findTopScoredCandidates(any(CandidateQuery.class))).thenReturn(List.of(
+				scored("lead.txt", 1.0), scored("mid.txt", 0.5), scored("junior.txt", 0.0)));
+		when(vacancyAnalysisService.vacancyForPrompts(eq(VACANCY), any(Deadline.class))).thenReturn(VACANCY);
+	}
+
+	@Test
+	void returnsKeywordOnlyRatingsWithoutLlmCallsWhileTheBreakerIsOpen() {
+		breakerConfig.setWaitDurationInOpenState(Duration.ofMinutes(1));
+		for (int i = 0; i < breakerConfig.getMinimumNumberOfCalls(); i++) {
+			llmCircuitBreaker.tryAcquirePermission();
+			llmCircuitBreaker.onFailure();
+		}
+
+		MatchResponseDto response = service.match(request());
+
+		assertThat(response.isDegraded()).isTrue();
+		assertThat(response.getCandidates()).extracting(CandidateSummaryResponseDto::getFilename)
+				.containsExactly("lead.txt", "mid.txt", "junior.txt");
+		assertThat(response.getCandidates()).allMatch(CandidateSummaryResponseDto::isDegraded);
+		assertThat(response.getCandidates()).extracting(CandidateSummaryResponseDto::getRating)
+				.containsExactly(100, 51, 1);
+		verifyNoInteractions(agentSummaryService, candidateRatingService, vacancyAnalysisService);
+	}
+
+	@Test
+	void degradesTheRemainingCandidatesOnceTheBreakerOpensMidMatch() {
+		when(agentSummaryService.generateSummary(anyString(), any(Resume.class), any(Deadline.class)))
+				.thenReturn(InternalChatResponse.builder().content("Strong fit").build())
+				.thenThrow(new LlmCircuitOpenException("open"));
+		when(candidateRatingService.rateOne(anyString(), any(Resume.class), any(Deadline.class))).thenReturn(80);
+
+		MatchResponseDto response = service.match(request());
+
+		assertThat(response.isDegraded()).isTrue();
+		assertThat(response.getCandidates()).extracting(CandidateSummaryResponseDto::isDegraded)
+				.containsExactly(false, true, true);
+		assertThat(response.getCandidates().get(0).getSummary()).isEqualTo("Strong fit");
+		assertThat(response.getCandidates().get(0).getRating()).isEqualTo(80);
+	}
+
+	@Test
+	void isNotDegradedWhileTheLlmAnswers() {
+		when(agentSummaryService.generateSummary(anyString(), any(Resume.class), any(Deadline.class)))
+				.thenReturn(InternalChatResponse.builder().content("Fit").build());
+		when(candidateRatingService.rateOne(anyString(), any(Resume.class), any(Deadline.class))).thenReturn(60);
+
+		MatchResponseDto response = service.match(request());
+
+		assertThat(response.isDegraded()).isFalse();
+		assertThat(response.isPartial()).isFalse();
+		assertThat(response.getCandidates()).hasSize(3).noneMatch(CandidateSummaryResponseDto::isDegraded);
+	}
+
+	private static MatchRequestDto request() {
+		MatchRequestDto request = new MatchRequestDto();
+		request.setVacancyDescription(VACANCY);
+		return request;
+	}
+
+	private static ScoredResume scored(String filename, double relevance) {
+		Resume resume = Resume.builder().name(filename).filename(filename).content("Java developer").build();
+		return ScoredResume.builder().resume(resume).score(relevance * 10).relevance(relevance).build();
+	}
+}
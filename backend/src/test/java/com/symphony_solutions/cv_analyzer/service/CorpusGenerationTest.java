@@ -0,0 +1,62 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.symphony_solutions.cv_analyzer.config.RetrievalConfig;
+import com.symphony_solutions.cv_analyzer.model.Resume;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class CorpusGenerationTest {
+
+	private final AtomicInteger released = new AtomicInteger();
+
+	@Test
+	void keepsItsShardsForPinnedQueriesUntilTheLastOneReleases() {
+		CorpusGeneration generation = generation();
+		assertThat(generation.tryAcquire()).isTrue();
+		assertThat(generation.tryAcquire()).isTrue();
+
+		generation.retire(released::incrementAndGet);
+		generation.release();
+
+		assertThat(generation.shards()).containsKey(0);
+		assertThat(released).hasValue(0);
+
+		generation.release();
+
+		assertThat(generation.shards()).isEmpty();
+		assertThat(released).hasValue(1);
+	}
+
+	@Test
+	void isReleasedAtOnceWhenRetiredWithoutReaders() {
+		CorpusGeneration generation = generation();
+
+		generation.retire(released::incrementAndGet);
+
+		assertThat(generation.shards()).isEmpty();
+		assertThat(released).hasValue(1);
+	}
+
+	@Test
+	void cannotBePinnedOnceRetired() {
+		CorpusGeneration generation = generation();
+		assertThat(generation.tryAcquire()).isTrue();
+
+		generation.retire(released::incrementAndGet);
+
+		assertThat(generation.tryAcquire()).isFalse();
+		assertThat(generation.readers()).isEqualTo(1);
+		generation.release();
+		assertThat(released).hasValue(1);
+	}
+
+	private static CorpusGeneration generation() {
+		Resume cv = Resume.builder().name("cv").filename("cv.txt").content("Java developer").build();
+		ResumeCorpus corpus = new ResumeCorpus(List.of(cv), false, null, new RetrievalConfig().getHybrid());
+		return new CorpusGeneration(1, Map.of(0, corpus));
+	}
+}
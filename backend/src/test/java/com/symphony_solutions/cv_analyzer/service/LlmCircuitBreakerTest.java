@@ -0,0 +1,153 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.symphony_solutions.cv_analyzer.config.LlmCircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class LlmCircuitBreakerTest {
+
+	@Test
+	void staysClosedUntilTheMinimumNumberOfCalls() {
+		LlmCircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+
+		for (int i = 0; i < 4; i++) {
+			fail(breaker);
+		}
+
+		assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.CLOSED);
+		assertThat(breaker.getFailureRate()).isEqualTo(100f);
+	}
+
+	@Test
+	void opensAtTheFailureRateThresholdAndRejectsCalls() {
+		LlmCircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+		for (int i = 0; i < 3; i++) {
+			succeed(breaker);
+		}
+
+		fail(breaker);
+		fail(breaker);
+		assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.CLOSED);
+		fail(breaker);
+
+		assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.OPEN);
+		assertThat(breaker.tryAcquirePermission()).isFalse();
+		assertThat(breaker.isCallPermitted()).isFalse();
+		assertThat(breaker.getRemainingOpenDuration()).isPositive();
+	}
+
+	@Test
+	void forgetsOutcomesThatLeaveTheSlidingWindow() {
+		LlmCircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+		for (int i = 0; i < 4; i++) {
+			fail(breaker);
+		}
+		for (int i = 0; i < 10; i++) {
+			succeed(breaker);
+		}
+
+		assertThat(breaker.getRecordedCalls()).isEqualTo(10);
+		assertThat(breaker.getFailureRate()).isZero();
+		fail(breaker);
+		assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void closesAfterEveryHalfOpenTrialSucceeds() {
+		LlmCircuitBreaker breaker = openBreaker();
+
+		assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.HALF_OPEN);
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		assertThat(breaker.tryAcquirePermission()).isFalse();
+		breaker.onSuccess();
+		breaker.onSuccess();
+
+		assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.CLOSED);
+		assertThat(breaker.getRecordedCalls()).isZero();
+	}
+
+	@Test
+	void reopensOnAHalfOpenFailure() {
+		LlmCircuitBreakerConfig config = config(Duration.ZERO);
+		LlmCircuitBreaker breaker = breaker(config);
+		for (int i = 0; i < 5; i++) {
+			fail(breaker);
+		}
+		assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.HALF_OPEN);
+		config.setWaitDurationInOpenState(Duration.ofMinutes(1));
+
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		breaker.onFailure();
+
+		assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.OPEN);
+		assertThat(breaker.tryAcquirePermission()).isFalse();
+	}
+
+	@Test
+	void ignoredCallsFreeTheirHalfOpenTrialSlot() {
+		LlmCircuitBreaker breaker = openBreaker();
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+
+		breaker.onIgnored();
+
+		assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.HALF_OPEN);
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+	}
+
+	@Test
+	void letsEveryCallThroughWhenDisabled() {
+		LlmCircuitBreakerConfig config = config(Duration.ofMinutes(1));
+		config.setEnabled(false);
+		LlmCircuitBreaker breaker = breaker(config);
+
+		for (int i = 0; i < 10; i++) {
+			fail(breaker);
+		}
+
+		assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.CLOSED);
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+	}
+
+	private static LlmCircuitBreaker openBreaker() {
+		LlmCircuitBreaker breaker = breaker(Duration.ZERO);
+		for (int i = 0; i < 5; i++) {
+			fail(breaker);
+		}
+		return breaker;
+	}
+
+	private static void succeed(LlmCircuitBreaker breaker) {
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		breaker.onSuccess();
+	}
+
+	private static void fail(LlmCircuitBreaker breaker) {
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		breaker.onFailure();
+	}
+
+	private static LlmCircuitBreaker breaker(Duration waitInOpenState) {
+		return breaker(config(waitInOpenState));
+	}
+
+	private static LlmCircuitBreaker breaker(LlmCircuitBreakerConfig config) {
+		LlmCircuitBreaker breaker = new LlmCircuitBreaker(config, new SimpleMeterRegistry());
+		breaker.init();
+		return breaker;
+	}
+
+	private static LlmCircuitBreakerConfig config(Duration waitInOpenState) {
+		LlmCircuitBreakerConfig config = new LlmCircuitBreakerConfig();
+		config.setSlidingWindowSize(10);
+		config.setMinimumNumberOfCalls(5);
+		config.setFailureRateThreshold(50);
+		config.setPermittedNumberOfCallsInHalfOpenState(2);
+		config.setWaitDurationInOpenState(waitInOpenState);
+		return config;
+	}
+}
@@ -0,0 +1,60 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.symphony_solutions.cv_analyzer.config.MatchConfig;
+import com.symphony_solutions.cv_analyzer.dto.type.PromptType;
+import com.symphony_solutions.cv_analyzer.model.Deadline;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class LlmLatencyEstimatorTest {
+
+	private final MatchConfig matchConfig = new MatchConfig();
+	private final LlmLatencyEstimator estimator = new LlmLatencyEstimator(matchConfig);
+
+	@Test
+	void startsFromTheInitialEstimateAndFollowsSamples() {
+		assertThat(estimator.estimate(PromptType.RATING)).isEqualTo(matchConfig.getInitialLatencyEstimate());
+
+		estimator.record(PromptType.RATING, Duration.ofSeconds(2));
+		estimator.record(PromptType.RATING, Duration.ofSeconds(4));
+
+		assertThat(estimator.estimate(PromptType.RATING)).isEqualTo(Duration.ofMillis(2400));
+		assertThat(estimator.estimate(PromptType.SUMMARY)).isEqualTo(matchConfig.getInitialLatencyEstimate());
+	}
+
+	@Test
+	void capsSamplesBelowTheDefaultDeadline() {
+		estimator.record(PromptType.SUMMARY, Duration.ofMinutes(5));
+
+		assertThat(estimator.estimate(PromptType.SUMMARY)).isLessThan(matchConfig.getDefaultDeadline());
+		assertThat(Deadline.after(matchConfig.getDefaultDeadline()).hasTimeFor(estimator.estimate(PromptType.SUMMARY)))
+				.isTrue();
+	}
+
+	@Test
+	void recoversFromASlowSpellThroughRefusedCalls() {
+		for (int i = 0; i < 20; i++) {
+			estimator.record(PromptType.RATING, Duration.ofSeconds(20));
+		}
+		Deadline request = Deadline.after(Duration.ofSeconds(10));
+		assertThat(request.hasTimeFor(estimator.estimate(PromptType.RATING))).isFalse();
+
+		for (int i = 0; i < 20 && !request.hasTimeFor(estimator.estimate(PromptType.RATING)); i++) {
+			estimator.recordRefused(PromptType.RATING);
+		}
+
+		assertThat(request.hasTimeFor(estimator.estimate(PromptType.RATING))).isTrue();
+		assertThat(estimator.estimate(PromptType.RATING)).isGreaterThan(matchConfig.getInitialLatencyEstimate());
+	}
+
+	@Test
+	void refusedCallsDoNotPushTheEstimateBelowTheInitialOne() {
+		estimator.record(PromptType.RATING, Duration.ofMillis(500));
+
+		estimator.recordRefused(PromptType.RATING);
+
+		assertThat(estimator.estimate(PromptType.RATING)).isEqualTo(Duration.ofMillis(500));
+	}
+}
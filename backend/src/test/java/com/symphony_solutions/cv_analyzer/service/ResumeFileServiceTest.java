@@ -0,0 +1,120 @@
+package com.symphony_solutions.cv_analyzer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.symphony_solutions.cv_analyzer.config.CorpusConfig;
+import com.symphony_solutions.cv_analyzer.config.RetrievalConfig;
+import com.symphony_solutions.cv_analyzer.config.ShardingConfig;
+import com.symphony_solutions.cv_analyzer.dto.type.ReindexState;
+import com.symphony_solutions.cv_analyzer.model.Resume;
+import com.symphony_solutions.cv_analyzer.service.embedding.EmbeddingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ResumeFileServiceTest {
+
+	private static final int CVS = 20;
+	private static final int READERS = 2;
+	private static final int REINDEXES = 100;
+
+	private ResumeLoader resumeLoader;
+	private ResumeFileService service;
+
+	@BeforeEach
+	void setUp() {
+		resumeLoader = mock(ResumeLoader.class);
+		when(resumeLoader.loadAll(any(ResumeLoader.Progress.class))).thenAnswer(invocation -> corpus());
+		CorpusConfig corpusConfig = new CorpusConfig();
+		corpusConfig.setCompressContent(false);
+		service = new ResumeFileService(resumeLoader, corpusConfig, new RetrievalConfig(), new ShardingConfig(),
+				mock(EmbeddingService.class), new SimpleMeterRegistry());
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void lookupsDuringReindexAlwaysSeeAFullGeneration() throws InterruptedException {
+		service.warmUp();
+		AtomicBoolean reindexing = new AtomicBoolean(true);
+		AtomicInteger reads = new AtomicInteger();
+		Queue<String> failures = new ConcurrentLinkedQueue<>();
+		List<Thread> readers = new ArrayList<>();
+		for (int r = 0; r < READERS; r++) {
+			Thread reader = new Thread(() -> {
+				while (reindexing.get()) {
+					if (service.findByFilename("cv-7.txt").isEmpty()) {
+						failures.add("findByFilename");
+					}
+					if (service.getCorpusStats().getDocuments() != CVS) {
+						failures.add("getCorpusStats");
+					}
+					if (!service.servedShards().contains(0)) {
+						failures.add("servedShards");
+					}
+					reads.incrementAndGet();
+				}
+			});
+			reader.start();
+			readers.add(reader);
+		}
+
+		for (int i = 0; i < REINDEXES; i++) {
+			service.reindex();
+			while (service.getReindexStatus().getState() == ReindexState.RUNNING) {
+				Thread.onSpinWait();
+			}
+		}
+		reindexing.set(false);
+		for (Thread reader : readers) {
+			reader.join();
+		}
+
+		assertThat(service.getReindexStatus().getLiveGeneration()).isEqualTo(REINDEXES + 1);
+		assertThat(reads.get()).isPositive();
+		assertThat(failures).isEmpty();
+	}
+
+	@Test
+	void keepsServingTheLiveGenerationWhenAReindexFails() throws InterruptedException {
+		when(resumeLoader.loadAll(any(ResumeLoader.Progress.class)))
+				.thenAnswer(invocation -> corpus())
+				.thenThrow(new IllegalStateException("CV folder unreadable"));
+		service.warmUp();
+
+		service.reindex();
+		while (service.getReindexStatus().getState() == ReindexState.RUNNING) {
+			Thread.sleep(1);
+		}
+
+		assertThat(service.getReindexStatus().getState()).isEqualTo(ReindexState.FAILED);
+		assertThat(service.getReindexStatus().getLiveGeneration()).isEqualTo(1);
+		assertThat(service.findByFilename("cv-1.txt")).isPresent();
+		assertThat(service.getCorpusStats().getDocuments()).isEqualTo(CVS);
+	}
+
+	private static List<Resume> corpus() {
+		List<Resume> cvs = new ArrayList<>();
+		for (int i = 0; i < CVS; i++) {
+			cvs.add(Resume.builder()
+					.name("cv-" + i)
+					.filename("cv-" + i + ".txt")
+					.content("Java developer number " + i + " with Spring and SQL")
+					.build());
+		}
+		return cvs;
+	}
+}
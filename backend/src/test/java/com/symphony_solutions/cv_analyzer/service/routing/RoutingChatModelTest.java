@@ -0,0 +1,96 @@
+package com.symphony_solutions.cv_analyzer.service.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.symphony_solutions.cv_analyzer.exception.LlmHttpException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+class RoutingChatModelTest {
+
+	private final EndpointResponseErrorHandler errorHandler = new EndpointResponseErrorHandler();
+
+	@Test
+	void raisesTheStatusOfClientErrorsAndTransientServerErrors() {
+		assertThatThrownBy(() -> handle(HttpStatus.TOO_MANY_REQUESTS, "slow down"))
+				.isInstanceOfSatisfying(LlmHttpException.class,
+						e -> assertThat(e.getStatusCode().value()).isEqualTo(429))
+				.hasMessage("429 - slow down");
+		assertThatThrownBy(() -> handle(HttpStatus.BAD_GATEWAY, "upstream"))
+				.isInstanceOf(TransientAiException.class)
+				.hasMessage("502 - upstream");
+	}
+
+	@Test
+	void failsOverOnRateLimitsServerErrorsAndConnectionFailuresOnly() {
+		assertThat(RoutingChatModel.isFailoverWorthy(new LlmHttpException(HttpStatus.TOO_MANY_REQUESTS, "busy")))
+				.isTrue();
+		assertThat(RoutingChatModel.isFailoverWorthy(new TransientAiException("503 - down"))).isTrue();
+		assertThat(RoutingChatModel.isFailoverWorthy(new LlmHttpException(HttpStatus.BAD_REQUEST, "bad"))).isFalse();
+		assertThat(RoutingChatModel.isFailoverWorthy(new NonTransientAiException("429 - message text only")))
+				.isFalse();
+	}
+
+	@Test
+	void answersFromAnotherEndpointWhenOneIsRateLimited() {
+		AtomicInteger limitedCalls = new AtomicInteger();
+		ChatModel limited = prompt -> {
+			limitedCalls.incrementAndGet();
+			throw new LlmHttpException(HttpStatus.TOO_MANY_REQUESTS, "429 - rate limited");
+		};
+		RoutingChatModel routing = routing(endpoint("limited", limited), endpoint("healthy", prompt -> reply("7")));
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(routing.call(new Prompt("rate")).getResult().getOutput().getText()).isEqualTo("7");
+		}
+		assertThat(limitedCalls).hasValueGreaterThan(0);
+	}
+
+	@Test
+	void doesNotRetryRequestsEveryEndpointWouldReject() {
+		AtomicInteger calls = new AtomicInteger();
+		ChatModel rejecting = prompt -> {
+			calls.incrementAndGet();
+			throw new LlmHttpException(HttpStatus.BAD_REQUEST, "400 - invalid");
+		};
+		RoutingChatModel routing = routing(endpoint("a", rejecting), endpoint("b", rejecting));
+
+		assertThatThrownBy(() -> routing.call(new Prompt("rate"))).isInstanceOf(LlmHttpException.class);
+		assertThat(calls).hasValue(1);
+	}
+
+	private void handle(HttpStatus status, String body) throws Exception {
+		MockClientHttpResponse response = new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), status);
+		assertThat(errorHandler.hasError(response)).isTrue();
+		errorHandler.handleError(URI.create("http://llm.test/v1/chat/completions"), HttpMethod.POST, response);
+	}
+
+	private static RoutingChatModel routing(RoutedEndpoint... endpoints) {
+		return new RoutingChatModel(List.of(endpoints), new SimpleMeterRegistry());
+	}
+
+	private static RoutedEndpoint endpoint(String name, ChatModel chatModel) {
+		return new RoutedEndpoint(name, chatModel, 1, Duration.ofSeconds(30), Set.of());
+	}
+
+	private static ChatResponse reply(String text) {
+		return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+	}
+}
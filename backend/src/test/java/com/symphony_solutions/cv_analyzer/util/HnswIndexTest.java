@@ -0,0 +1,67 @@
+package com.symphony_solutions.cv_analyzer.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class HnswIndexTest {
+
+	private static final int DIMENSIONS = 32;
+
+	private final Random random = new Random(7);
+
+	@Test
+	void findsNearestNeighboursWithHighRecall() {
+		List<float[]> vectors = IntStream.range(0, 2000).mapToObj(i -> randomUnitVector()).toList();
+		HnswIndex index = new HnswIndex(DIMENSIONS, 16, 100, vectors.size());
+		vectors.forEach(index::add);
+
+		int found = 0;
+		int queries = 50;
+		for (int q = 0; q < queries; q++) {
+			float[] query = randomUnitVector();
+			Set<Integer> exact = new HashSet<>(IntStream.range(0, vectors.size()).boxed()
+					.sorted(Comparator.comparingDouble((Integer id) -> index.similarity(query, id)).reversed())
+					.limit(10)
+					.toList());
+			for (HnswIndex.Neighbor hit : index.search(query, 10, 64, id -> true)) {
+				if (exact.contains(hit.id())) {
+					found++;
+				}
+			}
+		}
+
+		assertThat(found / (queries * 10.0)).isGreaterThan(0.9);
+	}
+
+	@Test
+	void returnsOnlyAcceptedIds() {
+		HnswIndex index = new HnswIndex(DIMENSIONS, 8, 50, 100);
+		IntStream.range(0, 100).forEach(i -> index.add(randomUnitVector()));
+
+		List<HnswIndex.Neighbor> hits = index.search(randomUnitVector(), 5, 100, id -> id % 2 == 0);
+
+		assertThat(hits).hasSize(5).allMatch(hit -> hit.id() % 2 == 0);
+		assertThat(hits).isSortedAccordingTo(Comparator.comparingDouble(HnswIndex.Neighbor::similarity).reversed());
+	}
+
+	private float[] randomUnitVector() {
+		float[] vector = new float[DIMENSIONS];
+		double norm = 0;
+		for (int i = 0; i < DIMENSIONS; i++) {
+			vector[i] = (float) random.nextGaussian();
+			norm += vector[i] * vector[i];
+		}
+		for (int i = 0; i < DIMENSIONS; i++) {
+			vector[i] /= (float) Math.sqrt(norm);
+		}
+		return vector;
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.symphony_solutions.cv_analyzer.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MinHashLshTest {
+
+	private static final String CV = """
+			Senior Java developer with eight years of experience building Spring Boot microservices,
+			REST APIs and event-driven systems on Kafka. Led a team of five engineers, introduced
+			code review and CI pipelines, migrated a monolith to Kubernetes on AWS and cut hosting
+			costs by a third. Comfortable with PostgreSQL tuning, Redis caching and observability.
+			""";
+
+	private final MinHashLsh minHashLsh = new MinHashLsh(3, 128, 16, 0.8);
+
+	@Test
+	void clustersNearDuplicatesOnly() {
+		String reExported = CV.replace("\n", "\n\n").toUpperCase() + " Page 1 of 1";
+		String other = """
+				Business analyst gathering requirements with stakeholders, writing user stories and
+				acceptance criteria, running workshops and keeping the backlog groomed for two teams.
+				""";
+
+		int[] clusters = minHashLsh.cluster(List.of(
+				minHashLsh.signature(other), minHashLsh.signature(CV), minHashLsh.signature(reExported)));
+
+		assertThat(clusters).containsExactly(0, 1, 1);
+	}
+
+	@Test
+	void leavesTextsShorterThanShingleUnclustered() {
+		assertThat(minHashLsh.signature("")).isNull();
+		assertThat(minHashLsh.signature("Java developer")).isNull();
+
+		int[] clusters = minHashLsh.cluster(Arrays.asList(
+				minHashLsh.signature(""), minHashLsh.signature("  "), minHashLsh.signature(CV), minHashLsh.signature(CV)));
+
+		assertThat(clusters).containsExactly(0, 1, 2, 2);
+	}
+
+	@Test
+	void estimatesSimilarity() {
+		String edited = CV.replace("eight years", "nine years");
+
+		assertThat(MinHashLsh.similarity(minHashLsh.signature(CV), minHashLsh.signature(CV))).isEqualTo(1.0);
+		assertThat(MinHashLsh.similarity(minHashLsh.signature(CV), minHashLsh.signature(edited))).isBetween(0.75, 1.0);
+	}
+
+}
@@ -0,0 +1,39 @@
+package com.symphony_solutions.cv_analyzer.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	void spacesBackToBackCallsByTheInterval() {
+		RateLimiter limiter = new RateLimiter(4);
+		long now = System.nanoTime() + SECOND;
+
+		assertThat(limiter.reserve(now)).isZero();
+		assertThat(limiter.reserve(now)).isEqualTo(SECOND / 4);
+		assertThat(limiter.reserve(now)).isEqualTo(SECOND / 2);
+	}
+
+	@Test
+	void doesNotSaveUpIdleTimeForBursts() {
+		RateLimiter limiter = new RateLimiter(2);
+		long now = System.nanoTime() + SECOND;
+
+		limiter.reserve(now);
+		long later = now + 10 * SECOND;
+
+		assertThat(limiter.reserve(later)).isZero();
+		assertThat(limiter.reserve(later)).isEqualTo(SECOND / 2);
+	}
+
+	@Test
+	void rejectsNonPositiveRates() {
+		assertThatThrownBy(() -> new RateLimiter(0)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
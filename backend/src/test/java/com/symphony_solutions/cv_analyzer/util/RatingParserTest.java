@@ -0,0 +1,26 @@
+package com.symphony_solutions.cv_analyzer.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class RatingParserTest {
+
+	@Test
+	void takesFirstIntegerToken() {
+		assertThat(RatingParser.parseFirstInteger("85")).isEqualTo(85);
+		assertThat(RatingParser.parseFirstInteger(" 85\n")).isEqualTo(85);
+		assertThat(RatingParser.parseFirstInteger("85/100")).isEqualTo(85);
+		assertThat(RatingParser.parseFirstInteger("Rating: 72. The candidate has 5 years of Java.")).isEqualTo(72);
+	}
+
+	@Test
+	void reportsMissingOrOverflowingNumbers() {
+		assertThat(RatingParser.parseFirstInteger(null)).isEqualTo(RatingParser.NO_RATING);
+		assertThat(RatingParser.parseFirstInteger("")).isEqualTo(RatingParser.NO_RATING);
+		assertThat(RatingParser.parseFirstInteger("strong fit")).isEqualTo(RatingParser.NO_RATING);
+		assertThat(RatingParser.parseFirstInteger("99999999999")).isEqualTo(RatingParser.NO_RATING);
+		assertThat(RatingParser.parseFirstInteger("x".repeat(300) + "85")).isEqualTo(RatingParser.NO_RATING);
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.symphony_solutions.cv_analyzer.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class SampleStatisticsTest {
+
+	@Test
+	void takesNearestRankPercentiles() {
+		long[] latencies = {50, 10, 40, 20, 30, 100, 60, 90, 70, 80};
+
+		assertThat(SampleStatistics.percentile(latencies, 50)).isEqualTo(50);
+		assertThat(SampleStatistics.percentile(latencies, 90)).isEqualTo(90);
+		assertThat(SampleStatistics.percentile(latencies, 99)).isEqualTo(100);
+		assertThat(SampleStatistics.percentile(latencies, 100)).isEqualTo(100);
+		assertThat(SampleStatistics.percentile(new long[] {7}, 50)).isEqualTo(7);
+		assertThat(SampleStatistics.percentile(new long[0], 50)).isZero();
+		assertThat(latencies[0]).as("input is left unsorted").isEqualTo(50);
+	}
+
+	@Test
+	void computesSampleVariance() {
+		assertThat(SampleStatistics.mean(new int[] {2, 4, 4, 4, 5, 5, 7, 9})).isEqualTo(5.0);
+		assertThat(SampleStatistics.variance(new int[] {2, 4, 4, 4, 5, 5, 7, 9})).isCloseTo(32.0 / 7, within(1e-9));
+		assertThat(SampleStatistics.variance(new int[] {6, 6, 6})).isZero();
+		assertThat(SampleStatistics.variance(new int[] {6})).isZero();
+	}
+
+}
@@ -1,10 +1,10 @@
 /**
  * CandidateCard component for displaying individual candidate information
- * Displays candidate details with color-coded rating
+ * Displays candidate details with color-coded rating; a deferred summary is loaded when the card is expanded
  */
 
-import React from 'react';
-import { Box, Heading, Text, Flex } from '@chakra-ui/react';
+import React, { useState } from 'react';
+import { Box, Heading, Text, Flex, Badge, Button, Spinner } from '@chakra-ui/react';
 import { getRatingColors } from '../../utils/colorUtils';
 import CircularRatingGauge from '../common/CircularRatingGauge';
 import useRatingConfig from '../../hooks/useRatingConfig';
@@ -15,13 +15,40 @@ import useRatingConfig from '../../hooks/useRatingConfig';
  * @param {Object} props.candidate - Candidate data object
  * @param {string} props.candidate.name - Candidate name
  * @param {string} props.candidate.filename - CV filename
- * @param {string} props.candidate.summary - AI-generated summary
+ * @param {string} props.candidate.summary - AI-generated summary, null while deferred
+ * @param {boolean} props.candidate.summaryDeferred - Summary has to be fetched separately
  * @param {number} props.candidate.rating - Rating score
+ * @param {boolean} props.candidate.flagged - CV flagged as a possible prompt injection
+ * @param {string} props.vacancyDescription - Vacancy the candidate was matched against
  * @returns {JSX.Element} CandidateCard component
  */
-const CandidateCard = ({ candidate }) => {
+const CandidateCard = ({ candidate, vacancyDescription }) => {
     const { ratingConfig } = useRatingConfig();
     const colors = getRatingColors(candidate.rating, ratingConfig.minRating, ratingConfig.maxRating);
+    const [summary, setSummary] = useState(candidate.summaryDeferred ? null : candidate.summary);
+    const [summaryLoading, setSummaryLoading] = useState(false);
+    const [summaryError, setSummaryError] = useState(null);
+
+    const loadSummary = async () => {
+        setSummaryLoading(true);
+        setSummaryError(null);
+        try {
+            const { candidateApi } = await import('../../utils/apiClient');
+            let text = '';
+            await candidateApi.streamSummary(vacancyDescription, candidate.filename, (token) => {
+                text += token;
+                setSummary(text);
+                setSummaryLoading(false);
+            });
+            setSummary(text);
+        } catch (err) {
+            // Drop a partial summary so the card offers a retry
+            setSummary(null);
+            setSummaryError('Could not load the analysis, please try again.');
+        } finally {
+            setSummaryLoading(false);
+        }
+    };
 
     return (
         <Box 
@@ -37,6 +64,9 @@ const CandidateCard = ({ candidate }) => {
                 <Heading as="h3" size="md" color={colors.textColor}>
                     {candidate.name}
                 </Heading>
+                {candidate.flagged && (
+                    <Badge colorScheme="red">Suspicious CV</Badge>
+                )}
             </Flex>
             
             <Text fontSize="sm" color="gray.600" mb={3}>
@@ -58,18 +88,38 @@ const CandidateCard = ({ candidate }) => {
                 Analysis Result
             </Heading>
             
-            <Box 
-                as="pre" 
-                whiteSpace="pre-wrap" 
-                wordBreak="break-word" 
-                bg="rgba(0,0,0,0.25)" 
-                p={3} 
-                borderRadius="sm" 
-                fontSize="sm" 
-                color="inherit"
-            >
-                {candidate.summary}
-            </Box>
+            {summary !== null ? (
+                <Box 
+                    as="pre" 
+                    whiteSpace="pre-wrap" 
+                    wordBreak="break-word" 
+                    bg="rgba(0,0,0,0.25)" 
+                    p={3} 
+                    borderRadius="sm" 
+                    fontSize="sm" 
+                    color="inherit"
+                >
+                    {summary}
+                </Box>
+            ) : (
+                <Box>
+                    <Button
+                        size="sm"
+                        colorScheme="purple"
+                        variant="outline"
+                        onClick={loadSummary}
+                        isDisabled={summaryLoading}
+                        leftIcon={summaryLoading ? <Spinner size="xs" /> : undefined}
+                    >
+                        {summaryLoading ? 'Analyzing...' : 'Show analysis'}
+                    </Button>
+                    {summaryError && (
+                        <Text fontSize="sm" color="red.400" mt={2}>
+                            {summaryError}
+                        </Text>
+                    )}
+                </Box>
+            )}
         </Box>
     );
 };
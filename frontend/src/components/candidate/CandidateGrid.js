@@ -13,12 +13,14 @@ import { getSortFunction } from '../../utils/sortingUtils';
  * @param {Object} props - Component props
  * @param {Array} props.candidates - Array of candidate objects
  * @param {string} props.sortBy - Sort option (default: 'rating-desc')
+ * @param {string} props.vacancyDescription - Vacancy the candidates were matched against
  * @param {Object} props.gridProps - Additional props for SimpleGrid
  * @returns {JSX.Element} CandidateGrid component
  */
 const CandidateGrid = ({ 
     candidates = [], 
     sortBy = 'rating-desc',
+    vacancyDescription = '',
     gridProps = {
         columns: { base: 1, md: 2, lg: 3 },
         spacing: 4
@@ -44,6 +46,7 @@ const CandidateGrid = ({
                 <CandidateCard 
                     key={candidate.filename || candidate.name} 
                     candidate={candidate} 
+                    vacancyDescription={vacancyDescription}
                 />
             ))}
         </SimpleGrid>
@@ -56,6 +56,9 @@ export const useApiCall = (apiFunction, options = {}) => {
  */
 export const useCandidateMatching = () => {
     const [matches, setMatches] = useState([]);
+    const [degraded, setDegraded] = useState(false);
+    const [skipped, setSkipped] = useState([]);
+    const [matchedVacancy, setMatchedVacancy] = useState('');
     const [loading, setLoading] = useState(false);
     const [error, setError] = useState(null);
 
@@ -65,6 +68,8 @@ export const useCandidateMatching = () => {
         // Always clear previous state immediately at the start
         setError(null);
         setMatches([]);
+        setDegraded(false);
+        setSkipped([]);
         setLoading(true);
 
         if (!vacancyDescription?.trim()) {
@@ -76,7 +81,11 @@ export const useCandidateMatching = () => {
         try {
             const { candidateApi } = await import('../utils/apiClient');
             const result = await candidateApi.matchCandidates(vacancyDescription);
-            setMatches(result || []);
+            setMatches(result?.candidates || []);
+            setDegraded(Boolean(result?.degraded));
+            setSkipped(result?.skipped || []);
+            // Deferred summaries are fetched for the vacancy the candidates were matched against
+            setMatchedVacancy(vacancyDescription);
             // Ensure error is cleared on successful response
             setError(null);
         } catch (err) {
@@ -89,12 +98,18 @@ export const useCandidateMatching = () => {
 
     const reset = useCallback(() => {
         setMatches([]);
+        setDegraded(false);
+        setSkipped([]);
+        setMatchedVacancy('');
         setError(null);
         setLoading(false);
     }, []);
 
     return {
         matches,
+        degraded,
+        skipped,
+        matchedVacancy,
         loading,
         error,
         matchCandidates,
@@ -377,6 +377,8 @@ function AdminPage() {
                                     >
                                         <option value="summary">Summary</option>
                                         <option value="rating">Rating</option>
+                                        <option value="rating_batch">Rating (batch)</option>
+                                        <option value="vacancy">Vacancy</option>
                                     </Select>
                                 </FormControl>
                                 <FormControl>
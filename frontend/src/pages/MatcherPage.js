@@ -10,7 +10,7 @@ function MatcherPage() {
     const [vacancyDescription, setVacancyDescription] = useState('');
     const [sortBy, setSortBy] = useState('rating-desc');
     const [errorKey, setErrorKey] = useState(0);
-    const { matches, loading, error, matchCandidates, setError } = useCandidateMatching();
+    const { matches, degraded, skipped, matchedVacancy, loading, error, matchCandidates, setError } = useCandidateMatching();
 
     const handleMatchCandidates = () => {
         // Clear ALL errors immediately when user clicks Find Candidates
@@ -71,6 +71,18 @@ function MatcherPage() {
                 containerProps={{ mb: 3 }} 
             />
             
+            {degraded && (
+                <Text fontSize="sm" color="orange.400" mb={3}>
+                    AI analysis is temporarily unavailable. Ratings below are based on keyword overlap only.
+                </Text>
+            )}
+
+            {skipped.length > 0 && (
+                <Text fontSize="sm" color="orange.400" mb={3}>
+                    {skipped.length} candidate(s) were skipped because the request ran out of time: {skipped.join(', ')}
+                </Text>
+            )}
+
             {matches && matches.length > 0 && (
                 <VStack spacing={4} align="stretch" mb={6}>
                     <HStack justify="space-between" align="center" wrap="wrap" gap={2}>
@@ -95,7 +107,7 @@ function MatcherPage() {
                 </VStack>
             )}
             
-            <CandidateGrid candidates={matches} sortBy={sortBy} />
+            <CandidateGrid candidates={matches} sortBy={sortBy} vacancyDescription={matchedVacancy} />
         </Box>
     );
 }
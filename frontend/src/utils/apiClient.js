@@ -21,6 +21,8 @@ const apiClient = axios.create({
  */
 export const API_ENDPOINTS = {
     CANDIDATE_MATCH: '/api/candidate-matcher/match',
+    CANDIDATE_SUMMARY: '/api/candidate-matcher/summary',
+    CANDIDATE_SUMMARY_STREAM: '/api/candidate-matcher/summary/stream',
     COST_METRICS: '/api/cost/metrics',
     COST_PRICING: '/api/cost/pricing',
     ADMIN_PROMPTS: '/api/admin/prompts',
@@ -71,13 +73,79 @@ export const candidateApi = {
     /**
      * Match candidates based on vacancy description
      * @param {string} vacancyDescription - Job description
-     * @returns {Promise<Array>} Array of candidate matches
+     * @returns {Promise<Object>} Match result with candidates and degraded flag
      */
     matchCandidates: (vacancyDescription) => 
         handleApiRequest(
             () => apiClient.post(API_ENDPOINTS.CANDIDATE_MATCH, { vacancyDescription }),
             'Failed to find candidates'
         ),
+
+    /**
+     * Get the summary of a matched candidate whose summary was deferred by the match
+     * @param {string} vacancyDescription - Job description used for the match
+     * @param {string} filename - CV filename of the candidate
+     * @returns {Promise<Object>} Summary result with filename, summary and cached flag
+     */
+    getSummary: (vacancyDescription, filename) =>
+        handleApiRequest(
+            () => apiClient.post(API_ENDPOINTS.CANDIDATE_SUMMARY, { vacancyDescription, filename }),
+            'Failed to load candidate summary'
+        ),
+
+    /**
+     * Stream the summary of a matched candidate as the model writes it (Server-Sent Events over fetch,
+     * since axios cannot read a response body incrementally in the browser)
+     * @param {string} vacancyDescription - Job description used for the match
+     * @param {string} filename - CV filename of the candidate
+     * @param {Function} onToken - Called with each piece of summary text as it arrives
+     * @returns {Promise<Object>} Final event with filename and cached flag
+     */
+    streamSummary: async (vacancyDescription, filename, onToken) => {
+        const response = await fetch(
+            `${apiClient.defaults.baseURL}${API_ENDPOINTS.CANDIDATE_SUMMARY_STREAM}`,
+            {
+                method: 'POST',
+                headers: { 'Content-Type': 'application/json', Accept: 'text/event-stream' },
+                body: JSON.stringify({ vacancyDescription, filename }),
+            }
+        );
+        if (!response.ok || !response.body) {
+            throw new Error(`Failed to load candidate summary: HTTP ${response.status}`);
+        }
+        const reader = response.body.getReader();
+        const decoder = new TextDecoder();
+        let buffer = '';
+        for (;;) {
+            const { value, done } = await reader.read();
+            if (done) {
+                throw new Error('Failed to load candidate summary: stream ended early');
+            }
+            buffer += decoder.decode(value, { stream: true });
+            let boundary;
+            while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+                const block = buffer.slice(0, boundary);
+                buffer = buffer.slice(boundary + 2);
+                let event = 'message';
+                const data = [];
+                block.split('\n').forEach((line) => {
+                    if (line.startsWith('event:')) {
+                        event = line.slice(6).trim();
+                    } else if (line.startsWith('data:')) {
+                        data.push(line.slice(5));
+                    }
+                });
+                const payload = data.length ? JSON.parse(data.join('\n')) : {};
+                if (event === 'token') {
+                    onToken(payload.text);
+                } else if (event === 'done') {
+                    return payload;
+                } else if (event === 'error') {
+                    throw new Error(payload.message || 'Failed to load candidate summary');
+                }
+            }
+        }
+    },
 };
 
 /**